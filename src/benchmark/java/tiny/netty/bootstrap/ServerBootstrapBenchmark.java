@@ -0,0 +1,95 @@
+package tiny.netty.bootstrap;
+
+import org.junit.Test;
+import tiny.netty.channel.ChannelFuture;
+import tiny.netty.channel.ChannelHandlerContext;
+import tiny.netty.channel.ChannelInboundHandlerAdapter;
+import tiny.netty.channel.nio.NioEventLoopGroup;
+import tiny.netty.channel.nio.NioServerSocketChannel;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基准测试: 短连接的接受速率, 单个接受者与SO_REUSEPORT模式(每个事件循环器一个监听通道)对比
+ *
+ * @author zhaomingming
+ */
+public class ServerBootstrapBenchmark {
+
+    private static final int THREADS = 4;
+    private static final int CONNECTIONS = 1000;
+
+    @Test
+    public void testAccept() throws Exception {
+        ExecutorService connectors = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < 2; round++) {
+                double single = acceptRate(connectors, false);
+                double reusePort = acceptRate(connectors, true);
+                System.out.printf("accept: single acceptor %.0f conn/s, SO_REUSEPORT %.0f conn/s%n", single, reusePort);
+            }
+        } finally {
+            connectors.shutdown();
+            connectors.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static double acceptRate(ExecutorService connectors, boolean reusePort) throws Exception {
+        NioEventLoopGroup bossGroup = new NioEventLoopGroup(1);
+        NioEventLoopGroup childGroup = new NioEventLoopGroup(THREADS);
+        try {
+            CountDownLatch accepted = new CountDownLatch(THREADS * CONNECTIONS);
+            ServerBootstrap bootstrap = new ServerBootstrap()
+                    .channel(NioServerSocketChannel::new)
+                    .childHandler(new ChannelInboundHandlerAdapter() {
+                        @Override
+                        public void channelActive(ChannelHandlerContext ctx) {
+                            accepted.countDown();
+                        }
+                    });
+            SocketAddress address;
+            InetSocketAddress localAddress = new InetSocketAddress("127.0.0.1", 0);
+            if (reusePort) {
+                address = bootstrap.group(childGroup).bindReusePort(localAddress).get(1, TimeUnit.SECONDS).get(0).localAddress();
+            } else {
+                ChannelFuture<?> bindFuture = bootstrap.group(bossGroup, childGroup).bind(localAddress);
+                bindFuture.get(1, TimeUnit.SECONDS);
+                address = bindFuture.channel().localAddress();
+            }
+            // 多个线程并发建立连接, 建立后立即关闭
+            long startTime = System.nanoTime();
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        for (int j = 0; j < CONNECTIONS; j++) {
+                            SocketChannel.open(address).close();
+                        }
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }, connectors));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(1, TimeUnit.MINUTES);
+            if (!accepted.await(1, TimeUnit.MINUTES)) {
+                throw new IllegalStateException("reusePort=" + reusePort + ", " + accepted.getCount() + " connections not accepted");
+            }
+            long time = System.nanoTime() - startTime;
+            return (double) THREADS * CONNECTIONS * TimeUnit.SECONDS.toNanos(1) / time;
+        } finally {
+            bossGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            childGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            bossGroup.awaitTermination(2, TimeUnit.SECONDS);
+            childGroup.awaitTermination(2, TimeUnit.SECONDS);
+        }
+    }
+}
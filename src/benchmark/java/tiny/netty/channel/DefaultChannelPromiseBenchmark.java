@@ -0,0 +1,83 @@
+package tiny.netty.channel;
+
+import org.junit.Test;
+import tiny.netty.channel.nio.NioEventLoopGroup;
+import tiny.netty.channel.nio.NioServerSocketChannel;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 基准测试: register -> bind -> close, 每一步在上一步完成后继续, 比较经公共线程池中转(CompletableFuture.thenRunAsync()的默认行为)
+ * 与在通道的事件循环器中继续({@link ChannelFuture#thenRunAsync})的线程切换次数及整条链的延迟
+ *
+ * @author zhaomingming
+ */
+public class DefaultChannelPromiseBenchmark {
+
+    private static final int WARMUP = 2000;
+    private static final int CHAINS = 10000;
+
+    @Test
+    public void testChainLatency() throws Exception {
+        EventLoop eventLoop = new NioEventLoopGroup(1).next();
+        try {
+            for (boolean viaCommonPool : new boolean[]{true, false, true, false}) {
+                AtomicInteger hops = new AtomicInteger();
+                long[] latencies = new long[CHAINS];
+                for (int i = -WARMUP; i < CHAINS; i++) {
+                    long startTime = System.nanoTime();
+                    chain(eventLoop, viaCommonPool, hops);
+                    if (i >= 0) {
+                        latencies[i] = System.nanoTime() - startTime;
+                    }
+                }
+                Arrays.sort(latencies);
+                System.out.printf("%-12s register->bind->close p50: %,8d ns, p99: %,10d ns, thread hops/chain: %.1f%n",
+                        viaCommonPool ? "commonPool" : "eventLoop", latencies[CHAINS / 2], latencies[CHAINS * 99 / 100],
+                        (double) hops.get() / (WARMUP + CHAINS));
+            }
+        } finally {
+            eventLoop.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            eventLoop.awaitTermination(2, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void chain(EventLoop eventLoop, boolean viaCommonPool, AtomicInteger hops) throws Exception {
+        Channel channel = new NioServerSocketChannel();
+        SocketAddress localAddress = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        then(eventLoop.register(channel), viaCommonPool, () -> {
+            countHop(eventLoop, hops);
+            then(channel.bind(localAddress), viaCommonPool, () -> {
+                countHop(eventLoop, hops);
+                then(channel.close(), viaCommonPool, () -> {
+                    countHop(eventLoop, hops);
+                    done.complete(null);
+                });
+            });
+        });
+        done.get(1, TimeUnit.SECONDS);
+    }
+
+    private static void then(ChannelFuture<?> future, boolean viaCommonPool, Runnable action) {
+        if (viaCommonPool) {
+            future.thenRun(() -> {
+            }).thenRunAsync(action);
+        } else {
+            future.thenRunAsync(action);
+        }
+    }
+
+    private static void countHop(EventLoop eventLoop, AtomicInteger hops) {
+        if (!eventLoop.inEventLoop()) {
+            hops.incrementAndGet();
+        }
+    }
+}
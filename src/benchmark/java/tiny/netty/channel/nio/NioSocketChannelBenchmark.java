@@ -0,0 +1,73 @@
+package tiny.netty.channel.nio;
+
+import org.junit.Test;
+import tiny.netty.channel.ChannelHandlerContext;
+import tiny.netty.channel.ChannelInboundHandlerAdapter;
+import tiny.netty.channel.EventLoopGroup;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基准测试: 单个连接的回显吞吐量
+ *
+ * @author zhaomingming
+ */
+public class NioSocketChannelBenchmark {
+
+    private static final int BENCHMARK_BYTES = 64 << 20;
+
+    @Test
+    public void testEcho() throws Exception {
+        EventLoopGroup group = new NioEventLoopGroup(1);
+        try (ServerSocketChannel server = ServerSocketChannel.open().bind(new InetSocketAddress("127.0.0.1", 0));
+             SocketChannel client = SocketChannel.open(server.getLocalAddress())) {
+            NioSocketChannel channel = new NioSocketChannel(server.accept());
+            channel.pipeline().addLast("echo", new ChannelInboundHandlerAdapter() {
+                @Override
+                public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                    ctx.write(msg);
+                }
+
+                @Override
+                public void channelReadComplete(ChannelHandlerContext ctx) {
+                    ctx.flush();
+                }
+            });
+            group.register(channel).get();
+
+            CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+                try {
+                    ByteBuffer buf = ByteBuffer.allocate(64 * 1024);
+                    for (int written = 0; written < BENCHMARK_BYTES; written += buf.capacity()) {
+                        buf.clear();
+                        while (buf.hasRemaining()) {
+                            client.write(buf);
+                        }
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            long startTime = System.nanoTime();
+            ByteBuffer buf = ByteBuffer.allocate(64 * 1024);
+            long received = 0;
+            while (received < BENCHMARK_BYTES) {
+                buf.clear();
+                received += client.read(buf);
+            }
+            long time = System.nanoTime() - startTime;
+            writer.get(1, TimeUnit.SECONDS);
+            System.out.printf("echo: %d MiB in %d ms, %.1f MiB/s%n",
+                    BENCHMARK_BYTES >> 20, TimeUnit.NANOSECONDS.toMillis(time),
+                    (double) BENCHMARK_BYTES / (1 << 20) / time * TimeUnit.SECONDS.toNanos(1));
+        } finally {
+            group.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            group.awaitTermination(2, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package tiny.netty.channel.nio;
+
+import org.junit.Test;
+import tiny.netty.channel.ChannelHandlerContext;
+import tiny.netty.channel.ChannelInboundHandlerAdapter;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 基准测试: 各选择策略下, 从对端写入数据(通道可读)到channelRead()被回调的延迟
+ *
+ * @author zhaomingming
+ */
+public class SelectStrategyBenchmark {
+
+    private static final int WARMUP = 200;
+    private static final int SAMPLES = 1000;
+
+    @Test
+    public void testReadLatency() throws Exception {
+        Map<String, SelectStrategy> strategies = new LinkedHashMap<>();
+        strategies.put("default", SelectStrategies.defaultStrategy());
+        strategies.put("busyPoll", SelectStrategies.busyPoll());
+        strategies.put("spinThenBlock(1000)", SelectStrategies.spinThenBlock(1000));
+
+        for (Map.Entry<String, SelectStrategy> entry : strategies.entrySet()) {
+            long[] latencies = measure(entry.getValue());
+            Arrays.sort(latencies);
+            System.out.printf("%-20s p50: %,8d ns, p99: %,10d ns, max: %,10d ns%n", entry.getKey(),
+                    latencies[latencies.length / 2], latencies[latencies.length * 99 / 100], latencies[latencies.length - 1]);
+        }
+    }
+
+    // 客户端每次写入1个字节, 记录事件循环器回调channelRead()时的延迟
+    private long[] measure(SelectStrategy selectStrategy) throws Exception {
+        NioEventLoopGroup group = new NioEventLoopGroup(1);
+        group.setSelectStrategy(selectStrategy);
+        try (ServerSocketChannel server = ServerSocketChannel.open().bind(new InetSocketAddress("127.0.0.1", 0));
+             SocketChannel client = SocketChannel.open(server.getLocalAddress())) {
+            AtomicLong readTime = new AtomicLong();
+            NioSocketChannel channel = new NioSocketChannel(server.accept());
+            channel.pipeline().addLast("reader", new ChannelInboundHandlerAdapter() {
+                @Override
+                public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                    readTime.set(System.nanoTime());
+                }
+            });
+            group.register(channel).get(1, TimeUnit.SECONDS);
+
+            long[] latencies = new long[SAMPLES];
+            ByteBuffer buf = ByteBuffer.allocate(1);
+            for (int i = -WARMUP; i < SAMPLES; i++) {
+                readTime.set(0);
+                buf.clear();
+                long writeTime = System.nanoTime();
+                client.write(buf);
+                long time;
+                while ((time = readTime.get()) == 0) {
+                    Thread.onSpinWait();
+                }
+                if (i >= 0) {
+                    latencies[i] = time - writeTime;
+                }
+                // 让事件循环器回到select()
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+            }
+            return latencies;
+        } finally {
+            group.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            group.awaitTermination(2, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package tiny.netty.util;
+
+import org.junit.Test;
+import tiny.netty.util.concurrent.DefaultEventExecutor;
+import tiny.netty.util.concurrent.DefaultThreadFactory;
+import tiny.netty.util.concurrent.EventExecutor;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 基准测试: 大量长超时任务的调度及取消, {@link HashedWheelTimer}与事件执行器的调度任务队列对比
+ *
+ * @author zhaomingming
+ */
+public class HashedWheelTimerBenchmark {
+
+    private static final int TIMEOUTS = 1_000_000;
+    private static final int CANCELS = 10_000;
+
+    @Test
+    public void testScheduleAndCancel() throws Exception {
+        // 调度任务队列(PriorityQueue)插入O(log n), 取消时从队列中删除O(n); 时间轮插入和取消都是O(1)
+        Random random = new Random(0);
+        long[] delays = new long[TIMEOUTS];
+        for (int i = 0; i < TIMEOUTS; i++) {
+            delays[i] = TimeUnit.MINUTES.toMillis(10) + random.nextInt(60_000);
+        }
+
+        HashedWheelTimer timer = new HashedWheelTimer(new DefaultThreadFactory("timer"), 100, TimeUnit.MILLISECONDS,
+                512, -1);
+        try {
+            Timeout[] timeouts = new Timeout[TIMEOUTS];
+            TimerTask task = t -> {
+            };
+            long startTime = System.nanoTime();
+            for (int i = 0; i < TIMEOUTS; i++) {
+                timeouts[i] = timer.newTimeout(task, delays[i], TimeUnit.MILLISECONDS);
+            }
+            long scheduleTime = System.nanoTime() - startTime;
+            startTime = System.nanoTime();
+            for (int i = 0; i < CANCELS; i++) {
+                timeouts[random.nextInt(TIMEOUTS)].cancel();
+            }
+            long cancelTime = System.nanoTime() - startTime;
+            print("HashedWheelTimer", scheduleTime, cancelTime);
+        } finally {
+            timer.stop();
+        }
+
+        EventExecutor executor = new DefaultEventExecutor();
+        try {
+            // 在执行器线程中调度及取消, 直接操作调度任务队列
+            AtomicLong scheduleTime = new AtomicLong();
+            AtomicLong cancelTime = new AtomicLong();
+            CountDownLatch done = new CountDownLatch(1);
+            executor.execute(() -> {
+                ScheduledFuture<?>[] futures = new ScheduledFuture<?>[TIMEOUTS];
+                Runnable task = () -> {
+                };
+                long startTime = System.nanoTime();
+                for (int i = 0; i < TIMEOUTS; i++) {
+                    futures[i] = executor.schedule(task, delays[i], TimeUnit.MILLISECONDS);
+                }
+                scheduleTime.set(System.nanoTime() - startTime);
+                startTime = System.nanoTime();
+                for (int i = 0; i < CANCELS; i++) {
+                    futures[random.nextInt(TIMEOUTS)].cancel(false);
+                }
+                cancelTime.set(System.nanoTime() - startTime);
+                done.countDown();
+            });
+            done.await(5, TimeUnit.MINUTES);
+            print("PriorityQueue", scheduleTime.get(), cancelTime.get());
+        } finally {
+            executor.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void print(String name, long scheduleTime, long cancelTime) {
+        System.out.printf("%-16s schedule %,d timeouts: %,6d ms (%,5d ns/op), cancel %,d: %,6d ms (%,7d ns/op)%n",
+                name, TIMEOUTS, TimeUnit.NANOSECONDS.toMillis(scheduleTime), scheduleTime / TIMEOUTS,
+                CANCELS, TimeUnit.NANOSECONDS.toMillis(cancelTime), cancelTime / CANCELS);
+    }
+}
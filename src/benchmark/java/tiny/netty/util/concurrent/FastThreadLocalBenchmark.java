@@ -0,0 +1,54 @@
+package tiny.netty.util.concurrent;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基准测试: 线程上有多个线程本地变量时, {@link FastThreadLocal}与{@link ThreadLocal}的读取开销
+ *
+ * @author zhaomingming
+ */
+public class FastThreadLocalBenchmark {
+
+    private static final int VARIABLES = 64;
+    private static final int ITERATIONS = 1 << 24;
+
+    @Test
+    public void testGet() throws Exception {
+        // 每个线程上有多个线程本地变量时, ThreadLocal需要在哈希表中查找
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        FastThreadLocal<Integer>[] fastThreadLocals = new FastThreadLocal[VARIABLES];
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        ThreadLocal<Integer>[] threadLocals = new ThreadLocal[VARIABLES];
+        for (int i = 0; i < VARIABLES; i++) {
+            fastThreadLocals[i] = new FastThreadLocal<>();
+            threadLocals[i] = new ThreadLocal<>();
+        }
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        new DefaultThreadFactory("benchmark").newThread(() -> {
+            for (int i = 0; i < VARIABLES; i++) {
+                fastThreadLocals[i].set(i);
+                threadLocals[i].set(i);
+            }
+            for (int round = 0; round < 3; round++) {
+                long sum = 0;
+                long startTime = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    sum += fastThreadLocals[i & (VARIABLES - 1)].get();
+                }
+                long fastTime = System.nanoTime() - startTime;
+                startTime = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    sum -= threadLocals[i & (VARIABLES - 1)].get();
+                }
+                long time = System.nanoTime() - startTime;
+                System.out.printf("FastThreadLocal: %5.2f ns/get, ThreadLocal: %5.2f ns/get (%d)%n",
+                        (double) fastTime / ITERATIONS, (double) time / ITERATIONS, sum);
+            }
+            done.complete(null);
+        }).start();
+        done.get(1, TimeUnit.MINUTES);
+    }
+}
@@ -0,0 +1,55 @@
+package tiny.netty.util.concurrent;
+
+import org.junit.Test;
+
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基准测试: 不同生产者数量下, {@link MpscArrayQueue}与{@link java.util.concurrent.LinkedBlockingQueue}的吞吐量
+ *
+ * @author zhaomingming
+ */
+public class MpscArrayQueueBenchmark {
+
+    private static final int ELEMENTS_PER_RUN = 1 << 21;
+
+    @Test
+    public void testThroughput() throws InterruptedException {
+        for (int producers : new int[]{1, 4, 16}) {
+            long mpsc = throughput(TaskQueueFactory.MPSC.newTaskQueue(1 << 16), producers);
+            long linked = throughput(TaskQueueFactory.LINKED_BLOCKING.newTaskQueue(1 << 16), producers);
+            System.out.printf("producers: %2d, MpscArrayQueue: %,12d ops/s, LinkedBlockingQueue: %,12d ops/s%n",
+                    producers, mpsc, linked);
+        }
+    }
+
+    private long throughput(Queue<Runnable> queue, int producers) throws InterruptedException {
+        Runnable task = () -> {
+        };
+        int elements = ELEMENTS_PER_RUN / producers;
+        long startTime = System.nanoTime();
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            new Thread(() -> {
+                for (int i = 0; i < elements; i++) {
+                    while (!queue.offer(task)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            }).start();
+        }
+        for (int n = 0; n < producers * elements; ) {
+            if (queue.poll() == null) {
+                Thread.onSpinWait();
+            } else {
+                n++;
+            }
+        }
+        done.await(10, TimeUnit.SECONDS);
+        long elapsed = System.nanoTime() - startTime;
+        return (long) producers * elements * TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+}
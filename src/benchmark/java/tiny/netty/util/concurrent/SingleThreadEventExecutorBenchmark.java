@@ -0,0 +1,70 @@
+package tiny.netty.util.concurrent;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基准测试: {@link SingleThreadEventExecutor#runAllTasks()}执行N个空任务的耗时, 比较每个任务前都读取一次时钟
+ * 与使用缓存时钟(每{@code CLOCK_UPDATE_INTERVAL}个任务才读取一次)的差别
+ *
+ * @author zhaomingming
+ */
+public class SingleThreadEventExecutorBenchmark {
+
+    private static final int TASKS = 4096;
+    private static final int WARMUP_ROUNDS = 500;
+    private static final int ROUNDS = 2000;
+
+    @Test
+    public void testRunAllTasks() throws Exception {
+        for (boolean perTaskClock : new boolean[]{true, false, true, false}) {
+            ClockExecutor executor = new ClockExecutor(perTaskClock);
+            try {
+                CompletableFuture<Long> elapsed = new CompletableFuture<>();
+                // 在事件执行器线程中提交任务(不唤醒), 再直接调用runAllTasks()执行
+                executor.execute(() -> {
+                    long totalTime = 0;
+                    for (int round = -WARMUP_ROUNDS; round < ROUNDS; round++) {
+                        for (int i = 0; i < TASKS; i++) {
+                            executor.execute(executor.task);
+                        }
+                        long startTime = System.nanoTime();
+                        executor.runAllTasks();
+                        if (round >= 0) {
+                            totalTime += System.nanoTime() - startTime;
+                        }
+                    }
+                    elapsed.complete(totalTime);
+                });
+                double nsPerTask = (double) elapsed.get(1, TimeUnit.MINUTES) / ((long) ROUNDS * TASKS);
+                System.out.printf("%-14s runAllTasks(): %5.2f ns/task (%d)%n",
+                        perTaskClock ? "perTaskClock" : "cachedClock", nsPerTask, executor.counter & 1);
+            } finally {
+                executor.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+                executor.awaitTermination(1, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private static final class ClockExecutor extends DefaultEventExecutor {
+
+        private final boolean perTaskClock;
+        private long counter;
+        private final Runnable task = () -> counter++;
+
+        ClockExecutor(boolean perTaskClock) {
+            this.perTaskClock = perTaskClock;
+        }
+
+        @Override
+        protected void safeExecution(Runnable task) {
+            // 模拟缓存时钟之前的做法: 每个任务前都读取一次时钟
+            if (perTaskClock) {
+                updateCachedNanoTime();
+            }
+            super.safeExecution(task);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * tiny.netty.util.concurrent.CpuAffinity 的本地实现
+ *
+ * 编译:
+ *   gcc -shared -fPIC -O2 -I"$JAVA_HOME/include" -I"$JAVA_HOME/include/linux" \
+ *       -o libtinynetty_affinity.so src/main/c/tinynetty_affinity.c
+ *
+ * @author zhaomingming
+ */
+#define _GNU_SOURCE
+#include <errno.h>
+#include <jni.h>
+#include <sched.h>
+#include <sys/syscall.h>
+#include <unistd.h>
+
+JNIEXPORT jint JNICALL
+Java_tiny_netty_util_concurrent_CpuAffinity_setAffinity0(JNIEnv *env, jclass clazz, jintArray cpus) {
+    cpu_set_t set;
+    CPU_ZERO(&set);
+
+    jsize length = (*env)->GetArrayLength(env, cpus);
+    jint *elements = (*env)->GetIntArrayElements(env, cpus, NULL);
+    if (elements == NULL) {
+        return -ENOMEM;
+    }
+    for (jsize i = 0; i < length; i++) {
+        if (elements[i] >= 0 && elements[i] < CPU_SETSIZE) {
+            CPU_SET(elements[i], &set);
+        }
+    }
+    (*env)->ReleaseIntArrayElements(env, cpus, elements, JNI_ABORT);
+
+    pid_t tid = (pid_t) syscall(SYS_gettid);
+    if (sched_setaffinity(tid, sizeof(set), &set) != 0) {
+        return -errno;
+    }
+    return (jint) tid;
+}
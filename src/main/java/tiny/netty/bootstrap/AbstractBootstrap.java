@@ -0,0 +1,145 @@
+package tiny.netty.bootstrap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tiny.netty.channel.Channel;
+import tiny.netty.channel.ChannelFuture;
+import tiny.netty.channel.ChannelHandler;
+import tiny.netty.channel.ChannelOption;
+import tiny.netty.channel.EventLoopGroup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 引导类抽象实现: 创建通道, 初始化后注册到事件循环组
+ *
+ * @author zhaomingming
+ */
+public abstract class AbstractBootstrap<B extends AbstractBootstrap<B, C>, C extends Channel> {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbstractBootstrap.class);
+    static final String HANDLER_NAME = "handler";
+
+    private EventLoopGroup group;
+    private Supplier<? extends C> channelFactory;
+    private ChannelHandler handler;
+    private final Map<ChannelOption<?>, Object> options = new LinkedHashMap<>();
+
+    AbstractBootstrap() {
+    }
+
+    AbstractBootstrap(AbstractBootstrap<B, C> bootstrap) {
+        this.group = bootstrap.group;
+        this.channelFactory = bootstrap.channelFactory;
+        this.handler = bootstrap.handler;
+        this.options.putAll(bootstrap.options);
+    }
+
+    @SuppressWarnings("unchecked")
+    private B self() {
+        return (B) this;
+    }
+
+    /**
+     * 通道注册的事件循环组
+     */
+    public B group(EventLoopGroup group) {
+        if (group == null) {
+            throw new IllegalArgumentException("group is null");
+        }
+        this.group = group;
+        return self();
+    }
+
+    /**
+     * 创建通道的工厂, 如{@code NioSocketChannel::new}
+     */
+    public B channel(Supplier<? extends C> channelFactory) {
+        if (channelFactory == null) {
+            throw new IllegalArgumentException("channelFactory is null");
+        }
+        this.channelFactory = channelFactory;
+        return self();
+    }
+
+    /**
+     * 添加到通道管道中的处理器, 通常是{@link tiny.netty.channel.ChannelInitializer}
+     */
+    public B handler(ChannelHandler handler) {
+        if (handler == null) {
+            throw new IllegalArgumentException("handler is null");
+        }
+        this.handler = handler;
+        return self();
+    }
+
+    /**
+     * 通道选项, 在注册前设置; value为null时移除该选项. 通道不支持的选项会使注册失败
+     */
+    public <T> B option(ChannelOption<T> option, T value) {
+        if (option == null) {
+            throw new IllegalArgumentException("option is null");
+        }
+        if (value == null) {
+            options.remove(option);
+        } else {
+            options.put(option, value);
+        }
+        return self();
+    }
+
+    final EventLoopGroup group() {
+        return group;
+    }
+
+    final ChannelHandler handler() {
+        return handler;
+    }
+
+    void validate() {
+        if (group == null) {
+            throw new IllegalStateException("group not set");
+        }
+        if (channelFactory == null) {
+            throw new IllegalStateException("channelFactory not set");
+        }
+    }
+
+    /**
+     * 创建通道并初始化, 异步注册到事件循环组; 初始化失败(包括通道不支持设置的选项)时关闭通道, 返回失败的promise
+     */
+    final ChannelFuture<?> initAndRegister() {
+        final C channel = channelFactory.get();
+        try {
+            // 选项不生效时尽早失败, 如不支持SO_REUSEPORT时, 否则之后会以无关的BindException失败
+            setOptions(channel, options, true);
+            init(channel);
+        } catch (Throwable cause) {
+            channel.unsafe().closeForcibly();
+            ChannelFuture<?> promise = channel.newPromise();
+            promise.completeExceptionally(cause);
+            return promise;
+        }
+        return group.register(channel);
+    }
+
+    abstract void init(C channel) throws Exception;
+
+    /**
+     * 设置通道选项, 通道不支持某个选项时: strict为true则抛出{@link UnsupportedOperationException}, 否则只打印警告
+     */
+    @SuppressWarnings("unchecked")
+    static void setOptions(Channel channel, Map<ChannelOption<?>, Object> options, boolean strict) {
+        for (Map.Entry<ChannelOption<?>, Object> entry : options.entrySet()) {
+            if (!channel.config().setOption((ChannelOption<Object>) entry.getKey(), entry.getValue())) {
+                if (strict) {
+                    throw new UnsupportedOperationException(
+                            "Unsupported channel option '" + entry.getKey() + "' for channel '" + channel + "'");
+                }
+                logger.warn("Unknown channel option '{}' for channel '{}'", entry.getKey(), channel);
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package tiny.netty.bootstrap;
+
+import tiny.netty.channel.Channel;
+import tiny.netty.channel.ChannelFuture;
+import tiny.netty.channel.ChannelFutureListener;
+import tiny.netty.channel.ConnectTimeoutException;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 客户端引导类
+ * <p>连接是非阻塞的: 注册后在通道的事件循环器中发起连接, 连接事件就绪时完成; 连接超时也由通道的事件循环器调度, 超时后promise失败并关闭通道</p>
+ *
+ * <pre>
+ * new Bootstrap()
+ *         .group(group)
+ *         .channel(NioSocketChannel::new)
+ *         .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 3000)
+ *         .handler(new ChannelInitializer() {...})
+ *         .connect("127.0.0.1", 8080);
+ * </pre>
+ *
+ * @author zhaomingming
+ */
+public class Bootstrap extends AbstractBootstrap<Bootstrap, Channel> {
+
+    public ChannelFuture<?> connect(String host, int port) {
+        return connect(new InetSocketAddress(host, port));
+    }
+
+    /**
+     * 创建通道, 注册到事件循环组后连接远端地址
+     */
+    public ChannelFuture<?> connect(SocketAddress remoteAddress) {
+        if (remoteAddress == null) {
+            throw new IllegalArgumentException("remoteAddress is null");
+        }
+        validate();
+        final ChannelFuture<?> regFuture = initAndRegister();
+        final Channel channel = regFuture.channel();
+        final ChannelFuture<?> promise = channel.newPromise();
+        regFuture.addListener(f -> {
+            if (f.isSuccess()) {
+                // 连接失败或超时都关闭通道
+                promise.addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
+                connect0(channel, remoteAddress, promise);
+            } else {
+                // 未注册成功, 直接关闭底层通道
+                channel.unsafe().closeForcibly();
+                promise.completeExceptionally(f.cause());
+            }
+        });
+        return promise;
+    }
+
+    // 在通道的事件循环器中执行
+    private static void connect0(Channel channel, SocketAddress remoteAddress, ChannelFuture<?> promise) {
+        channel.connect(remoteAddress, promise);
+        final int connectTimeoutMillis = channel.config().getConnectTimeoutMillis();
+        if (connectTimeoutMillis > 0 && !promise.isDone()) {
+            ScheduledFuture<?> timeoutFuture = channel.eventLoop().schedule(
+                    () -> promise.completeExceptionally(new ConnectTimeoutException("connection timed out: " + remoteAddress)),
+                    connectTimeoutMillis, TimeUnit.MILLISECONDS);
+            promise.addListener(f -> timeoutFuture.cancel(false));
+        }
+    }
+
+    @Override
+    void init(Channel channel) {
+        if (handler() != null) {
+            channel.pipeline().addLast(HANDLER_NAME, handler());
+        }
+    }
+}
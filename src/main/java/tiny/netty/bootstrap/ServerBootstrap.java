@@ -0,0 +1,218 @@
+package tiny.netty.bootstrap;
+
+import tiny.netty.channel.Channel;
+import tiny.netty.channel.ChannelFuture;
+import tiny.netty.channel.ChannelFutureListener;
+import tiny.netty.channel.ChannelHandler;
+import tiny.netty.channel.ChannelOption;
+import tiny.netty.channel.EventLoop;
+import tiny.netty.channel.EventLoopGroup;
+import tiny.netty.channel.ServerChannelAcceptor;
+import tiny.netty.util.concurrent.EventExecutor;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 服务端引导类
+ * <p>服务端通道注册到boss事件循环组, 只负责接受连接; 接受的子通道注册到child事件循环组, 负责子通道的读写.
+ * 两个事件循环组可以是同一个, 但连接数较多时分开可以避免I/O繁忙拖慢接受连接</p>
+ *
+ * <pre>
+ * new ServerBootstrap()
+ *         .group(bossGroup, childGroup)
+ *         .channel(NioServerSocketChannel::new)
+ *         .option(ChannelOption.SO_BACKLOG, 1024)
+ *         .childOption(ChannelOption.SO_KEEPALIVE, true)
+ *         .childHandler(new ChannelInitializer() {...})
+ *         .bind(8080);
+ * </pre>
+ *
+ * @author zhaomingming
+ */
+public class ServerBootstrap extends AbstractBootstrap<ServerBootstrap, Channel> {
+
+    private static final String ACCEPTOR_NAME = "acceptor";
+
+    private EventLoopGroup childGroup;
+    private ChannelHandler childHandler;
+    private final Map<ChannelOption<?>, Object> childOptions = new LinkedHashMap<>();
+
+    public ServerBootstrap() {
+    }
+
+    private ServerBootstrap(ServerBootstrap bootstrap) {
+        super(bootstrap);
+        this.childGroup = bootstrap.childGroup;
+        this.childHandler = bootstrap.childHandler;
+        this.childOptions.putAll(bootstrap.childOptions);
+    }
+
+    /**
+     * 服务端通道和子通道使用同一个事件循环组
+     */
+    @Override
+    public ServerBootstrap group(EventLoopGroup group) {
+        return group(group, group);
+    }
+
+    public ServerBootstrap group(EventLoopGroup bossGroup, EventLoopGroup childGroup) {
+        if (childGroup == null) {
+            throw new IllegalArgumentException("childGroup is null");
+        }
+        super.group(bossGroup);
+        this.childGroup = childGroup;
+        return this;
+    }
+
+    /**
+     * 添加到每个子通道管道中的处理器
+     */
+    public ServerBootstrap childHandler(ChannelHandler childHandler) {
+        if (childHandler == null) {
+            throw new IllegalArgumentException("childHandler is null");
+        }
+        this.childHandler = childHandler;
+        return this;
+    }
+
+    /**
+     * 子通道的选项, 在子通道注册前设置; value为null时移除该选项. 子通道不支持的选项被忽略并打印警告
+     */
+    public <T> ServerBootstrap childOption(ChannelOption<T> option, T value) {
+        if (option == null) {
+            throw new IllegalArgumentException("option is null");
+        }
+        if (value == null) {
+            childOptions.remove(option);
+        } else {
+            childOptions.put(option, value);
+        }
+        return this;
+    }
+
+    public ChannelFuture<?> bind(int port) {
+        return bind(new InetSocketAddress(port));
+    }
+
+    /**
+     * 创建服务端通道, 注册到boss事件循环组后绑定地址; 绑定成功后开始接受连接
+     */
+    public ChannelFuture<?> bind(SocketAddress localAddress) {
+        if (localAddress == null) {
+            throw new IllegalArgumentException("localAddress is null");
+        }
+        validate();
+        final ChannelFuture<?> regFuture = initAndRegister();
+        final Channel channel = regFuture.channel();
+        final ChannelFuture<?> promise = channel.newPromise();
+        regFuture.addListener(f -> {
+            if (f.isSuccess()) {
+                promise.addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
+                channel.bind(localAddress, promise);
+            } else {
+                // 未注册成功, 直接关闭底层通道
+                channel.unsafe().closeForcibly();
+                promise.completeExceptionally(f.cause());
+            }
+        });
+        return promise;
+    }
+
+    /**
+     * SO_REUSEPORT模式: child事件循环组中的每个事件循环器都绑定一个服务端通道, 监听同一个端口, 由内核在这些服务端通道之间分配连接;
+     * 子通道注册到接受它的事件循环器上, 没有跨线程的交接. 不使用boss事件循环组
+     * <p>端口为0时, 先绑定一个服务端通道获得端口, 其余服务端通道再绑定到该端口; 任一服务端通道绑定失败时关闭所有已绑定的服务端通道</p>
+     *
+     * @return 所有服务端通道, 绑定完成时完成
+     */
+    public CompletableFuture<List<Channel>> bindReusePort(SocketAddress localAddress) {
+        if (localAddress == null) {
+            throw new IllegalArgumentException("localAddress is null");
+        }
+        validate();
+        final List<EventLoop> eventLoops = new ArrayList<>();
+        for (EventExecutor eventLoop : childGroup) {
+            eventLoops.add((EventLoop) eventLoop);
+        }
+        final ServerBootstrap template = new ServerBootstrap(this).option(ChannelOption.SO_REUSEPORT, true);
+        final CompletableFuture<List<Channel>> result = new CompletableFuture<>();
+        final ChannelFuture<?> first = template.bindOn(eventLoops.get(0), localAddress);
+        first.addListener(f -> {
+            if (!f.isSuccess()) {
+                result.completeExceptionally(f.cause());
+                return;
+            }
+            final SocketAddress boundAddress = f.channel().localAddress();
+            final List<ChannelFuture<?>> futures = new ArrayList<>();
+            futures.add(first);
+            for (int i = 1; i < eventLoops.size(); i++) {
+                futures.add(template.bindOn(eventLoops.get(i), boundAddress));
+            }
+            final AtomicInteger remaining = new AtomicInteger(futures.size());
+            for (ChannelFuture<?> future : futures) {
+                future.addListener(ignore -> {
+                    if (remaining.decrementAndGet() == 0) {
+                        completeReusePort(futures, result);
+                    }
+                });
+            }
+        });
+        return result;
+    }
+
+    // 服务端通道和子通道都在同一个事件循环器中
+    private ChannelFuture<?> bindOn(EventLoop eventLoop, SocketAddress localAddress) {
+        return new ServerBootstrap(this).group(eventLoop).bind(localAddress);
+    }
+
+    private static void completeReusePort(List<ChannelFuture<?>> futures, CompletableFuture<List<Channel>> result) {
+        Throwable cause = null;
+        final List<Channel> channels = new ArrayList<>(futures.size());
+        for (ChannelFuture<?> future : futures) {
+            if (future.isSuccess()) {
+                channels.add(future.channel());
+            } else if (cause == null) {
+                cause = future.cause();
+            }
+        }
+        if (cause == null) {
+            result.complete(List.copyOf(channels));
+        } else {
+            // 绑定失败的服务端通道已在bind()中关闭
+            channels.forEach(Channel::close);
+            result.completeExceptionally(cause);
+        }
+    }
+
+    @Override
+    void validate() {
+        super.validate();
+        if (childHandler == null) {
+            throw new IllegalStateException("childHandler not set");
+        }
+    }
+
+    @Override
+    void init(Channel channel) {
+        if (handler() != null) {
+            channel.pipeline().addLast(HANDLER_NAME, handler());
+        }
+        // 复制一份, 之后修改引导类不影响已绑定的服务端
+        final Map<ChannelOption<?>, Object> childOptions = new LinkedHashMap<>(this.childOptions);
+        channel.pipeline().addLast(ACCEPTOR_NAME, new ServerChannelAcceptor(childGroup, childHandler) {
+            @Override
+            protected void initChild(Channel child) throws Exception {
+                // 不因为一个选项关闭每个接受的连接, 只打印警告
+                setOptions(child, childOptions, false);
+                super.initChild(child);
+            }
+        });
+    }
+}
@@ -4,6 +4,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.SocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NotYetConnectedException;
 
 /**
  * 通道接口抽象实现
@@ -17,7 +19,8 @@ public abstract class AbstractChannel implements Channel {
     private final DefaultChannelPipeline pipeline;
     private volatile EventLoop eventLoop;
     private volatile boolean registered;
-    private ChannelFuture<?> closeFuture = new CompletableChannelFuture<>(this);
+    private final ChannelFuture<?> closeFuture = new DefaultChannelPromise<>(this);
+    private final ChannelFuture<?> voidPromise = new VoidChannelPromise(this);
 
     protected AbstractChannel() {
         unsafe = newUnsafe();
@@ -39,9 +42,20 @@ public abstract class AbstractChannel implements Channel {
         return registered;
     }
 
+    @Override
+    public boolean isWritable() {
+        ChannelOutboundBuffer outboundBuffer = unsafe.outboundBuffer();
+        return outboundBuffer != null && outboundBuffer.isWritable();
+    }
+
     @Override
     public ChannelFuture<?> newPromise() {
-        return new CompletableChannelFuture(this);
+        return new DefaultChannelPromise<>(this);
+    }
+
+    @Override
+    public ChannelFuture<?> voidPromise() {
+        return voidPromise;
     }
 
     @Override
@@ -66,6 +80,17 @@ public abstract class AbstractChannel implements Channel {
         return promise;
     }
 
+    @Override
+    public ChannelFuture<?> connect(SocketAddress remoteAddress) {
+        return connect(remoteAddress, newPromise());
+    }
+
+    @Override
+    public ChannelFuture<?> connect(SocketAddress remoteAddress, ChannelFuture<?> promise) {
+        pipeline.connect(remoteAddress, promise);
+        return promise;
+    }
+
     @Override
     public ChannelFuture<?> deregister() {
         return deregister(newPromise());
@@ -84,6 +109,32 @@ public abstract class AbstractChannel implements Channel {
         return close(newPromise());
     }
 
+    @Override
+    public ChannelFuture<?> write(Object msg) {
+        return pipeline.write(msg);
+    }
+
+    @Override
+    public ChannelFuture<?> write(Object msg, ChannelFuture<?> promise) {
+        return pipeline.write(msg, promise);
+    }
+
+    @Override
+    public Channel flush() {
+        pipeline.flush();
+        return this;
+    }
+
+    @Override
+    public ChannelFuture<?> writeAndFlush(Object msg) {
+        return pipeline.writeAndFlush(msg);
+    }
+
+    @Override
+    public ChannelFuture<?> writeAndFlush(Object msg, ChannelFuture<?> promise) {
+        return pipeline.writeAndFlush(msg, promise);
+    }
+
     @Override
     public ChannelFuture<?> close(ChannelFuture<?> promise) {
         // callback outboundHandler
@@ -101,9 +152,32 @@ public abstract class AbstractChannel implements Channel {
 
     protected abstract void doBind(SocketAddress localAddress) throws Exception;
 
+    // 关注读事件
+    protected abstract void doBeginRead() throws Exception;
+
+    /**
+     * 将出站缓冲区中已刷新的消息写到底层通道, 写完的消息从缓冲区移除; 底层通道暂时不可写时可以留下部分消息, 稍后再写
+     */
+    protected abstract void doWrite(ChannelOutboundBuffer in) throws Exception;
+
+    /**
+     * 检查或转换写入的消息, 不支持时抛出异常
+     */
+    protected Object filterOutboundMessage(Object msg) throws Exception {
+        throw new UnsupportedOperationException("unsupported message type: " + msg.getClass().getName());
+    }
+
     protected abstract class AbstractUnsafe implements Unsafe {
 
         boolean firstRegistration = true;
+        // 通道关闭后为null
+        private volatile ChannelOutboundBuffer outboundBuffer = new ChannelOutboundBuffer(AbstractChannel.this);
+        private boolean inFlush;
+
+        @Override
+        public final ChannelOutboundBuffer outboundBuffer() {
+            return outboundBuffer;
+        }
 
         @Override
         public ChannelFuture<?> register(EventLoop eventLoop, ChannelFuture<?> promise) {
@@ -123,6 +197,8 @@ public abstract class AbstractChannel implements Channel {
                 promise.completeExceptionally(new IllegalStateException("registered to an evenLoop already"));
                 return;
             }
+            final ChannelLifecycleEvent event = ChannelLifecycleEvent.begin(AbstractChannel.this, ChannelLifecycleEvent.REGISTER);
+            boolean success = false;
             try {
                 // 具体实现交给子类, 如NioChannel, EpollChannel, KQueueChannel
                 // 而公共部分, 也就是回调, 则在这里实现.
@@ -141,13 +217,20 @@ public abstract class AbstractChannel implements Channel {
 
                 // 如果通道是激活的, 回调通道处理器的channelActive()方法
                 // 同时如果通道曾经注册过(注册-注销-重新注册), 不回调channelActive()
-                if (isActive() && firstRegistered) {
-                    pipeline.fireChannelActive();
+                if (isActive()) {
+                    if (firstRegistered) {
+                        pipeline.fireChannelActive();
+                    } else {
+                        // 重新注册后需要重新关注读事件
+                        beginRead();
+                    }
                 }
-
+                success = true;
             } catch (Throwable cause) {
                 logger.warn("Failed to register.", cause);
                 safeSetFailure(promise, cause);
+            } finally {
+                ChannelLifecycleEvent.end(event, AbstractChannel.this, success);
             }
 
         }
@@ -197,21 +280,50 @@ public abstract class AbstractChannel implements Channel {
             close0(promise);
         }
 
+        @Override
+        public void closeForcibly() {
+            try {
+                doClose();
+            } catch (Exception e) {
+                logger.warn("Failed to close a channel.", e);
+            }
+        }
+
+        /**
+         * 底层通道已关闭(但未走关闭流程)时关闭通道, 回调channelInactive()等; 通道仍打开时什么也不做
+         */
+        protected final void closeIfClosed() {
+            if (isOpen()) {
+                return;
+            }
+            close(voidPromise);
+        }
+
         private void close0(ChannelFuture<?> promise) {
             // TODO netty里这部分有点复杂, 这里把核心部分弄上去了...
             // 通道关闭时还没有激活, 则不回调channelInactive()方法
             boolean wasActive = isActive();
+            final ChannelOutboundBuffer outboundBuffer = this.outboundBuffer;
+            this.outboundBuffer = null;
+            final ChannelLifecycleEvent event = ChannelLifecycleEvent.begin(AbstractChannel.this, ChannelLifecycleEvent.CLOSE);
+            boolean success = false;
             try {
                 doClose();
                 safeSetSuccess(promise);
                 closeFuture.complete(null);
+                success = true;
             } catch (Throwable cause) {
                 logger.warn("Failed to close the channel", cause);
                 safeSetFailure(promise, cause);
                 closeFuture.complete(null);
             }
+            // 未写出的消息全部失败
+            if (outboundBuffer != null) {
+                outboundBuffer.close(new ClosedChannelException());
+            }
             // 在关闭通道前是激活状态, 关闭后是失活状态, 则回调channelInactive()方法
-            deregister0(newPromise(), wasActive && !isActive());
+            deregister0(voidPromise, wasActive && !isActive());
+            ChannelLifecycleEvent.end(event, AbstractChannel.this, success);
         }
 
         @Override
@@ -239,14 +351,77 @@ public abstract class AbstractChannel implements Channel {
             }
         }
 
+        @Override
+        public void beginRead() {
+            assert eventLoop.inEventLoop();
+            if (!isActive()) {
+                return;
+            }
+            try {
+                doBeginRead();
+            } catch (Throwable cause) {
+                pipeline.fireExceptionCaught(cause);
+                close(voidPromise);
+            }
+        }
+
+        @Override
+        public void write(Object msg, ChannelFuture<?> promise) {
+            assert eventLoop.inEventLoop();
+            ChannelOutboundBuffer outboundBuffer = this.outboundBuffer;
+            if (outboundBuffer == null) {
+                safeSetFailure(promise, new ClosedChannelException());
+                return;
+            }
+            try {
+                msg = filterOutboundMessage(msg);
+            } catch (Throwable cause) {
+                safeSetFailure(promise, cause);
+                return;
+            }
+            outboundBuffer.addMessage(msg, promise);
+        }
+
+        @Override
+        public void flush() {
+            assert eventLoop.inEventLoop();
+            ChannelOutboundBuffer outboundBuffer = this.outboundBuffer;
+            if (outboundBuffer == null) {
+                return;
+            }
+            outboundBuffer.addFlush();
+            flush0();
+        }
+
+        protected void flush0() {
+            ChannelOutboundBuffer outboundBuffer = this.outboundBuffer;
+            // 写完成的回调中可能再次刷新, 避免重入
+            if (inFlush || outboundBuffer == null || outboundBuffer.isEmpty()) {
+                return;
+            }
+            inFlush = true;
+            try {
+                if (!isActive()) {
+                    outboundBuffer.failFlushed(isOpen() ? new NotYetConnectedException() : new ClosedChannelException());
+                    return;
+                }
+                doWrite(outboundBuffer);
+            } catch (Throwable cause) {
+                outboundBuffer.failFlushed(cause);
+                close(voidPromise);
+            } finally {
+                inFlush = false;
+            }
+        }
+
         private void safeSetSuccess(ChannelFuture<?> promise) {
-            if (!promise.complete(null)) {
+            if (!promise.isVoid() && !promise.complete(null)) {
                 logger.warn("Failed to mark a promise as success because it is done already: {}", promise);
             }
         }
 
         private void safeSetFailure(ChannelFuture<?> promise, Throwable cause) {
-            if (!promise.completeExceptionally(cause)) {
+            if (!promise.completeExceptionally(cause) && !promise.isVoid()) {
                 logger.warn("Failed to make a promise as failure because it is done already: {}", promise, cause);
             }
         }
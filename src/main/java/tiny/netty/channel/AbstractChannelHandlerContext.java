@@ -28,6 +28,9 @@ public abstract class AbstractChannelHandlerContext implements ChannelHandlerCon
         } catch (ReflectiveOperationException e) {
             throw new ExceptionInInitializerError(e);
         }
+        // 提前初始化JFR事件类, 见SingleThreadEventExecutor
+        HandlerInvocationEvent.enabled();
+        ChannelLifecycleEvent.enabled();
     }
 
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
@@ -87,6 +90,42 @@ public abstract class AbstractChannelHandlerContext implements ChannelHandlerCon
         }
     }
 
+    static void invokeChannelRead(AbstractChannelHandlerContext ctx, Object msg) {
+        EventExecutor executor = ctx.executor();
+        if (executor.inEventLoop()) {
+            ctx.invokeChannelRead(msg);
+        } else {
+            executor.execute(() -> ctx.invokeChannelRead(msg));
+        }
+    }
+
+    static void invokeChannelReadComplete(AbstractChannelHandlerContext ctx) {
+        EventExecutor executor = ctx.executor();
+        if (executor.inEventLoop()) {
+            ctx.invokeChannelReadComplete();
+        } else {
+            executor.execute(ctx::invokeChannelReadComplete);
+        }
+    }
+
+    static void invokeChannelWritabilityChanged(AbstractChannelHandlerContext ctx) {
+        EventExecutor executor = ctx.executor();
+        if (executor.inEventLoop()) {
+            ctx.invokeChannelWritabilityChanged();
+        } else {
+            executor.execute(ctx::invokeChannelWritabilityChanged);
+        }
+    }
+
+    static void invokeExceptionCaught(AbstractChannelHandlerContext ctx, Throwable cause) {
+        EventExecutor executor = ctx.executor();
+        if (executor.inEventLoop()) {
+            ctx.invokeExceptionCaught(cause);
+        } else {
+            executor.execute(() -> ctx.invokeExceptionCaught(cause));
+        }
+    }
+
     @Override
     public Channel channel() {
         return pipeline.channel();
@@ -184,10 +223,13 @@ public abstract class AbstractChannelHandlerContext implements ChannelHandlerCon
     private void invokeChannelRegistered() {
         logger.debug("[{}] invokeChannelRegistered()...", name);
         if (invokeHandler()) {
+            final HandlerInvocationEvent event = HandlerInvocationEvent.begin(this, "channelRegistered");
             try {
                 ((ChannelInboundHandler) handler()).channelRegistered(this);
             } catch (Throwable cause) {
                 invokeExceptionCaught(cause);
+            } finally {
+                HandlerInvocationEvent.end(event, this);
             }
         } else {
             this.fireChannelRegistered();
@@ -203,10 +245,13 @@ public abstract class AbstractChannelHandlerContext implements ChannelHandlerCon
     private void invokeChannelUnregistered() {
         logger.debug("[{}] invokeChannelUnregistered()...", name);
         if (invokeHandler()) {
+            final HandlerInvocationEvent event = HandlerInvocationEvent.begin(this, "channelUnregistered");
             try {
                 ((ChannelInboundHandler) handler()).channelUnregistered(this);
             } catch (Throwable cause) {
                 invokeExceptionCaught(cause);
+            } finally {
+                HandlerInvocationEvent.end(event, this);
             }
         } else {
             this.fireChannelUnregistered();
@@ -222,10 +267,13 @@ public abstract class AbstractChannelHandlerContext implements ChannelHandlerCon
     private void invokeChannelActive() {
         logger.debug("[{}] invokeChannelActive()...", name);
         if (invokeHandler()) {
+            final HandlerInvocationEvent event = HandlerInvocationEvent.begin(this, "channelActive");
             try {
                 ((ChannelInboundHandler) handler()).channelActive(this);
             } catch (Throwable cause) {
                 invokeExceptionCaught(cause);
+            } finally {
+                HandlerInvocationEvent.end(event, this);
             }
         } else {
             this.fireChannelActive();
@@ -241,10 +289,13 @@ public abstract class AbstractChannelHandlerContext implements ChannelHandlerCon
     private void invokeChannelInactive() {
         logger.debug("[{}] invokeChannelInactive()...", name);
         if (invokeHandler()) {
+            final HandlerInvocationEvent event = HandlerInvocationEvent.begin(this, "channelInactive");
             try {
                 ((ChannelInboundHandler) handler()).channelInactive(this);
             } catch (Throwable cause) {
                 invokeExceptionCaught(cause);
+            } finally {
+                HandlerInvocationEvent.end(event, this);
             }
         } else {
             this.fireChannelInactive();
@@ -253,21 +304,83 @@ public abstract class AbstractChannelHandlerContext implements ChannelHandlerCon
 
 
     @Override
-    public AbstractChannelHandlerContext fireExceptionCaught(Throwable cause) {
-        AbstractChannelHandlerContext next = findContextInbound();
-        EventExecutor executor = next.executor();
-        if (executor.inEventLoop()) {
-            next.invokeExceptionCaught(cause);
+    public AbstractChannelHandlerContext fireChannelRead(Object msg) {
+        invokeChannelRead(findContextInbound(), msg);
+        return this;
+    }
+
+    private void invokeChannelRead(Object msg) {
+        if (invokeHandler()) {
+            final HandlerInvocationEvent event = HandlerInvocationEvent.begin(this, "channelRead");
+            try {
+                ((ChannelInboundHandler) handler()).channelRead(this, msg);
+            } catch (Throwable cause) {
+                invokeExceptionCaught(cause);
+            } finally {
+                HandlerInvocationEvent.end(event, this);
+            }
         } else {
-            executor.execute(() -> next.invokeExceptionCaught(cause));
+            fireChannelRead(msg);
         }
+    }
+
+    @Override
+    public AbstractChannelHandlerContext fireChannelReadComplete() {
+        invokeChannelReadComplete(findContextInbound());
+        return this;
+    }
+
+    private void invokeChannelReadComplete() {
+        if (invokeHandler()) {
+            final HandlerInvocationEvent event = HandlerInvocationEvent.begin(this, "channelReadComplete");
+            try {
+                ((ChannelInboundHandler) handler()).channelReadComplete(this);
+            } catch (Throwable cause) {
+                invokeExceptionCaught(cause);
+            } finally {
+                HandlerInvocationEvent.end(event, this);
+            }
+        } else {
+            fireChannelReadComplete();
+        }
+    }
+
+    @Override
+    public AbstractChannelHandlerContext fireChannelWritabilityChanged() {
+        invokeChannelWritabilityChanged(findContextInbound());
+        return this;
+    }
+
+    private void invokeChannelWritabilityChanged() {
+        if (invokeHandler()) {
+            final HandlerInvocationEvent event = HandlerInvocationEvent.begin(this, "channelWritabilityChanged");
+            try {
+                ((ChannelInboundHandler) handler()).channelWritabilityChanged(this);
+            } catch (Throwable cause) {
+                invokeExceptionCaught(cause);
+            } finally {
+                HandlerInvocationEvent.end(event, this);
+            }
+        } else {
+            fireChannelWritabilityChanged();
+        }
+    }
+
+    @Override
+    public AbstractChannelHandlerContext fireExceptionCaught(Throwable cause) {
+        invokeExceptionCaught(findContextInbound(), cause);
         return this;
     }
 
     private void invokeExceptionCaught(Throwable cause) {
         logger.debug("[{}] invokeExceptionCaught({})...", name, cause.getMessage());
         if (invokeHandler()) {
-            ((ChannelInboundHandler) handler()).exceptionCaught(this, cause);
+            final HandlerInvocationEvent event = HandlerInvocationEvent.begin(this, "exceptionCaught");
+            try {
+                ((ChannelInboundHandler) handler()).exceptionCaught(this, cause);
+            } finally {
+                HandlerInvocationEvent.end(event, this);
+            }
         } else {
             fireExceptionCaught(cause);
         }
@@ -293,16 +406,52 @@ public abstract class AbstractChannelHandlerContext implements ChannelHandlerCon
     private void invokeBind(SocketAddress localAddress, ChannelFuture<?> promise) {
         logger.debug("[{}] invokeBind({})", name, localAddress);
         if (invokeHandler()) {
+            final HandlerInvocationEvent event = HandlerInvocationEvent.begin(this, "bind");
             try {
                 ((ChannelOutboundHandler) handler()).bind(this, localAddress, promise);
             } catch (Throwable cause) {
                 promise.completeExceptionally(cause);
+            } finally {
+                HandlerInvocationEvent.end(event, this);
             }
         } else {
             bind(localAddress, promise);
         }
     }
 
+    @Override
+    public ChannelFuture<?> connect(SocketAddress remoteAddress) {
+        return connect(remoteAddress, newPromise());
+    }
+
+    @Override
+    public ChannelFuture<?> connect(SocketAddress remoteAddress, ChannelFuture<?> promise) {
+        AbstractChannelHandlerContext next = findContextOutbound();
+        EventExecutor executor = next.executor();
+        if (executor.inEventLoop()) {
+            next.invokeConnect(remoteAddress, promise);
+        } else {
+            executor.execute(() -> next.invokeConnect(remoteAddress, promise));
+        }
+        return promise;
+    }
+
+    private void invokeConnect(SocketAddress remoteAddress, ChannelFuture<?> promise) {
+        logger.debug("[{}] invokeConnect({})", name, remoteAddress);
+        if (invokeHandler()) {
+            final HandlerInvocationEvent event = HandlerInvocationEvent.begin(this, "connect");
+            try {
+                ((ChannelOutboundHandler) handler()).connect(this, remoteAddress, promise);
+            } catch (Throwable cause) {
+                promise.completeExceptionally(cause);
+            } finally {
+                HandlerInvocationEvent.end(event, this);
+            }
+        } else {
+            connect(remoteAddress, promise);
+        }
+    }
+
     @Override
     public ChannelFuture<?> deregister() {
         return deregister(newPromise());
@@ -323,10 +472,13 @@ public abstract class AbstractChannelHandlerContext implements ChannelHandlerCon
     private void invokeDeregister(ChannelFuture<?> promise) {
         logger.debug("[{}] invokeDeregister()...", name);
         if (invokeHandler()) {
+            final HandlerInvocationEvent event = HandlerInvocationEvent.begin(this, "deregister");
             try {
                 ((ChannelOutboundHandler) handler()).deregister(this, promise);
             } catch (Throwable cause) {
                 promise.completeExceptionally(cause);
+            } finally {
+                HandlerInvocationEvent.end(event, this);
             }
         } else {
             deregister(promise);
@@ -353,18 +505,106 @@ public abstract class AbstractChannelHandlerContext implements ChannelHandlerCon
     private void invokeClose(ChannelFuture<?> promise) {
         logger.debug("[{}] invokeClose()...", name);
         if (invokeHandler()) {
+            final HandlerInvocationEvent event = HandlerInvocationEvent.begin(this, "close");
             try {
                 ((ChannelOutboundHandler) handler()).close(this, promise);
             } catch (Throwable cause) {
                 promise.completeExceptionally(cause);
+            } finally {
+                HandlerInvocationEvent.end(event, this);
             }
         } else {
             close(promise);
         }
     }
 
+    @Override
+    public ChannelFuture<?> write(Object msg) {
+        return write(msg, newPromise());
+    }
+
+    @Override
+    public ChannelFuture<?> write(Object msg, ChannelFuture<?> promise) {
+        write(msg, false, promise);
+        return promise;
+    }
+
+    @Override
+    public ChannelFuture<?> writeAndFlush(Object msg) {
+        return writeAndFlush(msg, newPromise());
+    }
+
+    @Override
+    public ChannelFuture<?> writeAndFlush(Object msg, ChannelFuture<?> promise) {
+        write(msg, true, promise);
+        return promise;
+    }
+
+    private void write(Object msg, boolean flush, ChannelFuture<?> promise) {
+        if (msg == null) {
+            throw new IllegalArgumentException("msg is null");
+        }
+        AbstractChannelHandlerContext next = findContextOutbound();
+        EventExecutor executor = next.executor();
+        if (executor.inEventLoop()) {
+            next.invokeWrite(msg, flush, promise);
+        } else {
+            executor.execute(() -> next.invokeWrite(msg, flush, promise));
+        }
+    }
+
+    private void invokeWrite(Object msg, boolean flush, ChannelFuture<?> promise) {
+        if (invokeHandler()) {
+            final HandlerInvocationEvent event = HandlerInvocationEvent.begin(this, "write");
+            try {
+                ((ChannelOutboundHandler) handler()).write(this, msg, promise);
+            } catch (Throwable cause) {
+                promise.completeExceptionally(cause);
+            } finally {
+                HandlerInvocationEvent.end(event, this);
+            }
+            if (flush) {
+                invokeFlush();
+            }
+        } else {
+            write(msg, flush, promise);
+        }
+    }
+
+    @Override
+    public AbstractChannelHandlerContext flush() {
+        AbstractChannelHandlerContext next = findContextOutbound();
+        EventExecutor executor = next.executor();
+        if (executor.inEventLoop()) {
+            next.invokeFlush();
+        } else {
+            executor.execute(next::invokeFlush);
+        }
+        return this;
+    }
+
+    private void invokeFlush() {
+        if (invokeHandler()) {
+            final HandlerInvocationEvent event = HandlerInvocationEvent.begin(this, "flush");
+            try {
+                ((ChannelOutboundHandler) handler()).flush(this);
+            } catch (Throwable cause) {
+                invokeExceptionCaught(cause);
+            } finally {
+                HandlerInvocationEvent.end(event, this);
+            }
+        } else {
+            flush();
+        }
+    }
+
     @Override
     public ChannelFuture<?> newPromise() {
-        return new CompletableChannelFuture<>(channel());
+        return channel().newPromise();
+    }
+
+    @Override
+    public ChannelFuture<?> voidPromise() {
+        return channel().voidPromise();
     }
 }
@@ -1,8 +1,11 @@
 package tiny.netty.channel;
 
 import tiny.netty.util.concurrent.EventExecutorGroup;
+import tiny.netty.util.concurrent.RejectedExecutionHandler;
 import tiny.netty.util.concurrent.SingleThreadEventExecutor;
+import tiny.netty.util.concurrent.TaskQueueFactory;
 
+import java.util.Queue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadFactory;
 
@@ -13,12 +16,62 @@ import java.util.concurrent.ThreadFactory;
  */
 public abstract class AbstractEventLoop extends SingleThreadEventExecutor implements EventLoop {
 
+    // 每次循环末尾执行的任务
+    private final Queue<Runnable> tailTasks;
+
     protected AbstractEventLoop(EventExecutorGroup parent, ThreadFactory factory) {
         super(parent, factory);
+        tailTasks = TaskQueueFactory.MPSC.newTaskQueue(DEFAULT_MAX_PENDING_TASKS);
     }
 
     protected AbstractEventLoop(EventExecutorGroup parent, Executor executor) {
         super(parent, executor);
+        tailTasks = TaskQueueFactory.MPSC.newTaskQueue(DEFAULT_MAX_PENDING_TASKS);
+    }
+
+    protected AbstractEventLoop(EventExecutorGroup parent, Executor executor, int maxPendingTasks, TaskQueueFactory taskQueueFactory) {
+        super(parent, executor, maxPendingTasks, taskQueueFactory);
+        tailTasks = taskQueueFactory.newTaskQueue(maxPendingTasks);
+    }
+
+    protected AbstractEventLoop(EventExecutorGroup parent, Executor executor, int maxPendingTasks,
+                                TaskQueueFactory taskQueueFactory, RejectedExecutionHandler rejectedExecutionHandler) {
+        super(parent, executor, maxPendingTasks, taskQueueFactory, rejectedExecutionHandler);
+        tailTasks = taskQueueFactory.newTaskQueue(maxPendingTasks);
+    }
+
+    /**
+     * 提交一个在本次(或下一次)循环末尾执行一次的任务
+     * <p>同一次循环中产生的多个事件可以借此合并处理, 如将多次flush合并为一次</p>
+     */
+    public final void executeAfterEventLoopIteration(Runnable task) {
+        if (task == null) {
+            throw new IllegalArgumentException("task is null");
+        }
+        if (isShuttingDown() || !tailTasks.offer(task)) {
+            reject(task);
+            return;
+        }
+        if (!inEventLoop()) {
+            wakeup(false);
+        }
+    }
+
+    @Override
+    protected boolean hasTask() {
+        return super.hasTask() || !tailTasks.isEmpty();
+    }
+
+    @Override
+    protected void afterRunningAllTasks() {
+        // 只执行本次循环开始前提交的任务, 执行过程中新提交的任务留到下一次循环
+        for (int n = tailTasks.size(); n > 0; n--) {
+            Runnable task = tailTasks.poll();
+            if (task == null) {
+                break;
+            }
+            safeExecution(task);
+        }
     }
 
     @Override
@@ -26,6 +79,11 @@ public abstract class AbstractEventLoop extends SingleThreadEventExecutor implem
         return (EventLoop) super.next();
     }
 
+    @Override
+    public EventLoop next(Object key) {
+        return (EventLoop) super.next(key);
+    }
+
     @Override
     public EventLoopGroup parent() {
         return (EventLoopGroup) super.parent();
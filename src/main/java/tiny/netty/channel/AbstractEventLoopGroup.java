@@ -1,5 +1,6 @@
 package tiny.netty.channel;
 
+import tiny.netty.util.concurrent.EventExecutorChooserFactory;
 import tiny.netty.util.concurrent.MultiThreadEventExecutorGroup;
 
 import java.util.concurrent.ThreadFactory;
@@ -21,11 +22,20 @@ public abstract class AbstractEventLoopGroup extends MultiThreadEventExecutorGro
         super(nThreads, threadFactory, args);
     }
 
+    protected AbstractEventLoopGroup(int nThreads, ThreadFactory threadFactory, EventExecutorChooserFactory chooserFactory, Object... args) {
+        super(nThreads, threadFactory, chooserFactory, args);
+    }
+
     @Override
     public EventLoop next() {
         return (EventLoop) super.next();
     }
 
+    @Override
+    public EventLoop next(Object key) {
+        return (EventLoop) super.next(key);
+    }
+
     @Override
     public ChannelFuture<?> register(Channel channel) {
         return next().register(channel);
@@ -15,6 +15,9 @@ public interface Channel extends ChannelOutboundInvoker{
     // 通道管道
     ChannelPipeline pipeline();
 
+    // 通道配置
+    ChannelConfig config();
+
     // 状态值: 是否打开
     boolean isOpen();
 
@@ -24,6 +27,15 @@ public interface Channel extends ChannelOutboundInvoker{
     // 状态值: 是否激活
     boolean isActive();
 
+    /**
+     * 出站缓冲区中待写出的字节数超过高水位后返回false, 降到低水位以下后恢复为true; 通道关闭后返回false.
+     * 可写状态变化时回调{@link ChannelInboundHandler#channelWritabilityChanged}
+     */
+    boolean isWritable();
+
+    // 绑定的本地地址, 未绑定时返回null
+    SocketAddress localAddress();
+
     Unsafe unsafe();
 
     ChannelFuture<?> closeFuture();
@@ -31,6 +43,9 @@ public interface Channel extends ChannelOutboundInvoker{
     // 创建一个新的channelFuture
     ChannelFuture<?> newPromise();
 
+    @Override
+    Channel flush();
+
     interface Unsafe {
 
         ChannelFuture<?> register(EventLoop eventLoop, ChannelFuture<?> promise);
@@ -39,6 +54,24 @@ public interface Channel extends ChannelOutboundInvoker{
 
         void close(ChannelFuture<?> promise);
 
+        // 直接关闭底层通道, 不回调任何事件, 用于通道还未注册(如注册失败)的情况, 可在任意线程调用
+        void closeForcibly();
+
         void bind(SocketAddress localAddress, ChannelFuture<?> promise);
+
+        // 连接远端地址, 由具体的通道实现; 不支持连接的通道(如服务端通道)使promise失败
+        void connect(SocketAddress remoteAddress, ChannelFuture<?> promise);
+
+        // 开始读取: 关注读事件
+        void beginRead();
+
+        // 将消息添加至出站缓冲区
+        void write(Object msg, ChannelFuture<?> promise);
+
+        // 将出站缓冲区中的消息写到底层通道
+        void flush();
+
+        // 出站缓冲区, 通道关闭后返回null
+        ChannelOutboundBuffer outboundBuffer();
     }
 }
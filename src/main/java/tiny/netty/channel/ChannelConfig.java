@@ -0,0 +1,40 @@
+package tiny.netty.channel;
+
+/**
+ * 通道配置
+ *
+ * @author zhaomingming
+ */
+public interface ChannelConfig {
+
+    /**
+     * 设置选项, 通道不支持该选项时返回false
+     */
+    <T> boolean setOption(ChannelOption<T> option, T value);
+
+    /**
+     * 获取选项, 通道不支持该选项时返回null
+     */
+    <T> T getOption(ChannelOption<T> option);
+
+    int getMaxMessagesPerRead();
+
+    /**
+     * 设置每次读事件最多读取的消息数, 避免一个繁忙的通道长时间占用事件循环, 其它通道得不到处理
+     */
+    ChannelConfig setMaxMessagesPerRead(int maxMessagesPerRead);
+
+    int getConnectTimeoutMillis();
+
+    /**
+     * 设置连接超时时间, 0表示不超时
+     */
+    ChannelConfig setConnectTimeoutMillis(int connectTimeoutMillis);
+
+    WriteBufferWaterMark getWriteBufferWaterMark();
+
+    /**
+     * 设置出站缓冲区的高水位和低水位, 待写出的字节数超过高水位后通道不可写, 降到低水位以下后恢复可写
+     */
+    ChannelConfig setWriteBufferWaterMark(WriteBufferWaterMark writeBufferWaterMark);
+}
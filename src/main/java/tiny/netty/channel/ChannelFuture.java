@@ -15,7 +15,20 @@ public interface ChannelFuture<V> extends Future<V> {
 
     boolean completeExceptionally(Throwable ex);
 
+    // 是否已成功完成
+    boolean isSuccess();
+
+    // 失败的原因, 未完成或成功完成时返回null
+    Throwable cause();
+
+    // 添加完成时的回调, 在通道的事件循环器中执行; 已完成且当前线程就是事件循环器时立即回调
+    ChannelFuture<V> addListener(ChannelFutureListener listener);
+
+    // 是否为不关心结果的占位对象, 见{@link ChannelOutboundInvoker#voidPromise()}
+    boolean isVoid();
+
     CompletableFuture<Void> thenRun(Runnable action);
 
+    // 完成后在通道的事件循环器中执行action
     CompletableFuture<Void> thenRunAsync(Runnable action);
 }
@@ -0,0 +1,21 @@
+package tiny.netty.channel;
+
+/**
+ * {@link ChannelFuture}完成时的回调
+ *
+ * @author zhaomingming
+ */
+@FunctionalInterface
+public interface ChannelFutureListener {
+
+    /**
+     * 操作失败时关闭通道, 如绑定或连接失败, 避免泄漏文件描述符
+     */
+    ChannelFutureListener CLOSE_ON_FAILURE = future -> {
+        if (!future.isSuccess()) {
+            future.channel().close();
+        }
+    };
+
+    void operationComplete(ChannelFuture<?> future) throws Exception;
+}
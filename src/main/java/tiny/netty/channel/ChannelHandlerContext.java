@@ -35,4 +35,16 @@ public interface ChannelHandlerContext extends ChannelInboundInvoker, ChannelOut
 
     @Override
     ChannelHandlerContext fireExceptionCaught(Throwable cause);
+
+    @Override
+    ChannelHandlerContext fireChannelRead(Object msg);
+
+    @Override
+    ChannelHandlerContext fireChannelReadComplete();
+
+    @Override
+    ChannelHandlerContext fireChannelWritabilityChanged();
+
+    @Override
+    ChannelHandlerContext flush();
 }
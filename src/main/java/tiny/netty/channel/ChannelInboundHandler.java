@@ -15,5 +15,20 @@ public interface ChannelInboundHandler extends ChannelHandler {
 
     void channelInactive(ChannelHandlerContext ctx) throws Exception;
 
+    /**
+     * 从通道中读取到消息, Nio字节通道的消息为{@link java.nio.ByteBuffer}, 由处理器负责后续处理或传递给下一个处理器
+     */
+    void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception;
+
+    /**
+     * 一次读事件中的消息都已通过{@link #channelRead}传递, 处理器可以在这里批量刷新写入的消息
+     */
+    void channelReadComplete(ChannelHandlerContext ctx) throws Exception;
+
+    /**
+     * 通道的可写状态({@link Channel#isWritable()})发生变化, 处理器可以在不可写时暂停写入(如停止读取对端数据), 可写后恢复
+     */
+    void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception;
+
     void exceptionCaught(ChannelHandlerContext ctx, Throwable cause);
 }
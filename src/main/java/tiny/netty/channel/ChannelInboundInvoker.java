@@ -15,5 +15,11 @@ public interface ChannelInboundInvoker {
 
     ChannelInboundInvoker fireChannelInactive();
 
+    ChannelInboundInvoker fireChannelRead(Object msg);
+
+    ChannelInboundInvoker fireChannelReadComplete();
+
+    ChannelInboundInvoker fireChannelWritabilityChanged();
+
     ChannelInboundInvoker fireExceptionCaught(Throwable cause);
 }
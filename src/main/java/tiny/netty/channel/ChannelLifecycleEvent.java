@@ -0,0 +1,63 @@
+package tiny.netty.channel;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR事件: 通道的注册及关闭, 持续时间包括处理器的回调(如channelRegistered())
+ *
+ * @author zhaomingming
+ */
+@Name("tiny.netty.ChannelLifecycle")
+@Label("Channel Lifecycle")
+@Category({"tiny-netty", "Channel"})
+@Description("A channel registered to or closed on its event loop")
+@StackTrace(false)
+final class ChannelLifecycleEvent extends jdk.jfr.Event {
+
+    static final String REGISTER = "register";
+    static final String CLOSE = "close";
+
+    private static final ChannelLifecycleEvent PROBE = new ChannelLifecycleEvent();
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Channel Class")
+    Class<?> channelClass;
+
+    @Label("Channel")
+    String channel;
+
+    @Label("Success")
+    boolean success;
+
+    static ChannelLifecycleEvent begin(Channel channel, String operation) {
+        if (!enabled()) {
+            return null;
+        }
+        ChannelLifecycleEvent event = new ChannelLifecycleEvent();
+        event.operation = operation;
+        event.channelClass = channel.getClass();
+        event.begin();
+        return event;
+    }
+
+    static boolean enabled() {
+        return PROBE.isEnabled();
+    }
+
+    static void end(ChannelLifecycleEvent event, Channel channel, boolean success) {
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.channel = channel.toString();
+                event.success = success;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package tiny.netty.channel;
+
+import java.net.SocketOption;
+import java.net.StandardSocketOptions;
+
+/**
+ * 类型安全的通道选项, 通过{@link ChannelConfig#setOption}设置
+ * <p>对应套接字选项的通道选项(如TCP_NODELAY)直接设置到底层通道上, 应在绑定或连接前设置;
+ * 其它选项(如SO_BACKLOG)由通道配置保存, 在绑定或连接时使用</p>
+ *
+ * @author zhaomingming
+ */
+public final class ChannelOption<T> {
+
+    /**
+     * 服务端通道等待接受的连接队列长度, 队列满时新的连接请求(SYN)被丢弃; 绑定时生效, 实际值不超过系统的somaxconn
+     */
+    public static final ChannelOption<Integer> SO_BACKLOG = new ChannelOption<>("SO_BACKLOG", null);
+    public static final ChannelOption<Integer> SO_RCVBUF = new ChannelOption<>("SO_RCVBUF", StandardSocketOptions.SO_RCVBUF);
+    public static final ChannelOption<Integer> SO_SNDBUF = new ChannelOption<>("SO_SNDBUF", StandardSocketOptions.SO_SNDBUF);
+    public static final ChannelOption<Boolean> SO_KEEPALIVE = new ChannelOption<>("SO_KEEPALIVE", StandardSocketOptions.SO_KEEPALIVE);
+    public static final ChannelOption<Boolean> SO_REUSEADDR = new ChannelOption<>("SO_REUSEADDR", StandardSocketOptions.SO_REUSEADDR);
+    public static final ChannelOption<Boolean> SO_REUSEPORT = new ChannelOption<>("SO_REUSEPORT", StandardSocketOptions.SO_REUSEPORT);
+    public static final ChannelOption<Integer> SO_LINGER = new ChannelOption<>("SO_LINGER", StandardSocketOptions.SO_LINGER);
+    /**
+     * 禁用Nagle算法, 小的响应不必等待之前数据的ACK(与对端的延迟确认叠加时可达40ms)
+     */
+    public static final ChannelOption<Boolean> TCP_NODELAY = new ChannelOption<>("TCP_NODELAY", StandardSocketOptions.TCP_NODELAY);
+    public static final ChannelOption<Integer> CONNECT_TIMEOUT_MILLIS = new ChannelOption<>("CONNECT_TIMEOUT_MILLIS", null);
+    public static final ChannelOption<Integer> MAX_MESSAGES_PER_READ = new ChannelOption<>("MAX_MESSAGES_PER_READ", null);
+    /**
+     * 出站缓冲区的高水位和低水位, 见{@link Channel#isWritable()}
+     */
+    public static final ChannelOption<WriteBufferWaterMark> WRITE_BUFFER_WATER_MARK = new ChannelOption<>("WRITE_BUFFER_WATER_MARK", null);
+
+    private final String name;
+    private final SocketOption<T> socketOption;
+
+    private ChannelOption(String name, SocketOption<T> socketOption) {
+        this.name = name;
+        this.socketOption = socketOption;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * 对应的套接字选项, 不是套接字选项时返回null
+     */
+    public SocketOption<T> socketOption() {
+        return socketOption;
+    }
+
+    public void validate(T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value is null");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,142 @@
+package tiny.netty.channel;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * 通道的出站缓冲区, 保存已写入但尚未写到底层通道的消息
+ * <p>{@code write()}添加的消息处于未刷新状态, {@code flush()}将其全部标记为已刷新, 只有已刷新的消息才会写到底层通道.
+ * 只由通道所注册的事件循环器访问</p>
+ * <p>记录所有未写出消息(包括未刷新的)的字节数, 超过高水位时通道变为不可写, 降到低水位以下后恢复, 并回调channelWritabilityChanged();
+ * 缓冲区本身不限制大小, 写入方应在通道不可写时停止写入, 否则对端读取较慢时消息会不断堆积</p>
+ *
+ * @author zhaomingming
+ */
+public final class ChannelOutboundBuffer {
+
+    private final Channel channel;
+    private final ArrayDeque<Entry> flushed = new ArrayDeque<>();
+    private final ArrayDeque<Entry> unflushed = new ArrayDeque<>();
+    // 未写出消息的字节数
+    private long totalPendingSize;
+    // 可能在其它线程中读取
+    private volatile boolean unwritable;
+
+    ChannelOutboundBuffer(Channel channel) {
+        this.channel = channel;
+    }
+
+    void addMessage(Object msg, ChannelFuture<?> promise) {
+        Entry entry = new Entry(msg, promise, size(msg));
+        unflushed.add(entry);
+        incrementPendingOutboundBytes(entry.pendingSize);
+    }
+
+    void addFlush() {
+        Entry entry;
+        while ((entry = unflushed.poll()) != null) {
+            flushed.add(entry);
+        }
+    }
+
+    /**
+     * 第一个已刷新但尚未写出的消息, 没有时返回null
+     */
+    public Object current() {
+        Entry entry = flushed.peek();
+        return entry == null ? null : entry.msg;
+    }
+
+    /**
+     * 当前消息已全部写出, 将其移除并完成对应的promise
+     */
+    public void remove() {
+        Entry entry = flushed.poll();
+        if (entry == null) {
+            return;
+        }
+        decrementPendingOutboundBytes(entry.pendingSize, true);
+        if (!entry.promise.isVoid()) {
+            entry.promise.complete(null);
+        }
+    }
+
+    // 是否没有已刷新的消息
+    public boolean isEmpty() {
+        return flushed.isEmpty();
+    }
+
+    // 已刷新的消息数
+    public int size() {
+        return flushed.size();
+    }
+
+    // 未写出消息(包括未刷新的)的字节数
+    public long totalPendingSize() {
+        return totalPendingSize;
+    }
+
+    public boolean isWritable() {
+        return !unwritable;
+    }
+
+    void failFlushed(Throwable cause) {
+        failFlushed(cause, true);
+    }
+
+    // 通道关闭时不再回调可写状态的变化
+    void close(Throwable cause) {
+        addFlush();
+        failFlushed(cause, false);
+    }
+
+    private void failFlushed(Throwable cause, boolean notify) {
+        Entry entry;
+        while ((entry = flushed.poll()) != null) {
+            decrementPendingOutboundBytes(entry.pendingSize, notify);
+            entry.promise.completeExceptionally(cause);
+        }
+    }
+
+    private void incrementPendingOutboundBytes(long size) {
+        if (size == 0) {
+            return;
+        }
+        totalPendingSize += size;
+        if (!unwritable && totalPendingSize > channel.config().getWriteBufferWaterMark().high()) {
+            unwritable = true;
+            channel.pipeline().fireChannelWritabilityChanged();
+        }
+    }
+
+    private void decrementPendingOutboundBytes(long size, boolean notify) {
+        if (size == 0) {
+            return;
+        }
+        totalPendingSize -= size;
+        if (unwritable && totalPendingSize < channel.config().getWriteBufferWaterMark().low()) {
+            unwritable = false;
+            if (notify) {
+                channel.pipeline().fireChannelWritabilityChanged();
+            }
+        }
+    }
+
+    // 目前只统计ByteBuffer的字节数, 其它消息不计入
+    private static long size(Object msg) {
+        return msg instanceof ByteBuffer ? ((ByteBuffer) msg).remaining() : 0;
+    }
+
+    private static final class Entry {
+
+        final Object msg;
+        final ChannelFuture<?> promise;
+        final long pendingSize;
+
+        Entry(Object msg, ChannelFuture<?> promise, long pendingSize) {
+            this.msg = msg;
+            this.promise = promise;
+            this.pendingSize = pendingSize;
+        }
+    }
+}
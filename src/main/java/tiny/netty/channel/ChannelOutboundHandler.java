@@ -11,7 +11,16 @@ public interface ChannelOutboundHandler extends ChannelHandler {
 
     void bind(ChannelHandlerContext ctx, SocketAddress localAddress, ChannelFuture<?> promise) throws Exception;
 
+    void connect(ChannelHandlerContext ctx, SocketAddress remoteAddress, ChannelFuture<?> promise) throws Exception;
+
     void deregister(ChannelHandlerContext ctx, ChannelFuture<?> promise) throws Exception;
 
     void close(ChannelHandlerContext ctx, ChannelFuture<?> promise) throws Exception;
+
+    /**
+     * 写入消息, 消息暂存在通道的出站缓冲区中, 直至{@link #flush}才写到底层通道
+     */
+    void write(ChannelHandlerContext ctx, Object msg, ChannelFuture<?> promise) throws Exception;
+
+    void flush(ChannelHandlerContext ctx) throws Exception;
 }
@@ -0,0 +1,41 @@
+package tiny.netty.channel;
+
+import java.net.SocketAddress;
+
+/**
+ * 通道出站处理器适配器
+ *
+ * @author zhaomingming
+ */
+public class ChannelOutboundHandlerAdapter extends ChannelHandlerAdapter implements ChannelOutboundHandler {
+
+    @Override
+    public void bind(ChannelHandlerContext ctx, SocketAddress localAddress, ChannelFuture<?> promise) throws Exception {
+        ctx.bind(localAddress, promise);
+    }
+
+    @Override
+    public void connect(ChannelHandlerContext ctx, SocketAddress remoteAddress, ChannelFuture<?> promise) throws Exception {
+        ctx.connect(remoteAddress, promise);
+    }
+
+    @Override
+    public void deregister(ChannelHandlerContext ctx, ChannelFuture<?> promise) throws Exception {
+        ctx.deregister(promise);
+    }
+
+    @Override
+    public void close(ChannelHandlerContext ctx, ChannelFuture<?> promise) throws Exception {
+        ctx.close(promise);
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelFuture<?> promise) throws Exception {
+        ctx.write(msg, promise);
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) throws Exception {
+        ctx.flush();
+    }
+}
@@ -13,6 +13,13 @@ public interface ChannelOutboundInvoker {
 
     ChannelFuture<?> bind(SocketAddress localAddress, ChannelFuture<?> promise);
 
+    /**
+     * 连接远端地址, 连接建立或失败(包括超时)时完成
+     */
+    ChannelFuture<?> connect(SocketAddress remoteAddress);
+
+    ChannelFuture<?> connect(SocketAddress remoteAddress, ChannelFuture<?> promise);
+
     ChannelFuture<?> deregister();
 
     ChannelFuture<?> deregister(ChannelFuture<?> promise);
@@ -21,5 +28,24 @@ public interface ChannelOutboundInvoker {
 
     ChannelFuture<?> close(ChannelFuture<?> promise);
 
+    /**
+     * 写入消息, 消息写到底层通道前需要调用{@link #flush()}
+     */
+    ChannelFuture<?> write(Object msg);
+
+    ChannelFuture<?> write(Object msg, ChannelFuture<?> promise);
+
+    ChannelOutboundInvoker flush();
+
+    ChannelFuture<?> writeAndFlush(Object msg);
+
+    ChannelFuture<?> writeAndFlush(Object msg, ChannelFuture<?> promise);
+
     ChannelFuture<?> newPromise();
+
+    /**
+     * 不关心结果时使用的共享占位对象, 可传给所有出站方法, 避免每次调用都创建新的promise.
+     * <p>它永远不会完成, 不支持添加回调及阻塞等待; 操作失败时会通过{@link ChannelPipeline#fireExceptionCaught}通知</p>
+     */
+    ChannelFuture<?> voidPromise();
 }
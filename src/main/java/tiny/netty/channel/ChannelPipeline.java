@@ -1,5 +1,7 @@
 package tiny.netty.channel;
 
+import tiny.netty.util.concurrent.EventExecutorGroup;
+
 /**
  * 通道管道, 维持着一组通道处理器
  * <p>每个添加的{@link ChannelHandler}被会被封装为{@link ChannelHandlerContext},以双向链表的形式存储于管道中</p>
@@ -13,9 +15,15 @@ public interface ChannelPipeline extends ChannelInboundInvoker, ChannelOutboundI
     // 添加至管道头部
     ChannelPipeline addFirst(String name, ChannelHandler handler);
 
+    // 添加至管道头部, 处理器的方法由group中的某个事件执行器执行, 而不是通道所注册的事件循环器
+    ChannelPipeline addFirst(EventExecutorGroup group, String name, ChannelHandler handler);
+
     // 添加至管道尾部
     ChannelPipeline addLast(String name, ChannelHandler handler);
 
+    // 添加至管道尾部, 处理器的方法由group中的某个事件执行器执行, 而不是通道所注册的事件循环器
+    ChannelPipeline addLast(EventExecutorGroup group, String name, ChannelHandler handler);
+
     // 删除通道处理器
     ChannelPipeline remove(String name);
 
@@ -49,4 +57,16 @@ public interface ChannelPipeline extends ChannelInboundInvoker, ChannelOutboundI
     @Override
     ChannelPipeline fireExceptionCaught(Throwable cause);
 
+    @Override
+    ChannelPipeline fireChannelRead(Object msg);
+
+    @Override
+    ChannelPipeline fireChannelReadComplete();
+
+    @Override
+    ChannelPipeline fireChannelWritabilityChanged();
+
+    @Override
+    ChannelPipeline flush();
+
 }
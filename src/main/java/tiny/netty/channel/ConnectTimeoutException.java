@@ -0,0 +1,17 @@
+package tiny.netty.channel;
+
+import java.net.ConnectException;
+
+/**
+ * 连接超时异常
+ *
+ * @author zhaomingming
+ */
+public class ConnectTimeoutException extends ConnectException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ConnectTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,102 @@
+package tiny.netty.channel;
+
+/**
+ * 通道配置的默认实现, 支持与传输无关的选项
+ *
+ * @author zhaomingming
+ */
+public class DefaultChannelConfig implements ChannelConfig {
+
+    private static final int DEFAULT_MAX_MESSAGES_PER_READ = 16;
+    private static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = 30000;
+
+    protected final Channel channel;
+    private volatile int maxMessagesPerRead = DEFAULT_MAX_MESSAGES_PER_READ;
+    private volatile int connectTimeoutMillis = DEFAULT_CONNECT_TIMEOUT_MILLIS;
+    private volatile WriteBufferWaterMark writeBufferWaterMark = WriteBufferWaterMark.DEFAULT;
+
+    public DefaultChannelConfig(Channel channel) {
+        if (channel == null) {
+            throw new IllegalArgumentException("channel is null");
+        }
+        this.channel = channel;
+    }
+
+    @Override
+    public <T> boolean setOption(ChannelOption<T> option, T value) {
+        if (option == null) {
+            throw new IllegalArgumentException("option is null");
+        }
+        option.validate(value);
+        if (option == ChannelOption.MAX_MESSAGES_PER_READ) {
+            setMaxMessagesPerRead((Integer) value);
+        } else if (option == ChannelOption.CONNECT_TIMEOUT_MILLIS) {
+            setConnectTimeoutMillis((Integer) value);
+        } else if (option == ChannelOption.WRITE_BUFFER_WATER_MARK) {
+            setWriteBufferWaterMark((WriteBufferWaterMark) value);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getOption(ChannelOption<T> option) {
+        if (option == null) {
+            throw new IllegalArgumentException("option is null");
+        }
+        if (option == ChannelOption.MAX_MESSAGES_PER_READ) {
+            return (T) Integer.valueOf(getMaxMessagesPerRead());
+        }
+        if (option == ChannelOption.CONNECT_TIMEOUT_MILLIS) {
+            return (T) Integer.valueOf(getConnectTimeoutMillis());
+        }
+        if (option == ChannelOption.WRITE_BUFFER_WATER_MARK) {
+            return (T) getWriteBufferWaterMark();
+        }
+        return null;
+    }
+
+    @Override
+    public int getMaxMessagesPerRead() {
+        return maxMessagesPerRead;
+    }
+
+    @Override
+    public ChannelConfig setMaxMessagesPerRead(int maxMessagesPerRead) {
+        if (maxMessagesPerRead <= 0) {
+            throw new IllegalArgumentException("maxMessagesPerRead: " + maxMessagesPerRead + " (expected > 0)");
+        }
+        this.maxMessagesPerRead = maxMessagesPerRead;
+        return this;
+    }
+
+    @Override
+    public int getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    @Override
+    public ChannelConfig setConnectTimeoutMillis(int connectTimeoutMillis) {
+        if (connectTimeoutMillis < 0) {
+            throw new IllegalArgumentException("connectTimeoutMillis: " + connectTimeoutMillis + " (expected >= 0)");
+        }
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        return this;
+    }
+
+    @Override
+    public WriteBufferWaterMark getWriteBufferWaterMark() {
+        return writeBufferWaterMark;
+    }
+
+    @Override
+    public ChannelConfig setWriteBufferWaterMark(WriteBufferWaterMark writeBufferWaterMark) {
+        if (writeBufferWaterMark == null) {
+            throw new IllegalArgumentException("writeBufferWaterMark is null");
+        }
+        this.writeBufferWaterMark = writeBufferWaterMark;
+        return this;
+    }
+}
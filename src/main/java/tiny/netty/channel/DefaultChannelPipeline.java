@@ -3,8 +3,11 @@ package tiny.netty.channel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import tiny.netty.util.concurrent.EventExecutor;
+import tiny.netty.util.concurrent.EventExecutorGroup;
 
 import java.net.SocketAddress;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.concurrent.RejectedExecutionException;
 
 /**
@@ -21,6 +24,7 @@ public class DefaultChannelPipeline implements ChannelPipeline {
     private boolean registered = false;
     private boolean firstRegistration = true;
     private volatile PendingHandlerCallback pendingHandlerCallbackHead;
+    private Map<EventExecutorGroup, EventExecutor> childExecutors;
 
     public DefaultChannelPipeline(Channel channel) {
         this.channel = channel;
@@ -37,10 +41,15 @@ public class DefaultChannelPipeline implements ChannelPipeline {
 
     @Override
     public ChannelPipeline addFirst(String name, ChannelHandler handler) {
+        return addFirst(null, name, handler);
+    }
+
+    @Override
+    public ChannelPipeline addFirst(EventExecutorGroup group, String name, ChannelHandler handler) {
         AbstractChannelHandlerContext ctx;
         synchronized (this) {
             // TODO 检查 name 是否重复
-            ctx = newContext(null, name, handler);
+            ctx = newContext(childExecutor(group), name, handler);
             addFirst0(ctx);
             // 通道还未注册至事件循环中, handlerAdded()回调方法需要后置处理
             if (!registered) {
@@ -62,10 +71,15 @@ public class DefaultChannelPipeline implements ChannelPipeline {
 
     @Override
     public ChannelPipeline addLast(String name, ChannelHandler handler) {
+        return addLast(null, name, handler);
+    }
+
+    @Override
+    public ChannelPipeline addLast(EventExecutorGroup group, String name, ChannelHandler handler) {
         AbstractChannelHandlerContext ctx;
         synchronized (this) {
             // TODO 检查 name 是否重复
-            ctx = newContext(null, name, handler);
+            ctx = newContext(childExecutor(group), name, handler);
             addLast0(ctx);
             // 通道还未注册至事件循环中
             if (!registered) {
@@ -166,6 +180,18 @@ public class DefaultChannelPipeline implements ChannelPipeline {
         }
     }
 
+    // 同一管道中使用同一事件执行组的处理器总是绑定到组中的同一个事件执行器上, 以保证事件的顺序
+    private EventExecutor childExecutor(EventExecutorGroup group) {
+        if (group == null) {
+            return null;
+        }
+        Map<EventExecutorGroup, EventExecutor> childExecutors = this.childExecutors;
+        if (childExecutors == null) {
+            childExecutors = this.childExecutors = new IdentityHashMap<>(4);
+        }
+        return childExecutors.computeIfAbsent(group, EventExecutorGroup::next);
+    }
+
     private AbstractChannelHandlerContext newContext(EventExecutor executor, String name, ChannelHandler handler) {
         return new DefaultChannelHandlerContext(this, executor, handler, name);
     }
@@ -279,8 +305,27 @@ public class DefaultChannelPipeline implements ChannelPipeline {
         return this;
     }
 
+    @Override
+    public ChannelPipeline fireChannelRead(Object msg) {
+        AbstractChannelHandlerContext.invokeChannelRead(head, msg);
+        return this;
+    }
+
+    @Override
+    public ChannelPipeline fireChannelReadComplete() {
+        AbstractChannelHandlerContext.invokeChannelReadComplete(head);
+        return this;
+    }
+
+    @Override
+    public ChannelPipeline fireChannelWritabilityChanged() {
+        AbstractChannelHandlerContext.invokeChannelWritabilityChanged(head);
+        return this;
+    }
+
     @Override
     public ChannelPipeline fireExceptionCaught(Throwable cause) {
+        AbstractChannelHandlerContext.invokeExceptionCaught(head, cause);
         return this;
     }
 
@@ -295,6 +340,17 @@ public class DefaultChannelPipeline implements ChannelPipeline {
         return promise;
     }
 
+    @Override
+    public ChannelFuture<?> connect(SocketAddress remoteAddress) {
+        return connect(remoteAddress, newPromise());
+    }
+
+    @Override
+    public ChannelFuture<?> connect(SocketAddress remoteAddress, ChannelFuture<?> promise) {
+        tail.connect(remoteAddress, promise);
+        return promise;
+    }
+
     @Override
     public ChannelFuture<?> deregister() {
         return deregister(newPromise());
@@ -317,11 +373,42 @@ public class DefaultChannelPipeline implements ChannelPipeline {
         return promise;
     }
 
+    @Override
+    public ChannelFuture<?> write(Object msg) {
+        return tail.write(msg);
+    }
+
+    @Override
+    public ChannelFuture<?> write(Object msg, ChannelFuture<?> promise) {
+        return tail.write(msg, promise);
+    }
+
+    @Override
+    public ChannelPipeline flush() {
+        tail.flush();
+        return this;
+    }
+
+    @Override
+    public ChannelFuture<?> writeAndFlush(Object msg) {
+        return tail.writeAndFlush(msg);
+    }
+
+    @Override
+    public ChannelFuture<?> writeAndFlush(Object msg, ChannelFuture<?> promise) {
+        return tail.writeAndFlush(msg, promise);
+    }
+
     @Override
     public ChannelFuture<?> newPromise() {
         return channel.newPromise();
     }
 
+    @Override
+    public ChannelFuture<?> voidPromise() {
+        return channel.voidPromise();
+    }
+
     protected void callHandlerAddedForAllHandlers() {
         if (firstRegistration) {
             firstRegistration = false;
@@ -486,7 +573,8 @@ public class DefaultChannelPipeline implements ChannelPipeline {
         @Override
         public void channelActive(ChannelHandlerContext ctx) throws Exception {
             ctx.fireChannelActive();
-            // TODO auto read in here
+            // 通道激活后自动开始读取
+            channel.unsafe().beginRead();
         }
 
         @Override
@@ -497,8 +585,23 @@ public class DefaultChannelPipeline implements ChannelPipeline {
         }
 
         @Override
-        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            ctx.fireChannelRead(msg);
+        }
 
+        @Override
+        public void channelReadComplete(ChannelHandlerContext ctx) {
+            ctx.fireChannelReadComplete();
+        }
+
+        @Override
+        public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+            ctx.fireChannelWritabilityChanged();
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            ctx.fireExceptionCaught(cause);
         }
 
         @Override
@@ -516,6 +619,11 @@ public class DefaultChannelPipeline implements ChannelPipeline {
             channel.unsafe().bind(localAddress, promise);
         }
 
+        @Override
+        public void connect(ChannelHandlerContext ctx, SocketAddress remoteAddress, ChannelFuture<?> promise) throws Exception {
+            channel.unsafe().connect(remoteAddress, promise);
+        }
+
         @Override
         public void deregister(ChannelHandlerContext ctx, ChannelFuture<?> promise) throws Exception {
             channel.unsafe().deregister(promise);
@@ -525,6 +633,16 @@ public class DefaultChannelPipeline implements ChannelPipeline {
         public void close(ChannelHandlerContext ctx, ChannelFuture<?> promise) throws Exception {
             channel.unsafe().close(promise);
         }
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelFuture<?> promise) {
+            channel.unsafe().write(msg, promise);
+        }
+
+        @Override
+        public void flush(ChannelHandlerContext ctx) {
+            channel.unsafe().flush();
+        }
     }
 
     class TailContext extends AbstractChannelHandlerContext implements ChannelInboundHandler {
@@ -559,8 +677,23 @@ public class DefaultChannelPipeline implements ChannelPipeline {
         }
 
         @Override
-        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            logger.debug("Discarded inbound message {} that reached at the tail of the pipeline", msg);
+        }
 
+        @Override
+        public void channelReadComplete(ChannelHandlerContext ctx) {
+
+        }
+
+        @Override
+        public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            logger.warn("An exceptionCaught() event was fired, and it reached at the tail of the pipeline", cause);
         }
 
         @Override
@@ -0,0 +1,375 @@
+package tiny.netty.channel;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tiny.netty.util.concurrent.BlockingCallDetector;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ChannelFuture默认实现
+ * <p>只保存结果及回调, 不依赖{@link CompletableFuture}: 结果通过CAS设置一次, 回调只有一个时直接保存, 多个时才使用数组.
+ * 没有线程等待、也没有回调时, 完成操作只有一次CAS.</p>
+ * <p>回调及异步后置处理都在通道的事件循环器中执行: 已在事件循环器中时直接执行, 否则提交给事件循环器; 通道尚未注册或事件循环器正在关闭时直接执行</p>
+ *
+ * @author zhaomingming
+ */
+public class DefaultChannelPromise<V> implements ChannelFuture<V> {
+
+    private static final Logger logger = LoggerFactory.getLogger(DefaultChannelPromise.class);
+    // 结果为null时保存的值
+    private static final Object SUCCESS = new Object();
+    private static final VarHandle RESULT;
+
+    static {
+        try {
+            RESULT = MethodHandles.lookup().findVarHandle(DefaultChannelPromise.class, "result", Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Channel channel;
+    // null: 未完成, SUCCESS: 结果为null, CauseHolder: 失败或取消, 其它: 结果
+    private volatile Object result;
+    // 以下字段由this保护
+    // 尚未通知的回调: null, 单个ChannelFutureListener, 或者ChannelFutureListener[]
+    private Object listeners;
+    private int listenerCount;
+    private int waiters;
+    private boolean notifyingListeners;
+
+    public DefaultChannelPromise(Channel channel) {
+        if (channel == null) {
+            throw new IllegalArgumentException("channel is null");
+        }
+        this.channel = channel;
+    }
+
+    @Override
+    public Channel channel() {
+        return channel;
+    }
+
+    @Override
+    public boolean complete(V value) {
+        return setValue(value == null ? SUCCESS : value);
+    }
+
+    @Override
+    public boolean completeExceptionally(Throwable ex) {
+        if (ex == null) {
+            throw new IllegalArgumentException("ex is null");
+        }
+        return setValue(new CauseHolder(ex));
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        return setValue(new CauseHolder(new CancellationException()));
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cause0(result) instanceof CancellationException;
+    }
+
+    @Override
+    public boolean isDone() {
+        return result != null;
+    }
+
+    @Override
+    public boolean isSuccess() {
+        Object result = this.result;
+        return result != null && !(result instanceof CauseHolder);
+    }
+
+    @Override
+    public Throwable cause() {
+        return cause0(result);
+    }
+
+    private static Throwable cause0(Object result) {
+        return result instanceof CauseHolder ? ((CauseHolder) result).cause : null;
+    }
+
+    @Override
+    public boolean isVoid() {
+        return false;
+    }
+
+    @Override
+    public ChannelFuture<V> addListener(ChannelFutureListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("listener is null");
+        }
+        synchronized (this) {
+            if (listeners == null) {
+                listeners = listener;
+            } else if (listeners instanceof ChannelFutureListener) {
+                listeners = new ChannelFutureListener[]{(ChannelFutureListener) listeners, listener, null, null};
+            } else {
+                ChannelFutureListener[] array = (ChannelFutureListener[]) listeners;
+                if (listenerCount == array.length) {
+                    listeners = array = Arrays.copyOf(array, array.length << 1);
+                }
+                array[listenerCount] = listener;
+            }
+            listenerCount++;
+        }
+        if (isDone()) {
+            notifyListeners();
+        }
+        return this;
+    }
+
+    @Override
+    public V get() throws InterruptedException, ExecutionException {
+        Object result = this.result;
+        if (result == null) {
+            BlockingCallDetector.checkDeadlock(channel.eventLoop(), "ChannelFuture.get()");
+            await();
+            result = this.result;
+        }
+        return report(result);
+    }
+
+    @Override
+    public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        Object result = this.result;
+        if (result == null) {
+            BlockingCallDetector.checkDeadlock(channel.eventLoop(), "ChannelFuture.get(timeout)");
+            if (!await(unit.toNanos(timeout))) {
+                throw new TimeoutException();
+            }
+            result = this.result;
+        }
+        return report(result);
+    }
+
+    @Override
+    public CompletableFuture<Void> thenRun(Runnable action) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        addListener(f -> runAfter(f, action, future));
+        return future;
+    }
+
+    @Override
+    public CompletableFuture<Void> thenRunAsync(Runnable action) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        addListener(f -> {
+            EventLoop eventLoop = channel.eventLoop();
+            // 回调通常已在事件循环器中执行, 直接执行action, 不再提交
+            if (eventLoop == null || eventLoop.inEventLoop()) {
+                runAfter(f, action, future);
+            } else {
+                executeOnce(eventLoop, () -> runAfter(f, action, future));
+            }
+        });
+        return future;
+    }
+
+    // 与CompletableFuture.thenRun()一致: 失败时不执行action, 直接以CompletionException完成
+    private static void runAfter(ChannelFuture<?> f, Runnable action, CompletableFuture<Void> future) {
+        if (!f.isSuccess()) {
+            future.completeExceptionally(new CompletionException(f.cause()));
+            return;
+        }
+        try {
+            action.run();
+            future.complete(null);
+        } catch (Throwable cause) {
+            future.completeExceptionally(cause);
+        }
+    }
+
+    private boolean setValue(Object value) {
+        if (!RESULT.compareAndSet(this, null, value)) {
+            return false;
+        }
+        if (checkNotifyWaiters()) {
+            notifyListeners();
+        }
+        return true;
+    }
+
+    // 唤醒等待的线程, 返回是否有待通知的回调
+    private synchronized boolean checkNotifyWaiters() {
+        if (waiters > 0) {
+            notifyAll();
+        }
+        return listeners != null;
+    }
+
+    // 回调在其它线程中执行(如事件循环器正在关闭时)才会走到这里, 提交后可能又在当前线程执行, 保证只执行一次
+    private static void executeOnce(EventLoop eventLoop, Runnable task) {
+        AtomicBoolean claimed = new AtomicBoolean();
+        execute(eventLoop, () -> {
+            if (claimed.compareAndSet(false, true)) {
+                task.run();
+            }
+        });
+    }
+
+    private void notifyListeners() {
+        EventLoop eventLoop = channel.eventLoop();
+        if (eventLoop == null || eventLoop.inEventLoop()) {
+            notifyListenersNow();
+        } else {
+            // 重复通知是安全的, 回调已被取走时直接返回
+            execute(eventLoop, this::notifyListenersNow);
+        }
+    }
+
+    // 事件循环器正在关闭时, 提交的任务可能被拒绝策略静默丢弃或来不及执行, 此时在当前线程执行; task需能安全地重复执行
+    private static void execute(EventLoop eventLoop, Runnable task) {
+        if (!eventLoop.isShuttingDown()) {
+            try {
+                eventLoop.execute(task);
+            } catch (RejectedExecutionException e) {
+                task.run();
+                return;
+            }
+            if (!eventLoop.isShuttingDown()) {
+                return;
+            }
+        }
+        task.run();
+    }
+
+    private void notifyListenersNow() {
+        Object listeners;
+        int listenerCount;
+        synchronized (this) {
+            // 回调中再添加回调时, 由外层循环负责通知, 避免递归
+            if (notifyingListeners || this.listeners == null) {
+                return;
+            }
+            notifyingListeners = true;
+            listeners = this.listeners;
+            listenerCount = this.listenerCount;
+            this.listeners = null;
+            this.listenerCount = 0;
+        }
+        for (; ; ) {
+            if (listeners instanceof ChannelFutureListener) {
+                notifyListener((ChannelFutureListener) listeners);
+            } else {
+                ChannelFutureListener[] array = (ChannelFutureListener[]) listeners;
+                for (int i = 0; i < listenerCount; i++) {
+                    notifyListener(array[i]);
+                }
+            }
+            synchronized (this) {
+                if (this.listeners == null) {
+                    notifyingListeners = false;
+                    return;
+                }
+                listeners = this.listeners;
+                listenerCount = this.listenerCount;
+                this.listeners = null;
+                this.listenerCount = 0;
+            }
+        }
+    }
+
+    private void notifyListener(ChannelFutureListener listener) {
+        try {
+            listener.operationComplete(this);
+        } catch (Throwable cause) {
+            logger.warn("An exception was thrown by " + listener.getClass().getName() + ".operationComplete()", cause);
+        }
+    }
+
+    private void await() throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException(toString());
+        }
+        synchronized (this) {
+            while (!isDone()) {
+                waiters++;
+                try {
+                    wait();
+                } finally {
+                    waiters--;
+                }
+            }
+        }
+    }
+
+    private boolean await(long timeoutNanos) throws InterruptedException {
+        if (isDone()) {
+            return true;
+        }
+        if (timeoutNanos <= 0) {
+            return false;
+        }
+        if (Thread.interrupted()) {
+            throw new InterruptedException(toString());
+        }
+        long deadline = System.nanoTime() + timeoutNanos;
+        synchronized (this) {
+            while (!isDone()) {
+                long waitNanos = deadline - System.nanoTime();
+                if (waitNanos <= 0) {
+                    return false;
+                }
+                waiters++;
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this, waitNanos);
+                } finally {
+                    waiters--;
+                }
+            }
+            return true;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V report(Object result) throws ExecutionException {
+        if (result == SUCCESS) {
+            return null;
+        }
+        if (result instanceof CauseHolder) {
+            Throwable cause = ((CauseHolder) result).cause;
+            if (cause instanceof CancellationException) {
+                throw (CancellationException) cause;
+            }
+            throw new ExecutionException(cause);
+        }
+        return (V) result;
+    }
+
+    @Override
+    public String toString() {
+        Object result = this.result;
+        String state;
+        if (result == null) {
+            state = "incomplete";
+        } else if (result instanceof CauseHolder) {
+            state = "failure: " + ((CauseHolder) result).cause;
+        } else {
+            state = "success: " + (result == SUCCESS ? null : result);
+        }
+        return getClass().getSimpleName() + '@' + Integer.toHexString(hashCode()) + '(' + state + ')';
+    }
+
+    private static final class CauseHolder {
+        final Throwable cause;
+
+        CauseHolder(Throwable cause) {
+            this.cause = cause;
+        }
+    }
+}
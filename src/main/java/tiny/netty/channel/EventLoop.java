@@ -14,6 +14,9 @@ public interface EventLoop extends EventExecutor, EventLoopGroup {
     @Override
     EventLoop next();
 
+    @Override
+    EventLoop next(Object key);
+
     // 异步将通道注册到事件循环器中
     @Override
     ChannelFuture<?> register(Channel channel);
@@ -12,6 +12,9 @@ public interface EventLoopGroup extends EventExecutorGroup {
     @Override
     EventLoop next();
 
+    @Override
+    EventLoop next(Object key);
+
     // 异步将通道注册到事件循环组中
     ChannelFuture<?> register(Channel channel);
 
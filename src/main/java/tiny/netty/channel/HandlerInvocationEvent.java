@@ -0,0 +1,63 @@
+package tiny.netty.channel;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR事件: 通道处理器的一次调用(如channelActive()、bind()), 不包括调用的下一个处理器在其它事件执行器中的执行
+ *
+ * @author zhaomingming
+ */
+@Name("tiny.netty.HandlerInvocation")
+@Label("Handler Invocation")
+@Category({"tiny-netty", "Pipeline"})
+@Description("A ChannelHandler method invoked by the pipeline")
+@StackTrace(false)
+final class HandlerInvocationEvent extends jdk.jfr.Event {
+
+    private static final HandlerInvocationEvent PROBE = new HandlerInvocationEvent();
+
+    @Label("Handler Name")
+    String handlerName;
+
+    @Label("Handler Class")
+    Class<?> handlerClass;
+
+    @Label("Method")
+    String method;
+
+    @Label("Channel")
+    String channel;
+
+    /**
+     * 事件启用时创建并开始计时, 否则返回null
+     */
+    static HandlerInvocationEvent begin(AbstractChannelHandlerContext ctx, String method) {
+        if (!enabled()) {
+            return null;
+        }
+        HandlerInvocationEvent event = new HandlerInvocationEvent();
+        event.handlerName = ctx.name();
+        event.handlerClass = ctx.handler().getClass();
+        event.method = method;
+        event.begin();
+        return event;
+    }
+
+    static boolean enabled() {
+        return PROBE.isEnabled();
+    }
+
+    static void end(HandlerInvocationEvent event, AbstractChannelHandlerContext ctx) {
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.channel = ctx.channel().toString();
+                event.commit();
+            }
+        }
+    }
+}
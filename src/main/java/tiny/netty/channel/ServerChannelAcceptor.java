@@ -0,0 +1,131 @@
+package tiny.netty.channel;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 服务端通道的处理器, 将接受的连接(子通道)注册到子事件循环组
+ * <p>一次读事件中接受的子通道按目标事件循环器分组, 在channelReadComplete()中每个事件循环器只提交一个任务, 在任务中注册这一批子通道,
+ * 而不是每个连接都跨线程提交一次注册任务; 客户端大量重连时可以显著减少任务提交和唤醒的次数</p>
+ *
+ * @author zhaomingming
+ */
+public class ServerChannelAcceptor extends ChannelInboundHandlerAdapter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServerChannelAcceptor.class);
+    private static final String CHILD_HANDLER_NAME = "childHandler";
+
+    private final EventLoopGroup childGroup;
+    private final ChannelHandler childHandler;
+    // 等待注册的子通道, 只在服务端通道的事件循环器中访问
+    private final Map<EventLoop, List<Channel>> pendingChildren = new HashMap<>();
+
+    public ServerChannelAcceptor(EventLoopGroup childGroup, ChannelHandler childHandler) {
+        if (childGroup == null) {
+            throw new IllegalArgumentException("childGroup is null");
+        }
+        if (childHandler == null) {
+            throw new IllegalArgumentException("childHandler is null");
+        }
+        this.childGroup = childGroup;
+        this.childHandler = childHandler;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        final Channel child = (Channel) msg;
+        try {
+            initChild(child);
+        } catch (Throwable cause) {
+            logger.warn("Failed to initialize a child channel: {}", child, cause);
+            child.unsafe().closeForcibly();
+            return;
+        }
+        pendingChildren.computeIfAbsent(childGroup.next(), k -> new ArrayList<>()).add(child);
+    }
+
+    /**
+     * 初始化子通道, 默认添加子通道处理器
+     */
+    protected void initChild(Channel child) throws Exception {
+        child.pipeline().addLast(CHILD_HANDLER_NAME, childHandler);
+    }
+
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) {
+        if (!pendingChildren.isEmpty()) {
+            for (Map.Entry<EventLoop, List<Channel>> entry : pendingChildren.entrySet()) {
+                registerChildren(entry.getKey(), entry.getValue());
+            }
+            pendingChildren.clear();
+        }
+        ctx.fireChannelReadComplete();
+    }
+
+    private void registerChildren(EventLoop eventLoop, List<Channel> children) {
+        if (eventLoop.inEventLoop()) {
+            // 子通道与服务端通道在同一个事件循环器中(如SO_REUSEPORT模式), 无需提交任务
+            registerChildren0(eventLoop, children);
+            return;
+        }
+        // 默认的拒绝策略会静默丢弃任务, 不能依赖异常判断任务是否会执行
+        RegisterChildrenTask task = new RegisterChildrenTask(eventLoop, children);
+        try {
+            eventLoop.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.cancel();
+            return;
+        }
+        // 事件循环器正在关闭, 任务可能已被丢弃或在终止前来不及执行
+        if (eventLoop.isShuttingDown()) {
+            task.cancel();
+        }
+    }
+
+    private static void registerChildren0(EventLoop eventLoop, List<Channel> children) {
+        for (Channel child : children) {
+            // 已在子通道的事件循环器中, 直接注册
+            ChannelFuture<?> promise = child.unsafe().register(eventLoop, child.newPromise());
+            if (!promise.isSuccess()) {
+                logger.warn("Failed to register a child channel: {}", child, promise.cause());
+                child.unsafe().closeForcibly();
+            }
+        }
+    }
+
+    /**
+     * 注册一批子通道的任务, 执行和取消只有一方会成功; 取消时关闭子通道, 避免文件描述符泄漏
+     */
+    private static final class RegisterChildrenTask implements Runnable {
+
+        private final EventLoop eventLoop;
+        private final List<Channel> children;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        RegisterChildrenTask(EventLoop eventLoop, List<Channel> children) {
+            this.eventLoop = eventLoop;
+            this.children = children;
+        }
+
+        @Override
+        public void run() {
+            if (claimed.compareAndSet(false, true)) {
+                registerChildren0(eventLoop, children);
+            }
+        }
+
+        void cancel() {
+            if (claimed.compareAndSet(false, true)) {
+                logger.warn("Failed to register {} child channels, the event loop is shutting down.", children.size());
+                children.forEach(child -> child.unsafe().closeForcibly());
+            }
+        }
+    }
+}
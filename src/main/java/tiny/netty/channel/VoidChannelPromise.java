@@ -0,0 +1,97 @@
+package tiny.netty.channel;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 不关心结果的出站操作使用的占位promise, 每个通道共享一个实例
+ * <p>永远不会完成, 因此不支持添加回调及阻塞等待; 操作失败时通过通道管道的fireExceptionCaught()通知</p>
+ *
+ * @author zhaomingming
+ * @see ChannelOutboundInvoker#voidPromise()
+ */
+final class VoidChannelPromise implements ChannelFuture<Void> {
+
+    private final Channel channel;
+
+    VoidChannelPromise(Channel channel) {
+        this.channel = channel;
+    }
+
+    private static IllegalStateException reject() {
+        return new IllegalStateException("void promise");
+    }
+
+    @Override
+    public Channel channel() {
+        return channel;
+    }
+
+    @Override
+    public boolean complete(Void value) {
+        return false;
+    }
+
+    @Override
+    public boolean completeExceptionally(Throwable ex) {
+        if (channel.isRegistered()) {
+            channel.pipeline().fireExceptionCaught(ex);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isSuccess() {
+        return false;
+    }
+
+    @Override
+    public Throwable cause() {
+        return null;
+    }
+
+    @Override
+    public ChannelFuture<Void> addListener(ChannelFutureListener listener) {
+        throw reject();
+    }
+
+    @Override
+    public boolean isVoid() {
+        return true;
+    }
+
+    @Override
+    public CompletableFuture<Void> thenRun(Runnable action) {
+        throw reject();
+    }
+
+    @Override
+    public CompletableFuture<Void> thenRunAsync(Runnable action) {
+        throw reject();
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        return false;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return false;
+    }
+
+    @Override
+    public boolean isDone() {
+        return false;
+    }
+
+    @Override
+    public Void get() {
+        throw reject();
+    }
+
+    @Override
+    public Void get(long timeout, TimeUnit unit) {
+        throw reject();
+    }
+}
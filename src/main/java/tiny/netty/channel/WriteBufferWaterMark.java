@@ -0,0 +1,57 @@
+package tiny.netty.channel;
+
+/**
+ * 出站缓冲区的高水位和低水位(字节), 见{@link Channel#isWritable()}
+ * <p>待写出的字节数超过高水位后通道不可写, 降到低水位以下后恢复可写.
+ * 两者作为一个值设置, 创建时校验, 不受设置顺序的影响</p>
+ *
+ * @author zhaomingming
+ */
+public final class WriteBufferWaterMark {
+
+    public static final WriteBufferWaterMark DEFAULT = new WriteBufferWaterMark(32 * 1024, 64 * 1024);
+
+    private final int low;
+    private final int high;
+
+    public WriteBufferWaterMark(int low, int high) {
+        if (low < 0) {
+            throw new IllegalArgumentException("low: " + low + " (expected >= 0)");
+        }
+        if (high < low) {
+            throw new IllegalArgumentException("high: " + high + " (expected >= low (" + low + "))");
+        }
+        this.low = low;
+        this.high = high;
+    }
+
+    public int low() {
+        return low;
+    }
+
+    public int high() {
+        return high;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof WriteBufferWaterMark)) {
+            return false;
+        }
+        WriteBufferWaterMark that = (WriteBufferWaterMark) o;
+        return low == that.low && high == that.high;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * low + high;
+    }
+
+    @Override
+    public String toString() {
+        return "WriteBufferWaterMark(low: " + low + ", high: " + high + ")";
+    }
+}
@@ -1,9 +1,17 @@
 package tiny.netty.channel.nio;
 
 import tiny.netty.channel.AbstractChannel;
+import tiny.netty.channel.ChannelFuture;
 
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ConnectionPendingException;
+import java.nio.channels.NetworkChannel;
 import java.nio.channels.SelectableChannel;
 import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
 
 /**
  * Nio通道抽象实现
@@ -13,10 +21,34 @@ import java.nio.channels.SelectionKey;
 public abstract class AbstractNioChannel extends AbstractChannel implements NioChannel {
 
     private final SelectableChannel ch;
-    private SelectionKey selectionKey;
+    // 读事件: 字节通道为OP_READ, 服务端通道为OP_ACCEPT
+    private final int readInterestOp;
+    private volatile SelectionKey selectionKey;
+    // 未完成的连接, 只在事件循环器中访问
+    private ChannelFuture<?> connectPromise;
 
-    protected AbstractNioChannel(SelectableChannel ch) {
+    protected AbstractNioChannel(SelectableChannel ch, int readInterestOp) {
         this.ch = ch;
+        this.readInterestOp = readInterestOp;
+        try {
+            ch.configureBlocking(false);
+        } catch (IOException e) {
+            try {
+                ch.close();
+            } catch (IOException ignore) {
+            }
+            throw new IllegalStateException("Failed to enter non-blocking mode", e);
+        }
+    }
+
+    @Override
+    public SocketAddress localAddress() {
+        try {
+            return ((NetworkChannel) ch).getLocalAddress();
+        } catch (IOException e) {
+            // 通道已关闭
+            return null;
+        }
     }
 
     @Override
@@ -37,20 +69,79 @@ public abstract class AbstractNioChannel extends AbstractChannel implements NioC
     @Override
     protected void doRegister() throws Exception {
         logger.debug("(nio) registers the channel to selector");
-        // TODO 不要在这里配置
-        ch.configureBlocking(false);
-        selectionKey = ch.register(eventLoop().selector(), 0, this);
+        final Selector selector = eventLoop().selector();
+        try {
+            selectionKey = ch.register(selector, 0, this);
+        } catch (CancelledKeyException e) {
+            // 注销后立即重新注册到同一个选择器, 已取消的选择键要等到下次select时才会移除, 这里主动清除后重试
+            selector.selectNow();
+            selectionKey = ch.register(selector, 0, this);
+        }
+        eventLoop().channelRegistered();
     }
 
     @Override
     protected void doDeregister() {
         logger.debug("(nio) cancel the registration of this channel with its selector");
         selectionKey.cancel();
+        eventLoop().channelDeregistered();
+    }
+
+    @Override
+    protected void doBeginRead() {
+        final SelectionKey selectionKey = this.selectionKey;
+        if (readInterestOp == 0 || !selectionKey.isValid()) {
+            return;
+        }
+        final int interestOps = selectionKey.interestOps();
+        if ((interestOps & readInterestOp) == 0) {
+            selectionKey.interestOps(interestOps | readInterestOp);
+        }
+    }
+
+    protected final SelectionKey selectionKey() {
+        return selectionKey;
+    }
+
+    /**
+     * 发起连接, 立即连接成功时返回true, 否则关注连接事件, 由{@link #doFinishConnect()}完成连接
+     */
+    protected abstract boolean doConnect(SocketAddress remoteAddress) throws Exception;
+
+    protected abstract void doFinishConnect() throws Exception;
+
+    // 底层通道暂时不可写(发送缓冲区已满), 关注写事件, 可写后继续写
+    protected final void setOpWrite() {
+        final SelectionKey selectionKey = this.selectionKey;
+        if (!selectionKey.isValid()) {
+            return;
+        }
+        final int interestOps = selectionKey.interestOps();
+        if ((interestOps & SelectionKey.OP_WRITE) == 0) {
+            selectionKey.interestOps(interestOps | SelectionKey.OP_WRITE);
+        }
+    }
+
+    protected final void clearOpWrite() {
+        final SelectionKey selectionKey = this.selectionKey;
+        if (!selectionKey.isValid()) {
+            return;
+        }
+        final int interestOps = selectionKey.interestOps();
+        if ((interestOps & SelectionKey.OP_WRITE) != 0) {
+            selectionKey.interestOps(interestOps & ~SelectionKey.OP_WRITE);
+        }
     }
 
     @Override
     protected void doClose() throws Exception {
         logger.debug("(nio) close the channel");
+        // 连接未完成时关闭, 连接失败
+        final ChannelFuture<?> promise = connectPromise;
+        if (promise != null) {
+            connectPromise = null;
+            promise.completeExceptionally(new ClosedChannelException());
+        }
         javaChannel().close();
     }
 
@@ -61,5 +152,79 @@ public abstract class AbstractNioChannel extends AbstractChannel implements NioC
 
     abstract class AbstractNioUnsafe extends AbstractUnsafe implements NioUnsafe {
 
+        @Override
+        public void connect(SocketAddress remoteAddress, ChannelFuture<?> promise) {
+            assert eventLoop().inEventLoop();
+            if (!isOpen()) {
+                promise.completeExceptionally(new ClosedChannelException());
+                return;
+            }
+            if (connectPromise != null) {
+                promise.completeExceptionally(new ConnectionPendingException());
+                return;
+            }
+            try {
+                boolean wasActive = isActive();
+                if (doConnect(remoteAddress)) {
+                    fulfillConnectPromise(promise, wasActive);
+                    return;
+                }
+                // 连接超时由调用者处理(使promise失败并关闭通道), 见Bootstrap
+                connectPromise = promise;
+            } catch (Throwable cause) {
+                fulfillConnectPromise(promise, cause);
+            }
+        }
+
+        @Override
+        public final void finishConnect() {
+            final ChannelFuture<?> promise = connectPromise;
+            if (promise == null) {
+                return;
+            }
+            connectPromise = null;
+            try {
+                boolean wasActive = isActive();
+                doFinishConnect();
+                fulfillConnectPromise(promise, wasActive);
+            } catch (Throwable cause) {
+                fulfillConnectPromise(promise, cause);
+            }
+        }
+
+        private void fulfillConnectPromise(ChannelFuture<?> promise, boolean wasActive) {
+            boolean promiseSet = promise.complete(null);
+            if (!wasActive && isActive()) {
+                pipeline().fireChannelActive();
+            }
+            // promise已失败(如连接超时), 关闭通道; voidPromise总是设置失败, 不算在内
+            if (!promiseSet && !promise.isVoid()) {
+                close(voidPromise());
+            }
+        }
+
+        private void fulfillConnectPromise(ChannelFuture<?> promise, Throwable cause) {
+            promise.completeExceptionally(cause);
+            // 连接失败时JDK通道可能已关闭(如finishConnect()失败), 此时完成关闭流程; 仍打开的通道由调用者决定是否关闭
+            closeIfClosed();
+        }
+
+        @Override
+        public final void forceFlush() {
+            super.flush0();
+        }
+
+        @Override
+        protected final void flush0() {
+            // 已在等待写事件时不必尝试, 可写后由forceFlush()继续
+            if (!isFlushPending()) {
+                super.flush0();
+            }
+        }
+
+        private boolean isFlushPending() {
+            final SelectionKey selectionKey = AbstractNioChannel.this.selectionKey;
+            return selectionKey.isValid() && (selectionKey.interestOps() & SelectionKey.OP_WRITE) != 0;
+        }
     }
 }
@@ -0,0 +1,37 @@
+package tiny.netty.channel.nio;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR事件: 事件循环器的一次循环, 持续时间为select()返回后处理I/O事件及执行任务的时间, 不包括阻塞在select()上的时间
+ *
+ * @author zhaomingming
+ */
+@Name("tiny.netty.EventLoopIteration")
+@Label("Event Loop Iteration")
+@Category({"tiny-netty", "Event Loop"})
+@Description("One iteration of a NIO event loop: processing selected keys and running tasks")
+@StackTrace(false)
+final class EventLoopIterationEvent extends jdk.jfr.Event {
+
+    private static final EventLoopIterationEvent PROBE = new EventLoopIterationEvent();
+
+    @Label("Select Time")
+    @Timespan
+    long selectTime;
+
+    @Label("Selected Keys")
+    int selectedKeys;
+
+    @Label("Tasks")
+    long tasks;
+
+    static boolean enabled() {
+        return PROBE.isEnabled();
+    }
+}
@@ -20,5 +20,14 @@ public interface NioChannel extends Channel {
     NioUnsafe unsafe();
 
     interface NioUnsafe extends Unsafe {
+
+        // 处理读事件(字节通道读取数据, 服务端通道接受连接), 由事件循环器调用
+        void read();
+
+        // 处理连接事件: 完成连接
+        void finishConnect();
+
+        // 处理写事件: 底层通道重新可写, 继续写出出站缓冲区中的消息
+        void forceFlush();
     }
 }
@@ -0,0 +1,61 @@
+package tiny.netty.channel.nio;
+
+import tiny.netty.channel.Channel;
+import tiny.netty.channel.ChannelOption;
+import tiny.netty.channel.DefaultChannelConfig;
+
+import java.io.IOException;
+import java.net.SocketOption;
+import java.nio.channels.NetworkChannel;
+
+/**
+ * Nio通道配置, 套接字选项直接设置到底层通道上
+ *
+ * @author zhaomingming
+ */
+public class NioChannelConfig extends DefaultChannelConfig {
+
+    private final NetworkChannel javaChannel;
+
+    public NioChannelConfig(Channel channel, NetworkChannel javaChannel) {
+        super(channel);
+        this.javaChannel = javaChannel;
+    }
+
+    @Override
+    public <T> boolean setOption(ChannelOption<T> option, T value) {
+        final SocketOption<T> socketOption = socketOption(option);
+        if (socketOption == null) {
+            return super.setOption(option, value);
+        }
+        option.validate(value);
+        try {
+            javaChannel.setOption(socketOption, value);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to set the option: " + option + ", value: " + value, e);
+        }
+        return true;
+    }
+
+    @Override
+    public <T> T getOption(ChannelOption<T> option) {
+        final SocketOption<T> socketOption = socketOption(option);
+        if (socketOption == null) {
+            return super.getOption(option);
+        }
+        try {
+            return javaChannel.getOption(socketOption);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to get the option: " + option, e);
+        }
+    }
+
+    // 底层通道支持的套接字选项, 不支持时返回null
+    private <T> SocketOption<T> socketOption(ChannelOption<T> option) {
+        if (option == null) {
+            throw new IllegalArgumentException("option is null");
+        }
+        final SocketOption<T> socketOption = option.socketOption();
+        return socketOption != null && javaChannel.supportedOptions().contains(socketOption) ? socketOption : null;
+    }
+}
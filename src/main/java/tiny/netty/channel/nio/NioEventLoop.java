@@ -3,16 +3,25 @@ package tiny.netty.channel.nio;
 import tiny.netty.channel.AbstractEventLoop;
 import tiny.netty.channel.ChannelFuture;
 import tiny.netty.util.concurrent.EventExecutorGroup;
+import tiny.netty.util.concurrent.EventExecutorMetrics;
+import tiny.netty.util.concurrent.RejectedExecutionHandler;
+import tiny.netty.util.concurrent.RejectedExecutionHandlers;
+import tiny.netty.util.concurrent.TaskQueueFactory;
 
 import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.spi.SelectorProvider;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Set;
 import java.util.concurrent.Executor;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
 
 /**
  * Nio事件循环器
@@ -21,11 +30,40 @@ import java.util.concurrent.atomic.AtomicBoolean;
  */
 public class NioEventLoop extends AbstractEventLoop {
 
+    private static final int DEFAULT_IO_RATIO = 50;
+    // 事件循环器未阻塞在select()上
+    private static final long AWAKE = -1;
+    // 阻塞在select()上, 且没有调度任务, 只能被唤醒
+    private static final long NONE = Long.MAX_VALUE;
+
+    static {
+        // 提前初始化JFR事件类, 见SingleThreadEventExecutor
+        EventLoopIterationEvent.enabled();
+    }
+
     private final Selector selector;
-    private final AtomicBoolean wakeup = new AtomicBoolean(false);
+    // AWAKE, NONE 或 阻塞在select()上时最迟醒来的时间(调度任务的截止时间)
+    private final AtomicLong nextWakeupNanos = new AtomicLong(AWAKE);
+    private final LongAdder wakeupsIssued = new LongAdder();
+    private final LongAdder wakeupsElided = new LongAdder();
+    private volatile int ioRatio = DEFAULT_IO_RATIO;
+    private volatile SelectStrategy selectStrategy = SelectStrategies.defaultStrategy();
+    private final BooleanSupplier hasTaskSupplier = this::hasTask;
+    // 只在事件循环器线程中修改
+    private volatile int registeredChannels;
 
     public NioEventLoop(EventExecutorGroup parent, Executor executor, SelectorProvider selectorProvider) {
-        super(parent, executor);
+        this(parent, executor, selectorProvider, DEFAULT_MAX_PENDING_TASKS, TaskQueueFactory.MPSC);
+    }
+
+    public NioEventLoop(EventExecutorGroup parent, Executor executor, SelectorProvider selectorProvider,
+                        int maxPendingTasks, TaskQueueFactory taskQueueFactory) {
+        this(parent, executor, selectorProvider, maxPendingTasks, taskQueueFactory, RejectedExecutionHandlers.discard());
+    }
+
+    public NioEventLoop(EventExecutorGroup parent, Executor executor, SelectorProvider selectorProvider, int maxPendingTasks,
+                        TaskQueueFactory taskQueueFactory, RejectedExecutionHandler rejectedExecutionHandler) {
+        super(parent, executor, maxPendingTasks, taskQueueFactory, rejectedExecutionHandler);
         try {
             selector = selectorProvider.openSelector();
         } catch (IOException e) {
@@ -42,34 +80,116 @@ public class NioEventLoop extends AbstractEventLoop {
         return selector;
     }
 
+    @Override
+    public int registeredChannels() {
+        return registeredChannels;
+    }
+
+    void channelRegistered() {
+        assert inEventLoop();
+        registeredChannels++;
+    }
+
+    void channelDeregistered() {
+        assert inEventLoop();
+        registeredChannels--;
+    }
+
+    public int getIoRatio() {
+        return ioRatio;
+    }
+
+    /**
+     * 设置一次循环中处理I/O事件与执行任务的时间比例, 默认为50, 即二者耗时大致相同.
+     * 值越大, 留给任务的时间越少; 值为100时, 每次循环都会执行完所有任务
+     */
+    public void setIoRatio(int ioRatio) {
+        if (ioRatio <= 0 || ioRatio > 100) {
+            throw new IllegalArgumentException("ioRatio: " + ioRatio + " (expected: 0 < ioRatio <= 100)");
+        }
+        this.ioRatio = ioRatio;
+    }
+
+    public SelectStrategy getSelectStrategy() {
+        return selectStrategy;
+    }
+
+    /**
+     * 设置选择策略, 默认为{@link SelectStrategies#defaultStrategy()}
+     */
+    public void setSelectStrategy(SelectStrategy selectStrategy) {
+        if (selectStrategy == null) {
+            throw new IllegalArgumentException("selectStrategy is null");
+        }
+        this.selectStrategy = selectStrategy;
+    }
+
+    /**
+     * 其它线程提交任务时实际调用selector.wakeup()的次数
+     */
+    @Override
+    public long wakeupsIssued() {
+        return wakeupsIssued.sum();
+    }
+
+    /**
+     * 其它线程提交任务时, 因事件循环器未阻塞在select()上而省去的selector.wakeup()次数
+     */
+    @Override
+    public long wakeupsElided() {
+        return wakeupsElided.sum();
+    }
+
     @Override
     protected void run() {
         // selector.wakeup() 使当前阻塞线程的selector.select()操作立即返回 如果没有阻塞的选择操作那么下次select()方法会立即返回
         // selector.selectNow() 会清除掉wakeup()方法的影响
         for (; ; ) {
+            final EventExecutorMetrics metrics = metricsRecorder();
+            final EventLoopIterationEvent event = EventLoopIterationEvent.enabled() ? new EventLoopIterationEvent() : null;
+            final long selectStartTime = metrics != null || event != null ? System.nanoTime() : 0;
+            int selectedKeys = 0;
             try {
-                // TODO netty 这一段代码是真的难看懂.....
-                // 以下根据个人理解做了简化, 可能有问题但影响应该不大
-                if (hasTask()) {
-                    selector.selectNow(this::processSelectedKey);
-                } else {
-                    // TODO 调度任务
-                    // 1. 如果异步 select.wakeup()发生在这里 ok
-                    wakeup.set(false);
-                    // 2. 如果异步 select.wakeup()发生在这里, 可能在下次select()时, 不会立即返回
-                    // 因此需要在选择后再进行一次判断, 如果是true, 调用selector.wakeup()方法
-                    selector.select(this::processSelectedKey, 1000);
-                    // 3. 如果异步 select.wakeup()发生在这里, 应该会多一次selector.wakeup()操作
-                }
-                // TODO 为什么selectNow之后也要恢复wakeup状态 这里不是很懂
-                if (wakeup.get()) {
-                    selector.wakeup();
-                }
-                // 4. 如果异步 select.wakeup()发生在这里, ok
+                selectedKeys = select();
             } catch (Throwable cause) {
                 logger.warn("Raised an exception in select", cause);
-            } finally {
-                runAllTasks();
+            }
+            // select()可能阻塞了较长时间, 处理I/O事件前更新缓存时间
+            final long ioStartTime = selectedKeys > 0 || metrics != null || event != null ? updateCachedNanoTime() : 0;
+            if (metrics != null) {
+                metrics.recordSelect(ioStartTime - selectStartTime);
+            }
+            if (event != null) {
+                event.begin();
+            }
+
+            final int ioRatio = this.ioRatio;
+            if (ioRatio == 100) {
+                try {
+                    processSelectedKeys(selectedKeys);
+                } finally {
+                    if (metrics != null && selectedKeys > 0) {
+                        metrics.recordIoTime(System.nanoTime() - ioStartTime);
+                    }
+                    runAllTasks();
+                }
+            } else if (selectedKeys > 0) {
+                try {
+                    processSelectedKeys(selectedKeys);
+                } finally {
+                    // 按照I/O耗时及ioRatio给任务分配时间, 避免大量任务拖慢I/O事件的处理
+                    final long ioTime = System.nanoTime() - ioStartTime;
+                    if (metrics != null) {
+                        metrics.recordIoTime(ioTime);
+                    }
+                    runAllTasks(ioTime * (100 - ioRatio) / ioRatio);
+                }
+            } else {
+                // 没有I/O事件, 执行最少量的任务后尽快回到select()
+                runAllTasks(0);
+            }
+            if (event != null) {
+                commitIterationEvent(event, ioStartTime - selectStartTime, selectedKeys);
             }
             if (isShuttingDown()) {
                 if (confirmShutdown()) {
@@ -80,8 +200,90 @@ public class NioEventLoop extends AbstractEventLoop {
         }
     }
 
+    private void commitIterationEvent(EventLoopIterationEvent event, long selectTime, int selectedKeys) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.selectTime = selectTime;
+            event.selectedKeys = selectedKeys;
+            event.tasks = lastRunTasks();
+            event.commit();
+        }
+    }
+
+    private int select() throws IOException {
+        final SelectStrategy selectStrategy = this.selectStrategy;
+        // -1表示不阻塞(selectNow), 0表示一直阻塞, 否则为阻塞的毫秒数
+        long timeoutMillis = -1;
+        if (!hasTask() && !isShuttingDown()) {
+            long delayNanos = nextScheduledTaskDelayNanos();
+            if (selectStrategy.mayBlock()) {
+                // 先发布即将阻塞的状态再检查任务和关闭状态, 保证检查后提交的任务或关闭请求一定会唤醒select()
+                nextWakeupNanos.set(delayNanos < 0 ? NONE : nanoTime() + delayNanos);
+            }
+            if (!hasTask() && !isShuttingDown()) {
+                timeoutMillis = timeoutMillis(delayNanos);
+            }
+        }
+        try {
+            return selectStrategy.select(selector, hasTaskSupplier, timeoutMillis);
+        } finally {
+            // 只有事件循环器线程会将状态改为阻塞, 无需CAS
+            nextWakeupNanos.lazySet(AWAKE);
+        }
+    }
+
+    private static long timeoutMillis(long delayNanos) {
+        // 超时时间由最近的调度任务决定, 没有调度任务时一直阻塞直至被唤醒
+        if (delayNanos < 0) {
+            return 0;
+        }
+        // 向上取整, 避免调度任务未到期时提前醒来空转
+        long timeoutMillis = TimeUnit.NANOSECONDS.toMillis(Math.min(delayNanos, Long.MAX_VALUE - 999_999) + 999_999);
+        return timeoutMillis == 0 ? -1 : timeoutMillis;
+    }
+
+    private void processSelectedKeys(int selectedKeys) {
+        if (selectedKeys == 0) {
+            return;
+        }
+        Iterator<SelectionKey> i = selector.selectedKeys().iterator();
+        while (i.hasNext()) {
+            SelectionKey key = i.next();
+            i.remove();
+            try {
+                processSelectedKey(key);
+            } catch (Throwable cause) {
+                logger.warn("Raised an exception while processing a selected key", cause);
+            }
+        }
+    }
+
     private void processSelectedKey(SelectionKey key) {
-        // TODO 处理选择的Key
+        final AbstractNioChannel ch = (AbstractNioChannel) key.attachment();
+        final NioChannel.NioUnsafe unsafe = ch.unsafe();
+        if (!key.isValid()) {
+            unsafe.close(ch.voidPromise());
+            return;
+        }
+        try {
+            final int readyOps = key.readyOps();
+            // 连接事件需要先处理, 连接完成前读写都会失败
+            if ((readyOps & SelectionKey.OP_CONNECT) != 0) {
+                // 不再关注连接事件, 否则select()会一直立即返回
+                key.interestOps(key.interestOps() & ~SelectionKey.OP_CONNECT);
+                unsafe.finishConnect();
+            }
+            // 先处理写事件, 尽快写出以释放出站缓冲区
+            if ((readyOps & SelectionKey.OP_WRITE) != 0) {
+                unsafe.forceFlush();
+            }
+            // readyOps为0时也尝试读取, 避免JDK的空轮询问题
+            if ((readyOps & (SelectionKey.OP_READ | SelectionKey.OP_ACCEPT)) != 0 || readyOps == 0) {
+                unsafe.read();
+            }
+        } catch (CancelledKeyException ignore) {
+            unsafe.close(ch.voidPromise());
+        }
     }
 
     private void closeAll() {
@@ -91,16 +293,39 @@ public class NioEventLoop extends AbstractEventLoop {
             key.cancel();
             channels.add((AbstractNioChannel) key.attachment());
         }
-        channels.forEach(channel -> channel.unsafe().close(channel.newPromise()));
+        channels.forEach(channel -> channel.unsafe().close(channel.voidPromise()));
+    }
+
+    @Override
+    protected boolean isAwaitingTasks() {
+        return nextWakeupNanos.get() != AWAKE;
     }
 
     @Override
     protected void wakeup(boolean inEventLoop) {
-        if (!inEventLoop && wakeup.compareAndSet(false, true)) {
+        if (inEventLoop) {
+            return;
+        }
+        // 先读后写, 事件循环器未阻塞时不必争抢缓存行; 多个线程同时唤醒时只有一个会调用selector.wakeup()
+        if (nextWakeupNanos.get() != AWAKE && nextWakeupNanos.getAndSet(AWAKE) != AWAKE) {
+            wakeupsIssued.increment();
             selector.wakeup();
+        } else {
+            wakeupsElided.increment();
         }
     }
 
+    @Override
+    protected boolean beforeScheduledTaskSubmitted(long deadlineNanos) {
+        // 事件循环器会在deadlineNanos之前醒来(包括未阻塞的情况), 无需唤醒
+        return deadlineNanos < nextWakeupNanos.get();
+    }
+
+    @Override
+    protected boolean afterScheduledTaskSubmitted(long deadlineNanos) {
+        return deadlineNanos < nextWakeupNanos.get();
+    }
+
     @Override
     protected void cleanup() {
         try {
@@ -2,10 +2,18 @@ package tiny.netty.channel.nio;
 
 import tiny.netty.channel.AbstractEventLoopGroup;
 import tiny.netty.channel.EventLoopGroup;
+import tiny.netty.util.concurrent.AffinityThreadFactory;
 import tiny.netty.util.concurrent.DefaultThreadFactory;
+import tiny.netty.util.concurrent.EventExecutor;
+import tiny.netty.util.concurrent.EventExecutorChooserFactory;
+import tiny.netty.util.concurrent.LeastLoadedEventExecutorChooserFactory;
+import tiny.netty.util.concurrent.RejectedExecutionHandler;
+import tiny.netty.util.concurrent.RejectedExecutionHandlers;
+import tiny.netty.util.concurrent.TaskQueueFactory;
 
 import java.nio.channels.spi.SelectorProvider;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
 
 /**
  * Nio事件循环组
@@ -22,8 +30,67 @@ public class NioEventLoopGroup extends AbstractEventLoopGroup implements EventLo
         super(nThreads, new DefaultThreadFactory("nioEventLoop"), SelectorProvider.provider());
     }
 
+    /**
+     * @param threadFactory 事件循环器线程工厂, 如绑定CPU的{@link AffinityThreadFactory}
+     */
+    public NioEventLoopGroup(int nThreads, ThreadFactory threadFactory) {
+        super(nThreads, threadFactory, SelectorProvider.provider());
+    }
+
+    /**
+     * @param chooserFactory 通道注册时选择事件循环器的策略, 如{@link LeastLoadedEventExecutorChooserFactory}
+     */
+    public NioEventLoopGroup(int nThreads, EventExecutorChooserFactory chooserFactory) {
+        super(nThreads, new DefaultThreadFactory("nioEventLoop"), chooserFactory, SelectorProvider.provider());
+    }
+
+    /**
+     * @param maxPendingTasks  每个事件循环器任务队列的容量
+     * @param taskQueueFactory 任务队列的实现, 如{@link TaskQueueFactory#MPSC}
+     */
+    public NioEventLoopGroup(int nThreads, int maxPendingTasks, TaskQueueFactory taskQueueFactory) {
+        this(nThreads, maxPendingTasks, taskQueueFactory, RejectedExecutionHandlers.discard());
+    }
+
+    /**
+     * @param maxPendingTasks          每个事件循环器任务队列的容量
+     * @param taskQueueFactory         任务队列的实现, 如{@link TaskQueueFactory#MPSC}
+     * @param rejectedExecutionHandler 任务队列已满或事件循环器关闭时的拒绝策略, 见{@link RejectedExecutionHandlers}
+     */
+    public NioEventLoopGroup(int nThreads, int maxPendingTasks, TaskQueueFactory taskQueueFactory,
+                             RejectedExecutionHandler rejectedExecutionHandler) {
+        super(nThreads, new DefaultThreadFactory("nioEventLoop"), SelectorProvider.provider(),
+                maxPendingTasks, taskQueueFactory, rejectedExecutionHandler);
+    }
+
+    /**
+     * 设置所有事件循环器的ioRatio
+     *
+     * @see NioEventLoop#setIoRatio(int)
+     */
+    public void setIoRatio(int ioRatio) {
+        for (EventExecutor child : this) {
+            ((NioEventLoop) child).setIoRatio(ioRatio);
+        }
+    }
+
+    /**
+     * 设置所有事件循环器的选择策略
+     *
+     * @see NioEventLoop#setSelectStrategy(SelectStrategy)
+     */
+    public void setSelectStrategy(SelectStrategy selectStrategy) {
+        for (EventExecutor child : this) {
+            ((NioEventLoop) child).setSelectStrategy(selectStrategy);
+        }
+    }
+
     @Override
     protected NioEventLoop newChild(Executor executor, Object... args) {
-        return new NioEventLoop(this, executor, (SelectorProvider) args[0]);
+        if (args.length == 1) {
+            return new NioEventLoop(this, executor, (SelectorProvider) args[0]);
+        }
+        return new NioEventLoop(this, executor, (SelectorProvider) args[0], (int) args[1],
+                (TaskQueueFactory) args[2], (RejectedExecutionHandler) args[3]);
     }
 }
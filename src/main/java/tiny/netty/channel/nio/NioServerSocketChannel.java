@@ -1,9 +1,17 @@
 package tiny.netty.channel.nio;
 
+import tiny.netty.channel.ChannelFuture;
+import tiny.netty.channel.ChannelOutboundBuffer;
+import tiny.netty.channel.ChannelPipeline;
+
 import java.io.IOException;
 import java.net.SocketAddress;
+import java.nio.channels.SelectionKey;
 import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 import java.nio.channels.spi.SelectorProvider;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * NioServerSocketChannel 服务端Socket通道
@@ -12,8 +20,11 @@ import java.nio.channels.spi.SelectorProvider;
  */
 public class NioServerSocketChannel extends AbstractNioChannel {
 
+    private final NioServerSocketChannelConfig config;
+
     public NioServerSocketChannel() {
-        super(openServerSocketChannel());
+        super(openServerSocketChannel(), SelectionKey.OP_ACCEPT);
+        config = new NioServerSocketChannelConfig(this, javaChannel());
     }
 
     private static ServerSocketChannel openServerSocketChannel() {
@@ -29,6 +40,11 @@ public class NioServerSocketChannel extends AbstractNioChannel {
         return (ServerSocketChannel) super.javaChannel();
     }
 
+    @Override
+    public NioServerSocketChannelConfig config() {
+        return config;
+    }
+
     @Override
     protected Unsafe newUnsafe() {
         return new NioMessageUnsafe();
@@ -37,8 +53,7 @@ public class NioServerSocketChannel extends AbstractNioChannel {
     @Override
     protected void doBind(SocketAddress localAddress) throws Exception {
         logger.debug("(nio) bind the socketAddress: {}", localAddress);
-        // TODO 配置backlog
-        javaChannel().bind(localAddress);
+        javaChannel().bind(localAddress, config.getBacklog());
     }
 
     @Override
@@ -46,6 +61,65 @@ public class NioServerSocketChannel extends AbstractNioChannel {
         return isOpen() && javaChannel().socket().isBound();
     }
 
+    // 连接在NioMessageUnsafe.connect()中已被拒绝, 不会调用到这里
+    @Override
+    protected boolean doConnect(SocketAddress remoteAddress) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void doFinishConnect() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void doWrite(ChannelOutboundBuffer in) {
+        throw new UnsupportedOperationException();
+    }
+
     private class NioMessageUnsafe extends AbstractNioUnsafe implements NioUnsafe {
+
+        // 一次读事件中接受的连接, 只在事件循环器线程中使用
+        private final List<Object> readBuf = new ArrayList<>();
+
+        @Override
+        public void connect(SocketAddress remoteAddress, ChannelFuture<?> promise) {
+            // 服务端通道不支持连接, 直接失败, 不影响正在监听的通道
+            promise.completeExceptionally(new UnsupportedOperationException("connect"));
+        }
+
+        /**
+         * 一次读事件最多接受{@link NioServerSocketChannelConfig#getMaxMessagesPerRead()}个连接, 每个连接回调一次channelRead(), 最后回调一次channelReadComplete(),
+         * 处理器可以在channelReadComplete()中把这批连接一起交给子事件循环器
+         */
+        @Override
+        public void read() {
+            final ChannelPipeline pipeline = pipeline();
+            final int maxMessagesPerRead = config.getMaxMessagesPerRead();
+            Throwable exception = null;
+            try {
+                for (int i = 0; i < maxMessagesPerRead; i++) {
+                    SocketChannel ch = javaChannel().accept();
+                    if (ch == null) {
+                        break;
+                    }
+                    readBuf.add(new NioSocketChannel(ch));
+                }
+            } catch (Throwable cause) {
+                exception = cause;
+            }
+            try {
+                for (Object child : readBuf) {
+                    pipeline.fireChannelRead(child);
+                }
+            } finally {
+                readBuf.clear();
+            }
+            pipeline.fireChannelReadComplete();
+            if (exception != null) {
+                // 接受连接失败(如文件描述符耗尽)不关闭服务端通道, 下一次读事件继续接受
+                pipeline.fireExceptionCaught(exception);
+            }
+        }
     }
 }
@@ -0,0 +1,70 @@
+package tiny.netty.channel.nio;
+
+import tiny.netty.channel.Channel;
+import tiny.netty.channel.ChannelOption;
+
+import java.io.BufferedReader;
+import java.nio.channels.NetworkChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Nio服务端通道配置, 增加SO_BACKLOG
+ *
+ * @author zhaomingming
+ */
+public class NioServerSocketChannelConfig extends NioChannelConfig {
+
+    // JDK默认的backlog只有50, 连接突增时队列很快就满了, 新的连接请求被丢弃, 客户端要等待SYN重传(1秒起)
+    private static final int DEFAULT_BACKLOG = somaxconn();
+
+    private volatile int backlog = DEFAULT_BACKLOG;
+
+    public NioServerSocketChannelConfig(Channel channel, NetworkChannel javaChannel) {
+        super(channel, javaChannel);
+    }
+
+    // 系统允许的最大backlog, 读取失败时使用128
+    private static int somaxconn() {
+        // proc文件报告的大小为0, Files.readString()可能读取不完整, 按行读取
+        try (BufferedReader reader = Files.newBufferedReader(Path.of("/proc/sys/net/core/somaxconn"))) {
+            return Integer.parseInt(reader.readLine().trim());
+        } catch (Exception e) {
+            return 128;
+        }
+    }
+
+    @Override
+    public <T> boolean setOption(ChannelOption<T> option, T value) {
+        if (option == ChannelOption.SO_BACKLOG) {
+            option.validate(value);
+            setBacklog((Integer) value);
+            return true;
+        }
+        return super.setOption(option, value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getOption(ChannelOption<T> option) {
+        if (option == ChannelOption.SO_BACKLOG) {
+            return (T) Integer.valueOf(getBacklog());
+        }
+        return super.getOption(option);
+    }
+
+    public int getBacklog() {
+        return backlog;
+    }
+
+    /**
+     * 设置backlog, 绑定时生效
+     */
+    public NioServerSocketChannelConfig setBacklog(int backlog) {
+        if (backlog <= 0) {
+            throw new IllegalArgumentException("backlog: " + backlog + " (expected > 0)");
+        }
+        this.backlog = backlog;
+        return this;
+    }
+}
@@ -0,0 +1,158 @@
+package tiny.netty.channel.nio;
+
+import tiny.netty.channel.ChannelOption;
+import tiny.netty.channel.ChannelOutboundBuffer;
+import tiny.netty.channel.ChannelPipeline;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.spi.SelectorProvider;
+
+/**
+ * NioSocketChannel 字节流通道, 读写的消息为{@link ByteBuffer}
+ *
+ * @author zhaomingming
+ */
+public class NioSocketChannel extends AbstractNioChannel {
+
+    private static final int READ_BUFFER_SIZE = 8192;
+    // 一次写操作中最多尝试写的次数, 避免一个通道大量的写占用事件循环
+    private static final int WRITE_SPIN_COUNT = 16;
+
+    public NioSocketChannel() {
+        this(openSocketChannel());
+    }
+
+    private final NioChannelConfig config;
+
+    public NioSocketChannel(SocketChannel ch) {
+        super(ch, SelectionKey.OP_READ);
+        config = new NioChannelConfig(this, ch);
+        // 默认禁用Nagle算法, 避免小的响应被延迟发送
+        try {
+            config.setOption(ChannelOption.TCP_NODELAY, true);
+        } catch (Exception e) {
+            logger.debug("Failed to set TCP_NODELAY", e);
+        }
+    }
+
+    private static SocketChannel openSocketChannel() {
+        try {
+            return SelectorProvider.provider().openSocketChannel();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to open a socketChannel");
+        }
+    }
+
+    @Override
+    public SocketChannel javaChannel() {
+        return (SocketChannel) super.javaChannel();
+    }
+
+    @Override
+    public NioChannelConfig config() {
+        return config;
+    }
+
+    @Override
+    protected Unsafe newUnsafe() {
+        return new NioByteUnsafe();
+    }
+
+    @Override
+    public boolean isActive() {
+        SocketChannel ch = javaChannel();
+        return ch.isOpen() && ch.isConnected();
+    }
+
+    @Override
+    protected void doBind(SocketAddress localAddress) throws Exception {
+        javaChannel().bind(localAddress);
+    }
+
+    @Override
+    protected boolean doConnect(SocketAddress remoteAddress) throws Exception {
+        boolean connected = javaChannel().connect(remoteAddress);
+        if (!connected) {
+            SelectionKey selectionKey = selectionKey();
+            selectionKey.interestOps(selectionKey.interestOps() | SelectionKey.OP_CONNECT);
+        }
+        return connected;
+    }
+
+    @Override
+    protected void doFinishConnect() throws Exception {
+        if (!javaChannel().finishConnect()) {
+            throw new IllegalStateException("finishConnect() returned false");
+        }
+    }
+
+    @Override
+    protected Object filterOutboundMessage(Object msg) throws Exception {
+        if (msg instanceof ByteBuffer) {
+            return msg;
+        }
+        return super.filterOutboundMessage(msg);
+    }
+
+    @Override
+    protected void doWrite(ChannelOutboundBuffer in) throws Exception {
+        final SocketChannel ch = javaChannel();
+        ByteBuffer buf;
+        for (int i = 0; i < WRITE_SPIN_COUNT && (buf = (ByteBuffer) in.current()) != null; i++) {
+            if (buf.hasRemaining() && ch.write(buf) == 0) {
+                // 发送缓冲区已满, 等待可写
+                setOpWrite();
+                return;
+            }
+            if (!buf.hasRemaining()) {
+                in.remove();
+            }
+        }
+        if (in.isEmpty()) {
+            clearOpWrite();
+        } else {
+            // 尝试次数用完, 通道仍然可写, 下一次循环由写事件继续, 先处理其它通道
+            setOpWrite();
+        }
+    }
+
+    private class NioByteUnsafe extends AbstractNioUnsafe {
+
+        @Override
+        public void read() {
+            final ChannelPipeline pipeline = pipeline();
+            final SocketChannel ch = javaChannel();
+            final int maxMessagesPerRead = config.getMaxMessagesPerRead();
+            boolean close = false;
+            try {
+                for (int i = 0; i < maxMessagesPerRead && ch.isOpen(); i++) {
+                    ByteBuffer buf = ByteBuffer.allocate(READ_BUFFER_SIZE);
+                    int n = ch.read(buf);
+                    if (n <= 0) {
+                        // 对端关闭了连接
+                        close = n < 0;
+                        break;
+                    }
+                    buf.flip();
+                    pipeline.fireChannelRead(buf);
+                    if (n < READ_BUFFER_SIZE) {
+                        // 没有读满, 接收缓冲区已读空
+                        break;
+                    }
+                }
+                pipeline.fireChannelReadComplete();
+            } catch (Throwable cause) {
+                pipeline.fireChannelReadComplete();
+                pipeline.fireExceptionCaught(cause);
+                close = cause instanceof IOException;
+            }
+            if (close && isOpen()) {
+                close(voidPromise());
+            }
+        }
+    }
+}
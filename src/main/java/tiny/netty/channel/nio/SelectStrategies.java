@@ -0,0 +1,64 @@
+package tiny.netty.channel.nio;
+
+import java.io.IOException;
+import java.nio.channels.Selector;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 常用的选择策略
+ *
+ * @author zhaomingming
+ */
+public final class SelectStrategies {
+
+    // 有任务时selectNow(), 否则阻塞至被唤醒或最近的调度任务到期
+    private static final SelectStrategy DEFAULT = (selector, hasTask, timeoutMillis) ->
+            timeoutMillis < 0 ? selector.selectNow() : selector.select(timeoutMillis);
+
+    // 从不阻塞, 一直调用selectNow(), 用CPU换取最低的延迟
+    private static final SelectStrategy BUSY_POLL = new SelectStrategy() {
+        @Override
+        public int select(Selector selector, BooleanSupplier hasTask, long timeoutMillis) throws IOException {
+            return selector.selectNow();
+        }
+
+        @Override
+        public boolean mayBlock() {
+            return false;
+        }
+    };
+
+    private SelectStrategies() {
+    }
+
+    public static SelectStrategy defaultStrategy() {
+        return DEFAULT;
+    }
+
+    public static SelectStrategy busyPoll() {
+        return BUSY_POLL;
+    }
+
+    /**
+     * 先调用最多{@code spins}次selectNow(), 期间没有I/O事件也没有任务时, 再阻塞
+     * <p>在负载较高时接近忙轮询的延迟, 空闲时又不会一直占用CPU</p>
+     */
+    public static SelectStrategy spinThenBlock(int spins) {
+        if (spins <= 0) {
+            throw new IllegalArgumentException("spins: " + spins + " (expected > 0)");
+        }
+        return (selector, hasTask, timeoutMillis) -> {
+            if (timeoutMillis < 0) {
+                return selector.selectNow();
+            }
+            for (int i = 0; i < spins; i++) {
+                int selectedKeys = selector.selectNow();
+                if (selectedKeys > 0 || hasTask.getAsBoolean()) {
+                    return selectedKeys;
+                }
+                Thread.onSpinWait();
+            }
+            return selector.select(timeoutMillis);
+        };
+    }
+}
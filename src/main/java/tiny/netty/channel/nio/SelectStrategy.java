@@ -0,0 +1,30 @@
+package tiny.netty.channel.nio;
+
+import java.io.IOException;
+import java.nio.channels.Selector;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 选择策略, 决定事件循环器如何调用{@link Selector}等待I/O事件
+ *
+ * @author zhaomingming
+ * @see SelectStrategies
+ */
+@FunctionalInterface
+public interface SelectStrategy {
+
+    /**
+     * @param selector      事件循环器的选择器
+     * @param hasTask       是否有待执行的任务
+     * @param timeoutMillis 允许阻塞的时间: 小于0表示不能阻塞(有任务待执行), 0表示可以一直阻塞直至被唤醒, 大于0表示最多阻塞的毫秒数
+     * @return 选中的key数量
+     */
+    int select(Selector selector, BooleanSupplier hasTask, long timeoutMillis) throws IOException;
+
+    /**
+     * 是否可能阻塞在select()上; 从不阻塞的策略返回false, 此时其它线程提交任务无需唤醒选择器
+     */
+    default boolean mayBlock() {
+        return true;
+    }
+}
@@ -0,0 +1,514 @@
+package tiny.netty.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tiny.netty.util.concurrent.DefaultThreadFactory;
+import tiny.netty.util.concurrent.EventExecutor;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 基于时间轮的定时器, 适用于大量精度要求不高的超时任务(如连接的读写/空闲超时)
+ * <p>时间轮由{@code ticksPerWheel}个桶组成, 每隔{@code tickDuration}转动一格并执行当前桶中到期的任务.
+ * 提交和取消都是O(1)的: 提交的任务先进入无锁队列, 取消只修改状态, 二者都在下一次转动时由时间轮线程批量处理.</p>
+ * <p>时间轮可以由独立的线程驱动, 也可以由{@link EventExecutor}驱动, 后者的定时任务在该执行器线程中执行</p>
+ *
+ * @author zhaomingming
+ */
+public class HashedWheelTimer implements Timer {
+
+    private static final int WORKER_STATE_INIT = 0;
+    private static final int WORKER_STATE_STARTED = 1;
+    private static final int WORKER_STATE_SHUTDOWN = 2;
+    private static final long MIN_TICK_DURATION = TimeUnit.MILLISECONDS.toNanos(1);
+    // 每次转动最多转移的任务数, 避免大量提交时时间轮线程长时间无法执行到期任务
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+    private static final VarHandle WORKER_STATE;
+
+    static {
+        try {
+            WORKER_STATE = MethodHandles.lookup().findVarHandle(HashedWheelTimer.class, "workerState", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final ThreadFactory threadFactory;
+    private final EventExecutor executor;
+    private final long tickDuration;
+    private final HashedWheelBucket[] wheel;
+    private final int mask;
+    private final long maxPendingTimeouts;
+    private final AtomicLong pendingTimeouts = new AtomicLong();
+    private final Queue<HashedWheelTimeout> timeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<HashedWheelTimeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final CountDownLatch startupCompleted = new CountDownLatch(1);
+
+    private volatile int workerState = WORKER_STATE_INIT;
+    private volatile long startTime;
+    private volatile Thread workerThread;
+    private volatile ScheduledFuture<?> tickFuture;
+    // 以下字段只由时间轮线程访问
+    private long tick;
+    private Set<Timeout> unprocessedTimeouts;
+
+    public HashedWheelTimer() {
+        this(100, TimeUnit.MILLISECONDS);
+    }
+
+    public HashedWheelTimer(long tickDuration, TimeUnit unit) {
+        this(new DefaultThreadFactory("hashedWheelTimer"), tickDuration, unit, 512, -1);
+    }
+
+    /**
+     * @param maxPendingTimeouts 待执行的定时任务数上限, 小于等于0表示不限制
+     */
+    public HashedWheelTimer(ThreadFactory threadFactory, long tickDuration, TimeUnit unit,
+                            int ticksPerWheel, long maxPendingTimeouts) {
+        this(threadFactory, null, tickDuration, unit, ticksPerWheel, maxPendingTimeouts);
+        if (threadFactory == null) {
+            throw new IllegalArgumentException("threadFactory is null");
+        }
+    }
+
+    /**
+     * 由{@code executor}驱动时间轮转动, 定时任务在该执行器线程中执行
+     *
+     * @param maxPendingTimeouts 待执行的定时任务数上限, 小于等于0表示不限制
+     */
+    public HashedWheelTimer(EventExecutor executor, long tickDuration, TimeUnit unit,
+                            int ticksPerWheel, long maxPendingTimeouts) {
+        this(null, executor, tickDuration, unit, ticksPerWheel, maxPendingTimeouts);
+        if (executor == null) {
+            throw new IllegalArgumentException("executor is null");
+        }
+    }
+
+    private HashedWheelTimer(ThreadFactory threadFactory, EventExecutor executor, long tickDuration, TimeUnit unit,
+                             int ticksPerWheel, long maxPendingTimeouts) {
+        if (unit == null) {
+            throw new IllegalArgumentException("unit is null");
+        }
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration: " + tickDuration + " (expected > 0)");
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > 1 << 30) {
+            throw new IllegalArgumentException("ticksPerWheel: " + ticksPerWheel + " (expected: 0 < ticksPerWheel <= 2^30)");
+        }
+        this.threadFactory = threadFactory;
+        this.executor = executor;
+        this.wheel = createWheel(ticksPerWheel);
+        this.mask = wheel.length - 1;
+        // 小于1ms的间隔无法保证, 按1ms处理
+        this.tickDuration = Math.max(unit.toNanos(tickDuration), MIN_TICK_DURATION);
+        if (this.tickDuration >= Long.MAX_VALUE / wheel.length) {
+            throw new IllegalArgumentException("tickDuration: " + tickDuration +
+                    " (expected < " + Long.MAX_VALUE / wheel.length + " nanoseconds)");
+        }
+        this.maxPendingTimeouts = maxPendingTimeouts;
+    }
+
+    private static HashedWheelBucket[] createWheel(int ticksPerWheel) {
+        // 向上取整为2的幂次方, 以位运算代替取模
+        int size = 1 << (32 - Integer.numberOfLeadingZeros(ticksPerWheel - 1));
+        HashedWheelBucket[] wheel = new HashedWheelBucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new HashedWheelBucket();
+        }
+        return wheel;
+    }
+
+    /**
+     * 待执行(未到期也未取消)的定时任务数
+     */
+    public long pendingTimeouts() {
+        return pendingTimeouts.get();
+    }
+
+    @Override
+    public Timeout newTimeout(TimerTask task, long delay, TimeUnit unit) {
+        if (task == null) {
+            throw new IllegalArgumentException("task is null");
+        }
+        if (unit == null) {
+            throw new IllegalArgumentException("unit is null");
+        }
+        long pending = pendingTimeouts.incrementAndGet();
+        if (maxPendingTimeouts > 0 && pending > maxPendingTimeouts) {
+            pendingTimeouts.decrementAndGet();
+            throw new RejectedExecutionException("Number of pending timeouts (" + pending +
+                    ") is greater than maximum allowed pending timeouts (" + maxPendingTimeouts + ")");
+        }
+        try {
+            start();
+        } catch (IllegalStateException e) {
+            pendingTimeouts.decrementAndGet();
+            throw e;
+        }
+        // 相对于启动时间的截止时间
+        long deadline = System.nanoTime() + unit.toNanos(delay) - startTime;
+        if (delay > 0 && deadline < 0) {
+            // 溢出
+            deadline = Long.MAX_VALUE;
+        }
+        HashedWheelTimeout timeout = new HashedWheelTimeout(this, task, deadline);
+        timeouts.add(timeout);
+        return timeout;
+    }
+
+    private void start() {
+        switch ((int) WORKER_STATE.getVolatile(this)) {
+            case WORKER_STATE_INIT:
+                if (WORKER_STATE.compareAndSet(this, WORKER_STATE_INIT, WORKER_STATE_STARTED)) {
+                    startTime = System.nanoTime();
+                    try {
+                        if (executor == null) {
+                            workerThread = threadFactory.newThread(this::runWorker);
+                            workerThread.start();
+                        } else {
+                            tickFuture = executor.scheduleAtFixedRate(this::onTick, tickDuration, tickDuration,
+                                    TimeUnit.NANOSECONDS);
+                        }
+                    } finally {
+                        startupCompleted.countDown();
+                    }
+                }
+                break;
+            case WORKER_STATE_STARTED:
+                break;
+            case WORKER_STATE_SHUTDOWN:
+                throw new IllegalStateException("cannot be started once stopped");
+            default:
+                throw new Error("Invalid worker state");
+        }
+        awaitStartup();
+    }
+
+    // 等待启动线程初始化启动时间及驱动时间轮的线程或调度任务
+    private void awaitStartup() {
+        boolean interrupted = false;
+        for (; ; ) {
+            try {
+                startupCompleted.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public Set<Timeout> stop() {
+        if (executor == null && Thread.currentThread() == workerThread) {
+            throw new IllegalStateException("stop() cannot be called from " + TimerTask.class.getSimpleName());
+        }
+        if (!WORKER_STATE.compareAndSet(this, WORKER_STATE_STARTED, WORKER_STATE_SHUTDOWN)) {
+            // 未启动或已停止
+            WORKER_STATE.setVolatile(this, WORKER_STATE_SHUTDOWN);
+            return Collections.emptySet();
+        }
+        awaitStartup();
+        return executor == null ? stopWorkerThread() : stopTicking();
+    }
+
+    private Set<Timeout> stopWorkerThread() {
+        boolean interrupted = false;
+        while (workerThread.isAlive()) {
+            workerThread.interrupt();
+            try {
+                workerThread.join(100);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return unprocessedTimeouts;
+    }
+
+    private Set<Timeout> stopTicking() {
+        tickFuture.cancel(false);
+        if (executor.inEventLoop()) {
+            return collectUnprocessedTimeouts();
+        }
+        if (executor.isShuttingDown()) {
+            // 执行器关闭时会丢弃所有任务, 时间轮不会再转动
+            return Collections.emptySet();
+        }
+        try {
+            return executor.schedule(this::collectUnprocessedTimeouts, 0, TimeUnit.NANOSECONDS).get();
+        } catch (CancellationException | ExecutionException e) {
+            return Collections.emptySet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Collections.emptySet();
+        }
+    }
+
+    private void runWorker() {
+        do {
+            long currentTime = waitForNextTick();
+            if (currentTime > 0) {
+                processTick(currentTime);
+            }
+        } while (workerState == WORKER_STATE_STARTED);
+        unprocessedTimeouts = collectUnprocessedTimeouts();
+    }
+
+    /**
+     * 休眠至下一次转动, 返回相对于启动时间的当前时间, 定时器停止时返回-1
+     */
+    private long waitForNextTick() {
+        long deadline = tickDuration * (tick + 1);
+        for (; ; ) {
+            long currentTime = System.nanoTime() - startTime;
+            long sleepTimeMillis = TimeUnit.NANOSECONDS.toMillis(deadline - currentTime + 999_999);
+            if (sleepTimeMillis <= 0) {
+                return currentTime;
+            }
+            try {
+                Thread.sleep(sleepTimeMillis);
+            } catch (InterruptedException e) {
+                if (workerState == WORKER_STATE_SHUTDOWN) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    // 由执行器周期调用, 执行器繁忙导致调用推迟时, 一次补齐错过的转动
+    private void onTick() {
+        if (workerState != WORKER_STATE_STARTED) {
+            return;
+        }
+        long currentTime = executor.cachedNanoTime() - startTime;
+        while (tickDuration * (tick + 1) <= currentTime) {
+            processTick(currentTime);
+        }
+    }
+
+    private void processTick(long currentTime) {
+        processCancelledTimeouts();
+        transferTimeoutsToBuckets();
+        wheel[(int) (tick & mask)].expireTimeouts(currentTime);
+        tick++;
+    }
+
+    private void processCancelledTimeouts() {
+        HashedWheelTimeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            timeout.removeFromBucket();
+        }
+    }
+
+    private void transferTimeoutsToBuckets() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            HashedWheelTimeout timeout = timeouts.poll();
+            if (timeout == null) {
+                break;
+            }
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            long calculated = timeout.deadline / tickDuration;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            // 截止时间已过的任务放入当前桶, 本次转动即会执行
+            long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private Set<Timeout> collectUnprocessedTimeouts() {
+        Set<Timeout> unprocessed = new HashSet<>();
+        for (HashedWheelBucket bucket : wheel) {
+            bucket.clearTimeouts(unprocessed);
+        }
+        HashedWheelTimeout timeout;
+        while ((timeout = timeouts.poll()) != null) {
+            if (!timeout.isCancelled()) {
+                unprocessed.add(timeout);
+            }
+        }
+        processCancelledTimeouts();
+        return Collections.unmodifiableSet(unprocessed);
+    }
+
+    private static final class HashedWheelTimeout implements Timeout {
+
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+        private static final VarHandle STATE;
+
+        static {
+            try {
+                STATE = MethodHandles.lookup().findVarHandle(HashedWheelTimeout.class, "state", int.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private final HashedWheelTimer timer;
+        private final TimerTask task;
+        private final long deadline;
+        private volatile int state = ST_INIT;
+
+        // 以下字段只由时间轮线程访问
+        private long remainingRounds;
+        private HashedWheelTimeout next;
+        private HashedWheelTimeout prev;
+        private HashedWheelBucket bucket;
+
+        HashedWheelTimeout(HashedWheelTimer timer, TimerTask task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public Timer timer() {
+            return timer;
+        }
+
+        @Override
+        public TimerTask task() {
+            return task;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state == ST_EXPIRED;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state == ST_CANCELLED;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            timer.pendingTimeouts.decrementAndGet();
+            // 只记录下来, 由时间轮线程在下次转动时从桶中删除
+            timer.cancelledTimeouts.add(this);
+            return true;
+        }
+
+        void removeFromBucket() {
+            HashedWheelBucket bucket = this.bucket;
+            if (bucket != null) {
+                bucket.remove(this);
+            }
+        }
+
+        void expire() {
+            if (!STATE.compareAndSet(this, ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            timer.pendingTimeouts.decrementAndGet();
+            try {
+                task.run(this);
+            } catch (Throwable cause) {
+                timer.logger.warn("An exception was thrown by " + TimerTask.class.getSimpleName() + '.', cause);
+            }
+        }
+
+        @Override
+        public String toString() {
+            String status = isCancelled() ? "cancelled" : isExpired() ? "expired" : "pending";
+            return "HashedWheelTimeout(deadline: " + deadline + ", " + status + ", task: " + task + ')';
+        }
+    }
+
+    /**
+     * 时间轮的一个桶, 以双向链表保存定时任务, 只由时间轮线程访问
+     */
+    private static final class HashedWheelBucket {
+
+        private HashedWheelTimeout head;
+        private HashedWheelTimeout tail;
+
+        void add(HashedWheelTimeout timeout) {
+            assert timeout.bucket == null;
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expireTimeouts(long deadline) {
+            HashedWheelTimeout timeout = head;
+            while (timeout != null) {
+                HashedWheelTimeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    if (timeout.deadline > deadline) {
+                        throw new IllegalStateException(String.format("timeout.deadline (%d) > deadline (%d)",
+                                timeout.deadline, deadline));
+                    }
+                    timeout.expire();
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(HashedWheelTimeout timeout) {
+            HashedWheelTimeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        void clearTimeouts(Set<Timeout> set) {
+            HashedWheelTimeout timeout;
+            while ((timeout = head) != null) {
+                remove(timeout);
+                if (!timeout.isExpired() && !timeout.isCancelled()) {
+                    set.add(timeout);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package tiny.netty.util;
+
+/**
+ * {@link Timer#newTimeout}返回的句柄, 用于查询或取消定时任务
+ *
+ * @author zhaomingming
+ */
+public interface Timeout {
+
+    Timer timer();
+
+    TimerTask task();
+
+    // 定时任务是否已到期(已执行或正在执行)
+    boolean isExpired();
+
+    boolean isCancelled();
+
+    // 取消定时任务, 已到期或已取消时返回false
+    boolean cancel();
+}
@@ -0,0 +1,25 @@
+package tiny.netty.util;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 定时器, 在指定的延迟后执行{@link TimerTask}
+ *
+ * @author zhaomingming
+ */
+public interface Timer {
+
+    /**
+     * 提交一个在{@code delay}之后执行的定时任务
+     *
+     * @throws IllegalStateException                         定时器已停止
+     * @throws java.util.concurrent.RejectedExecutionException 待执行的定时任务数超过上限
+     */
+    Timeout newTimeout(TimerTask task, long delay, TimeUnit unit);
+
+    /**
+     * 停止定时器, 返回尚未执行也未被取消的定时任务
+     */
+    Set<Timeout> stop();
+}
@@ -0,0 +1,12 @@
+package tiny.netty.util;
+
+/**
+ * 定时任务
+ *
+ * @author zhaomingming
+ */
+@FunctionalInterface
+public interface TimerTask {
+
+    void run(Timeout timeout) throws Exception;
+}
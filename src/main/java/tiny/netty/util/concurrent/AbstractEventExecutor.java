@@ -23,6 +23,16 @@ public abstract class AbstractEventExecutor implements EventExecutor {
         return this;
     }
 
+    @Override
+    public EventExecutor next(Object key) {
+        return this;
+    }
+
+    @Override
+    public long cachedNanoTime() {
+        return System.nanoTime();
+    }
+
     @Override
     public Iterator<EventExecutor> iterator() {
         return self.iterator();
@@ -33,6 +43,16 @@ public abstract class AbstractEventExecutor implements EventExecutor {
         return inEventLoop(Thread.currentThread());
     }
 
+    @Override
+    public int registeredChannels() {
+        return 0;
+    }
+
+    @Override
+    public void lazyExecute(Runnable task) {
+        execute(task);
+    }
+
     @Override
     public CompletableFuture<?> shutdownGracefully() {
         return shutdownGracefully(DEFAULT_QUIET_SHUTDOWN_PERIOD, DEFAULT_SHUTDOWN_TIMEOUT, TimeUnit.SECONDS);
@@ -0,0 +1,158 @@
+package tiny.netty.util.concurrent;
+
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 支持调度任务的事件执行器抽象实现类
+ * <p>调度队列只由事件执行器线程访问, 其它线程提交的调度任务会以普通任务的形式转交给事件执行器线程</p>
+ *
+ * @author zhaomingming
+ */
+public abstract class AbstractScheduledEventExecutor extends AbstractEventExecutor {
+
+    private static final Runnable WAKEUP_TASK = () -> {
+    };
+
+    private final Queue<ScheduledFutureTask<?>> scheduledTaskQueue = new PriorityQueue<>();
+    private long nextTaskId;
+
+    protected static long nanoTime() {
+        return ScheduledFutureTask.nanoTime();
+    }
+
+    private static void validateScheduled(Object task, TimeUnit unit) {
+        if (task == null) {
+            throw new IllegalArgumentException("task is null");
+        }
+        if (unit == null) {
+            throw new IllegalArgumentException("unit is null");
+        }
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        validateScheduled(command, unit);
+        return schedule(new ScheduledFutureTask<>(this, Executors.callable(command, null),
+                ScheduledFutureTask.deadlineNanos(unit.toNanos(Math.max(0, delay))), 0));
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        validateScheduled(callable, unit);
+        return schedule(new ScheduledFutureTask<>(this, callable,
+                ScheduledFutureTask.deadlineNanos(unit.toNanos(Math.max(0, delay))), 0));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        validateScheduled(command, unit);
+        if (period <= 0) {
+            throw new IllegalArgumentException("period: " + period + " (expected > 0)");
+        }
+        return schedule(new ScheduledFutureTask<>(this, Executors.callable(command, null),
+                ScheduledFutureTask.deadlineNanos(unit.toNanos(Math.max(0, initialDelay))), unit.toNanos(period)));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        validateScheduled(command, unit);
+        if (delay <= 0) {
+            throw new IllegalArgumentException("delay: " + delay + " (expected > 0)");
+        }
+        return schedule(new ScheduledFutureTask<>(this, Executors.callable(command, null),
+                ScheduledFutureTask.deadlineNanos(unit.toNanos(Math.max(0, initialDelay))), -unit.toNanos(delay)));
+    }
+
+    private <V> ScheduledFuture<V> schedule(ScheduledFutureTask<V> task) {
+        if (inEventLoop()) {
+            scheduleFromEventLoop(task);
+        } else {
+            final long deadlineNanos = task.deadlineNanos();
+            if (beforeScheduledTaskSubmitted(deadlineNanos)) {
+                execute(() -> scheduleFromEventLoop(task));
+            } else {
+                // 事件执行器会在该任务到期之前醒来, 无需唤醒
+                lazyExecute(() -> scheduleFromEventLoop(task));
+                // 提交期间事件执行器可能已进入阻塞, 再次检查
+                if (afterScheduledTaskSubmitted(deadlineNanos)) {
+                    execute(WAKEUP_TASK);
+                }
+            }
+        }
+        return task;
+    }
+
+    /**
+     * 其它线程提交截止时间为{@code deadlineNanos}的调度任务之前调用, 返回true表示需要唤醒事件执行器
+     */
+    protected boolean beforeScheduledTaskSubmitted(long deadlineNanos) {
+        return true;
+    }
+
+    /**
+     * 其它线程以不唤醒的方式提交调度任务之后调用, 返回true表示需要唤醒事件执行器
+     */
+    protected boolean afterScheduledTaskSubmitted(long deadlineNanos) {
+        return true;
+    }
+
+    final void scheduleFromEventLoop(ScheduledFutureTask<?> task) {
+        assert inEventLoop();
+        scheduledTaskQueue.add(task.setId(++nextTaskId));
+    }
+
+    final void removeScheduled(ScheduledFutureTask<?> task) {
+        if (inEventLoop()) {
+            scheduledTaskQueue.remove(task);
+        } else if (!isShuttingDown()) {
+            // 关闭时调度队列会被整体清空, 无需再提交删除任务; 删除不急于执行, 不唤醒事件执行器
+            lazyExecute(() -> scheduledTaskQueue.remove(task));
+        }
+    }
+
+    /**
+     * 获取截止时间不晚于{@code nanoTime}的调度任务, 没有则返回null
+     */
+    protected final Runnable pollScheduledTask(long nanoTime) {
+        assert inEventLoop();
+        ScheduledFutureTask<?> task = scheduledTaskQueue.peek();
+        if (task == null || task.deadlineNanos() > nanoTime) {
+            return null;
+        }
+        return scheduledTaskQueue.poll();
+    }
+
+    /**
+     * 将未能转移至任务队列的调度任务放回调度队列
+     */
+    protected final void returnScheduledTask(Runnable task) {
+        assert inEventLoop();
+        scheduledTaskQueue.add((ScheduledFutureTask<?>) task);
+    }
+
+    /**
+     * 距离最近的调度任务截止时间的纳秒数, 没有调度任务时返回-1
+     */
+    protected final long nextScheduledTaskDelayNanos() {
+        ScheduledFutureTask<?> task = scheduledTaskQueue.peek();
+        return task == null ? -1 : task.delayNanos(nanoTime());
+    }
+
+    protected final boolean hasScheduledTasks() {
+        ScheduledFutureTask<?> task = scheduledTaskQueue.peek();
+        return task != null && task.deadlineNanos() <= nanoTime();
+    }
+
+    protected final void cancelScheduledTasks() {
+        assert inEventLoop();
+        ScheduledFutureTask<?> task;
+        while ((task = scheduledTaskQueue.poll()) != null) {
+            task.cancelWithoutRemove();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package tiny.netty.util.concurrent;
+
+import java.util.Set;
+
+/**
+ * 亲和性事件执行器选择工厂
+ * <p>调用者本身就是组内某个事件执行器的线程时(如在事件循环中发起新的连接), 直接返回该执行器,
+ * 后续的回调都在同一线程中执行, 无需跨线程; 否则交给{@code fallback}选择.</p>
+ *
+ * @author zhaomingming
+ */
+public class AffinityEventExecutorChooserFactory implements EventExecutorChooserFactory {
+
+    public static final AffinityEventExecutorChooserFactory INSTANCE =
+            new AffinityEventExecutorChooserFactory(DefaultEventExecutorChooserFactory.INSTANCE);
+
+    private final EventExecutorChooserFactory fallback;
+
+    public AffinityEventExecutorChooserFactory(EventExecutorChooserFactory fallback) {
+        if (fallback == null) {
+            throw new IllegalArgumentException("fallback is null");
+        }
+        this.fallback = fallback;
+    }
+
+    @Override
+    public EventExecutorChooser newChooser(EventExecutor[] executors) {
+        if (executors == null) {
+            throw new IllegalArgumentException("executors is null");
+        }
+        return new AffinityEventExecutorChooser(executors, fallback.newChooser(executors));
+    }
+
+    static class AffinityEventExecutorChooser implements EventExecutorChooser {
+        private final Set<EventExecutor> executors;
+        private final EventExecutorChooser fallback;
+
+        AffinityEventExecutorChooser(EventExecutor[] executors, EventExecutorChooser fallback) {
+            this.executors = Set.of(executors);
+            this.fallback = fallback;
+        }
+
+        @Override
+        public EventExecutor next() {
+            // 直接取当前线程上的事件执行器, 不必逐个调用inEventLoop()
+            EventExecutor current = EventExecutor.current();
+            if (current != null && executors.contains(current)) {
+                return current;
+            }
+            return fallback.next();
+        }
+    }
+}
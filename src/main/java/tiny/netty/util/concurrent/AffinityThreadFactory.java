@@ -0,0 +1,44 @@
+package tiny.netty.util.concurrent;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 绑定CPU的线程工厂
+ * <p>第n个线程绑定到{@code cpus[n % cpus.length]}上, 避免事件循环线程在CPU之间迁移导致缓存失效.
+ * 本地库不可用时退化为{@link DefaultThreadFactory}</p>
+ *
+ * @author zhaomingming
+ * @see CpuAffinity
+ */
+public class AffinityThreadFactory extends DefaultThreadFactory {
+
+    private final int[] cpus;
+    private final AtomicInteger threadIndex = new AtomicInteger();
+
+    public AffinityThreadFactory(String prefix, int... cpus) {
+        super(prefix);
+        if (cpus == null || cpus.length == 0) {
+            throw new IllegalArgumentException("cpus is empty");
+        }
+        for (int cpu : cpus) {
+            if (cpu < 0) {
+                throw new IllegalArgumentException("cpus: " + Arrays.toString(cpus) + " (expected >= 0)");
+            }
+        }
+        this.cpus = cpus.clone();
+    }
+
+    @Override
+    public Thread newThread(Runnable r) {
+        int cpu = cpus[Math.floorMod(threadIndex.getAndIncrement(), cpus.length)];
+        return super.newThread(() -> {
+            CpuAffinity.pin(cpu);
+            try {
+                r.run();
+            } finally {
+                CpuAffinity.unpinned(Thread.currentThread());
+            }
+        });
+    }
+}
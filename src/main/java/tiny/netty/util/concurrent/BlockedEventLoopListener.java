@@ -0,0 +1,18 @@
+package tiny.netty.util.concurrent;
+
+/**
+ * 事件循环阻塞的监听器, 由{@link EventLoopWatchdog}在看门狗线程中回调
+ *
+ * @author zhaomingming
+ */
+@FunctionalInterface
+public interface BlockedEventLoopListener {
+
+    /**
+     * @param executor     被阻塞的事件执行器
+     * @param blockedNanos 已阻塞的时间(近似值, 误差不超过看门狗的检查间隔)
+     * @param task         正在执行的任务或处理器, 如"EchoHandler.channelRead", 无法识别时为"unknown"
+     * @param stackTrace   事件执行器线程的调用栈
+     */
+    void blocked(SingleThreadEventExecutor executor, long blockedNanos, String task, StackTraceElement[] stackTrace);
+}
@@ -0,0 +1,77 @@
+package tiny.netty.util.concurrent;
+
+/**
+ * 阻塞调用检测, 发现在事件执行器线程中执行的阻塞调用
+ * <p>框架内的阻塞操作(如{@code ChannelFuture.get()}、{@link EventExecutor#awaitTermination}、阻塞的拒绝执行策略)在阻塞前调用{@link #check},
+ * 应用也可以在自己的阻塞操作(如文件I/O、同步的远程调用)前调用. 默认禁用, 可以通过系统属性
+ * {@value #ENABLED_PROPERTY}=true或{@link #setEnabled(boolean)}启用(严格模式), 启用后默认抛出{@link BlockingOperationException}.</p>
+ * <p>等待同一个事件执行器完成的操作永远不会完成, 这类调用由{@link #checkDeadlock}检测, 不论是否启用都会抛出异常</p>
+ *
+ * @author zhaomingming
+ */
+public final class BlockingCallDetector {
+
+    public static final String ENABLED_PROPERTY = "tiny.netty.blockingCallDetection";
+
+    private static final BlockingCallListener FAIL_FAST = (executor, call) -> {
+        throw call;
+    };
+
+    private static volatile boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+    private static volatile BlockingCallListener listener = FAIL_FAST;
+
+    private BlockingCallDetector() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        BlockingCallDetector.enabled = enabled;
+    }
+
+    /**
+     * 默认的监听器: 抛出{@link BlockingOperationException}
+     */
+    public static BlockingCallListener failFast() {
+        return FAIL_FAST;
+    }
+
+    /**
+     * 设置监听器, 默认抛出{@link BlockingOperationException}; 只需记录而不中断调用时(如压测中收集问题)可以设置为记录日志的监听器
+     */
+    public static void setListener(BlockingCallListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("listener is null");
+        }
+        BlockingCallDetector.listener = listener;
+    }
+
+    /**
+     * 启用检测时, 如果当前线程是事件执行器线程, 报告阻塞调用
+     *
+     * @param call 阻塞调用的描述, 如"Thread.sleep()"
+     */
+    public static void check(String call) {
+        if (!enabled) {
+            return;
+        }
+        EventExecutor executor = EventExecutor.current();
+        if (executor != null && executor.inEventLoop()) {
+            listener.blockingCall(executor, new BlockingOperationException(call + " called from event loop " + executor));
+        }
+    }
+
+    /**
+     * 在事件执行器线程中等待该事件执行器完成的操作时抛出{@link BlockingOperationException}, 否则同{@link #check}
+     *
+     * @param executor 完成操作的事件执行器, 可以为null
+     */
+    public static void checkDeadlock(EventExecutor executor, String call) {
+        if (executor != null && executor.inEventLoop()) {
+            throw new BlockingOperationException(call + " would wait for its own event loop " + executor);
+        }
+        check(call);
+    }
+}
@@ -0,0 +1,18 @@
+package tiny.netty.util.concurrent;
+
+/**
+ * 阻塞调用的监听器, 由{@link BlockingCallDetector}在发生阻塞调用的事件执行器线程中回调
+ *
+ * @author zhaomingming
+ */
+@FunctionalInterface
+public interface BlockingCallListener {
+
+    /**
+     * 抛出异常可以中止阻塞调用(快速失败), 正常返回则继续执行阻塞调用
+     *
+     * @param executor 当前线程所属的事件执行器
+     * @param call     阻塞调用的描述, 异常的调用栈即发生阻塞调用的位置
+     */
+    void blockingCall(EventExecutor executor, BlockingOperationException call);
+}
@@ -0,0 +1,15 @@
+package tiny.netty.util.concurrent;
+
+/**
+ * 在事件执行器线程中调用了阻塞操作
+ *
+ * @author zhaomingming
+ */
+public class BlockingOperationException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BlockingOperationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,106 @@
+package tiny.netty.util.concurrent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 线程CPU亲和性, 通过JNI调用Linux的sched_setaffinity()将线程绑定到指定的CPU上
+ * <p>本地库(libtinynetty_affinity.so, 源码见src/main/c)需要位于java.library.path中,
+ * 或者通过系统属性{@value #LIBRARY_PATH_PROPERTY}指定绝对路径. 本地库不可用时, 所有绑定操作都不生效并返回false.</p>
+ *
+ * @author zhaomingming
+ */
+public final class CpuAffinity {
+
+    public static final String LIBRARY_PATH_PROPERTY = "tiny.netty.affinity.library";
+    private static final String LIBRARY_NAME = "tinynetty_affinity";
+    private static final Logger logger = LoggerFactory.getLogger(CpuAffinity.class);
+    private static final boolean AVAILABLE = loadLibrary();
+    // 已绑定的线程及其内核线程id
+    private static final Map<Thread, Integer> pinnedThreads = new ConcurrentHashMap<>();
+
+    private CpuAffinity() {
+    }
+
+    private static boolean loadLibrary() {
+        if (!System.getProperty("os.name", "").toLowerCase().startsWith("linux")) {
+            logger.debug("CPU affinity is only supported on Linux");
+            return false;
+        }
+        try {
+            String path = System.getProperty(LIBRARY_PATH_PROPERTY);
+            if (path != null) {
+                System.load(path);
+            } else {
+                System.loadLibrary(LIBRARY_NAME);
+            }
+            return true;
+        } catch (Throwable cause) {
+            logger.debug("Failed to load the native library {}, CPU affinity is disabled", LIBRARY_NAME, cause);
+            return false;
+        }
+    }
+
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    /**
+     * 将当前线程绑定到给定的CPU上
+     *
+     * @return 是否绑定成功
+     */
+    public static boolean pin(int... cpus) {
+        if (cpus == null || cpus.length == 0) {
+            throw new IllegalArgumentException("cpus is empty");
+        }
+        if (!AVAILABLE) {
+            return false;
+        }
+        int tid = setAffinity0(cpus);
+        if (tid < 0) {
+            logger.warn("Failed to pin thread {} to cpus {} (errno: {})", Thread.currentThread().getName(), Arrays.toString(cpus), -tid);
+            return false;
+        }
+        pinnedThreads.put(Thread.currentThread(), tid);
+        return true;
+    }
+
+    static void unpinned(Thread thread) {
+        pinnedThreads.remove(thread);
+    }
+
+    /**
+     * 已绑定线程的实际CPU分布, 即线程名称到/proc/self/task/[tid]/status中Cpus_allowed_list的映射
+     */
+    public static Map<String, String> layout() {
+        Map<String, String> layout = new LinkedHashMap<>();
+        for (Map.Entry<Thread, Integer> entry : pinnedThreads.entrySet()) {
+            Path status = Paths.get("/proc/self/task", String.valueOf(entry.getValue()), "status");
+            try {
+                for (String line : Files.readAllLines(status)) {
+                    if (line.startsWith("Cpus_allowed_list:")) {
+                        layout.put(entry.getKey().getName(), line.substring("Cpus_allowed_list:".length()).trim());
+                        break;
+                    }
+                }
+            } catch (IOException e) {
+                // 线程已退出
+                logger.debug("Failed to read {}", status, e);
+            }
+        }
+        return layout;
+    }
+
+    // 成功时返回当前线程的内核线程id(gettid), 失败时返回-errno
+    private static native int setAffinity0(int[] cpus);
+}
@@ -0,0 +1,77 @@
+package tiny.netty.util.concurrent;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 默认的单线程事件执行器, 只执行任务, 不处理I/O事件
+ * <p>没有任务时线程挂起, 直至有新任务提交或最近的调度任务到期</p>
+ *
+ * @author zhaomingming
+ */
+public class DefaultEventExecutor extends SingleThreadEventExecutor {
+
+    private volatile Thread workerThread;
+
+    public DefaultEventExecutor() {
+        this(null, new DefaultThreadFactory("defaultEventExecutor"));
+    }
+
+    public DefaultEventExecutor(EventExecutorGroup parent, ThreadFactory factory) {
+        super(parent, factory);
+    }
+
+    public DefaultEventExecutor(EventExecutorGroup parent, Executor executor) {
+        super(parent, executor);
+    }
+
+    @Override
+    protected void run() {
+        workerThread = Thread.currentThread();
+        for (; ; ) {
+            if (!isShuttingDown()) {
+                awaitTask();
+            }
+            runAllTasks();
+            if (isShuttingDown()) {
+                if (confirmShutdown()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void awaitTask() {
+        // 挂起前提交的任务会先调用LockSupport.unpark(), 使得随后的LockSupport.park()立即返回, 不会丢失唤醒
+        if (hasTask()) {
+            return;
+        }
+        long delayNanos = nextScheduledTaskDelayNanos();
+        if (delayNanos < 0) {
+            LockSupport.park(this);
+        } else if (delayNanos > 0) {
+            LockSupport.parkNanos(this, delayNanos);
+        }
+    }
+
+    @Override
+    protected boolean isAwaitingTasks() {
+        // 只有awaitTask()以当前对象作为blocker挂起, 任务中的挂起(如Thread.sleep())不算空闲
+        Thread thread = workerThread;
+        return thread != null && LockSupport.getBlocker(thread) == this;
+    }
+
+    @Override
+    protected void wakeup(boolean inEventLoop) {
+        Thread thread = workerThread;
+        if (!inEventLoop && thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Override
+    protected void cleanup() {
+        // NOOP
+    }
+}
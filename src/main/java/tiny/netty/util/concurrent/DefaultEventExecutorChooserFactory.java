@@ -0,0 +1,62 @@
+package tiny.netty.util.concurrent;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 默认的事件执行器选择工厂, 轮询选择事件执行器
+ *
+ * @author zhaomingming
+ */
+public class DefaultEventExecutorChooserFactory implements EventExecutorChooserFactory {
+
+    public static final DefaultEventExecutorChooserFactory INSTANCE = new DefaultEventExecutorChooserFactory();
+
+    private DefaultEventExecutorChooserFactory() {
+    }
+
+    private static boolean isPowerOfTwo(int i) {
+        return (i & -i) == i;
+    }
+
+    @Override
+    public EventExecutorChooser newChooser(EventExecutor[] executors) {
+        if (executors == null) {
+            throw new IllegalArgumentException("executors is null");
+        }
+        return isPowerOfTwo(executors.length) ? new PowerOfTwoEventExecutorChooser(executors) : new GenericEventExecutorChooser(executors);
+    }
+
+    static abstract class AbstractEventExecutorChooser implements EventExecutorChooser {
+        final EventExecutor[] executors;
+        final AtomicInteger idx;
+
+        AbstractEventExecutorChooser(EventExecutor[] executors) {
+            this.executors = executors;
+            this.idx = new AtomicInteger(executors.length);
+        }
+    }
+
+    static class GenericEventExecutorChooser extends AbstractEventExecutorChooser {
+
+        GenericEventExecutorChooser(EventExecutor[] eventExecutors) {
+            super(eventExecutors);
+        }
+
+        @Override
+        public EventExecutor next() {
+            return executors[idx.getAndIncrement() % executors.length];
+        }
+    }
+
+    static class PowerOfTwoEventExecutorChooser extends AbstractEventExecutorChooser {
+
+        PowerOfTwoEventExecutorChooser(EventExecutor[] executors) {
+            super(executors);
+        }
+
+        @Override
+        public EventExecutor next() {
+            return executors[idx.getAndIncrement() & (executors.length - 1)];
+        }
+    }
+}
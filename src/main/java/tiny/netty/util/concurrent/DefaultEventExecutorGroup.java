@@ -0,0 +1,26 @@
+package tiny.netty.util.concurrent;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 默认的事件执行组, 由一组{@link DefaultEventExecutor}组成
+ * <p>可用于执行阻塞或耗时的通道处理器, 避免拖慢I/O线程</p>
+ *
+ * @author zhaomingming
+ */
+public class DefaultEventExecutorGroup extends MultiThreadEventExecutorGroup {
+
+    public DefaultEventExecutorGroup(int nThreads) {
+        this(nThreads, new DefaultThreadFactory("defaultEventExecutor"));
+    }
+
+    public DefaultEventExecutorGroup(int nThreads, ThreadFactory threadFactory) {
+        super(nThreads, threadFactory);
+    }
+
+    @Override
+    protected EventExecutor newChild(Executor executor, Object... args) {
+        return new DefaultEventExecutor(this, executor);
+    }
+}
@@ -4,7 +4,7 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * 线程工厂
+ * 线程工厂, 创建{@link EventLoopThread}
  *
  * @author zhaomingming
  */
@@ -21,8 +21,6 @@ public class DefaultThreadFactory implements ThreadFactory {
 
     @Override
     public Thread newThread(Runnable r) {
-        Thread thread = new Thread(r);
-        thread.setName(prefixName + index.incrementAndGet());
-        return thread;
+        return new EventLoopThread(r, prefixName + index.incrementAndGet());
     }
 }
@@ -1,6 +1,8 @@
 package tiny.netty.util.concurrent;
 
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -10,15 +12,37 @@ import java.util.concurrent.TimeUnit;
  */
 public interface EventExecutor extends EventExecutorGroup {
 
+    /**
+     * 当前线程上运行的事件执行器, 当前线程不是事件执行器线程时返回null
+     */
+    static EventExecutor current() {
+        return EventLoopThread.currentExecutor();
+    }
+
     EventExecutorGroup parent();
 
     @Override
     EventExecutor next();
 
+    @Override
+    EventExecutor next(Object key);
+
     boolean inEventLoop();
 
     boolean inEventLoop(Thread thread);
 
+    // 待执行的任务数, 可在任意线程中读取, 结果只是一个近似值
+    int pendingTasks();
+
+    // 注册到该执行器上的通道数, 不处理通道的执行器返回0
+    int registeredChannels();
+
+    // 缓存的System.nanoTime(), 由事件执行器周期性更新, 适合对精度要求不高的时间戳(如超时检测、统计); 需要精确时间时直接调用System.nanoTime()
+    long cachedNanoTime();
+
+    // 提交任务, 但不会唤醒阻塞中的事件循环, 任务在事件循环下次被唤醒后执行. 适用于对延迟不敏感的任务
+    void lazyExecute(Runnable task);
+
     @Override
     boolean isShuttingDown();
 
@@ -36,4 +60,16 @@ public interface EventExecutor extends EventExecutorGroup {
 
     @Override
     boolean awaitTermination(long timeout, TimeUnit timeUnit) throws InterruptedException;
+
+    @Override
+    ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit);
+
+    @Override
+    <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit);
+
+    @Override
+    ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit);
+
+    @Override
+    ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit);
 }
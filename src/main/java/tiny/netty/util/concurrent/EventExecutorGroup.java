@@ -1,8 +1,10 @@
 package tiny.netty.util.concurrent;
 
 import java.util.Iterator;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -14,6 +16,9 @@ public interface EventExecutorGroup extends Executor, Iterable<EventExecutor> {
 
     EventExecutor next();
 
+    // 根据key的哈希值选择事件执行器, 相同的key总是得到同一个事件执行器
+    EventExecutor next(Object key);
+
     @Override
     Iterator<EventExecutor> iterator();
 
@@ -28,4 +33,16 @@ public interface EventExecutorGroup extends Executor, Iterable<EventExecutor> {
     CompletableFuture<?> terminationFuture();
 
     boolean awaitTermination(long timeout, TimeUnit timeUnit) throws InterruptedException;
+
+    // 延迟执行任务
+    ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit);
+
+    // 延迟执行任务
+    <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit);
+
+    // 以固定频率周期执行任务
+    ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit);
+
+    // 以固定延迟周期执行任务
+    ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit);
 }
@@ -0,0 +1,189 @@
+package tiny.netty.util.concurrent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * 事件执行器的运行统计, 由事件执行器线程记录, 任意线程通过{@link #snapshot}读取, 无需加锁
+ * <p>只有启用统计的事件执行器才会创建该对象, 见{@link SingleThreadEventExecutor#setMetricsEnabled(boolean)}</p>
+ *
+ * @author zhaomingming
+ */
+public final class EventExecutorMetrics {
+
+    private static final VarHandle ITERATIONS;
+    private static final VarHandle TASKS;
+    private static final VarHandle TASK_TIME;
+    private static final VarHandle IO_TIME;
+
+    static {
+        MethodHandles.Lookup l = MethodHandles.lookup();
+        try {
+            ITERATIONS = l.findVarHandle(EventExecutorMetrics.class, "iterations", long.class);
+            TASKS = l.findVarHandle(EventExecutorMetrics.class, "tasks", long.class);
+            TASK_TIME = l.findVarHandle(EventExecutorMetrics.class, "taskTimeNanos", long.class);
+            IO_TIME = l.findVarHandle(EventExecutorMetrics.class, "ioTimeNanos", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // 任务从提交到开始执行的耗时
+    private final Histogram taskLatency = new Histogram();
+    // 每次循环执行的任务数
+    private final Histogram tasksPerIteration = new Histogram();
+    // 每次阻塞在select()上的耗时, 只有Nio事件循环器记录
+    private final Histogram selectDuration = new Histogram();
+    private long iterations;
+    private long tasks;
+    private long taskTimeNanos;
+    private long ioTimeNanos;
+
+    EventExecutorMetrics() {
+    }
+
+    void recordTaskLatency(long latencyNanos) {
+        taskLatency.record(latencyNanos);
+    }
+
+    void recordIteration(long tasks, long taskTimeNanos) {
+        tasksPerIteration.record(tasks);
+        ITERATIONS.setOpaque(this, iterations + 1);
+        TASKS.setOpaque(this, this.tasks + tasks);
+        TASK_TIME.setOpaque(this, this.taskTimeNanos + taskTimeNanos);
+    }
+
+    public void recordSelect(long durationNanos) {
+        selectDuration.record(durationNanos);
+    }
+
+    public void recordIoTime(long ioTimeNanos) {
+        IO_TIME.setOpaque(this, this.ioTimeNanos + ioTimeNanos);
+    }
+
+    Snapshot snapshot(int pendingTasks, long wakeupsIssued, long wakeupsElided, long rejectedTasks) {
+        return new Snapshot(1, pendingTasks, (long) ITERATIONS.getOpaque(this), (long) TASKS.getOpaque(this),
+                (long) TASK_TIME.getOpaque(this), (long) IO_TIME.getOpaque(this), wakeupsIssued, wakeupsElided,
+                rejectedTasks, taskLatency.snapshot(), tasksPerIteration.snapshot(), selectDuration.snapshot());
+    }
+
+    static Snapshot emptySnapshot(int pendingTasks, long wakeupsIssued, long wakeupsElided, long rejectedTasks) {
+        return new Snapshot(1, pendingTasks, 0, 0, 0, 0, wakeupsIssued, wakeupsElided, rejectedTasks,
+                Histogram.Snapshot.EMPTY, Histogram.Snapshot.EMPTY, Histogram.Snapshot.EMPTY);
+    }
+
+    /**
+     * 统计快照, 不可变; 事件执行组的快照是所有事件执行器快照的合并
+     */
+    public static final class Snapshot {
+
+        private final int executors;
+        private final long pendingTasks;
+        private final long iterations;
+        private final long tasks;
+        private final long taskTimeNanos;
+        private final long ioTimeNanos;
+        private final long wakeupsIssued;
+        private final long wakeupsElided;
+        private final long rejectedTasks;
+        private final Histogram.Snapshot taskLatency;
+        private final Histogram.Snapshot tasksPerIteration;
+        private final Histogram.Snapshot selectDuration;
+
+        private Snapshot(int executors, long pendingTasks, long iterations, long tasks, long taskTimeNanos,
+                         long ioTimeNanos, long wakeupsIssued, long wakeupsElided, long rejectedTasks,
+                         Histogram.Snapshot taskLatency, Histogram.Snapshot tasksPerIteration,
+                         Histogram.Snapshot selectDuration) {
+            this.executors = executors;
+            this.pendingTasks = pendingTasks;
+            this.iterations = iterations;
+            this.tasks = tasks;
+            this.taskTimeNanos = taskTimeNanos;
+            this.ioTimeNanos = ioTimeNanos;
+            this.wakeupsIssued = wakeupsIssued;
+            this.wakeupsElided = wakeupsElided;
+            this.rejectedTasks = rejectedTasks;
+            this.taskLatency = taskLatency;
+            this.tasksPerIteration = tasksPerIteration;
+            this.selectDuration = selectDuration;
+        }
+
+        public int executors() {
+            return executors;
+        }
+
+        // 任务队列中待执行的任务数(队列深度)
+        public long pendingTasks() {
+            return pendingTasks;
+        }
+
+        // 循环次数(执行任务队列的次数)
+        public long iterations() {
+            return iterations;
+        }
+
+        // 已执行的任务数
+        public long tasks() {
+            return tasks;
+        }
+
+        // 执行任务的总耗时
+        public long taskTimeNanos() {
+            return taskTimeNanos;
+        }
+
+        // 处理I/O事件的总耗时
+        public long ioTimeNanos() {
+            return ioTimeNanos;
+        }
+
+        public long wakeupsIssued() {
+            return wakeupsIssued;
+        }
+
+        public long wakeupsElided() {
+            return wakeupsElided;
+        }
+
+        // 被拒绝或丢弃的任务数
+        public long rejectedTasks() {
+            return rejectedTasks;
+        }
+
+        public Histogram.Snapshot taskLatency() {
+            return taskLatency;
+        }
+
+        public Histogram.Snapshot tasksPerIteration() {
+            return tasksPerIteration;
+        }
+
+        public Histogram.Snapshot selectDuration() {
+            return selectDuration;
+        }
+
+        public Snapshot merge(Snapshot other) {
+            return new Snapshot(executors + other.executors, pendingTasks + other.pendingTasks,
+                    iterations + other.iterations, tasks + other.tasks, taskTimeNanos + other.taskTimeNanos,
+                    ioTimeNanos + other.ioTimeNanos, wakeupsIssued + other.wakeupsIssued,
+                    wakeupsElided + other.wakeupsElided, rejectedTasks + other.rejectedTasks,
+                    taskLatency.merge(other.taskLatency),
+                    tasksPerIteration.merge(other.tasksPerIteration), selectDuration.merge(other.selectDuration));
+        }
+
+        @Override
+        public String toString() {
+            return "executors: " + executors +
+                    ", pendingTasks: " + pendingTasks +
+                    ", iterations: " + iterations +
+                    ", tasks: " + tasks +
+                    ", taskTime: " + taskTimeNanos + "ns" +
+                    ", ioTime: " + ioTimeNanos + "ns" +
+                    ", wakeups(issued/elided): " + wakeupsIssued + '/' + wakeupsElided +
+                    ", rejectedTasks: " + rejectedTasks +
+                    "\n  taskLatency(ns): " + taskLatency +
+                    "\n  tasksPerIteration: " + tasksPerIteration +
+                    "\n  selectDuration(ns): " + selectDuration;
+        }
+    }
+}
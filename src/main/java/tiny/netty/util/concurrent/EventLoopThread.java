@@ -0,0 +1,76 @@
+package tiny.netty.util.concurrent;
+
+import java.util.Arrays;
+
+/**
+ * 事件循环线程, 由{@link DefaultThreadFactory}创建
+ * <p>持有{@link FastThreadLocal}的变量槽位数组, 按下标直接访问, 省去{@link ThreadLocal}的哈希查找;
+ * 同时持有运行在该线程上的事件执行器, 见{@link EventExecutor#current()}</p>
+ *
+ * @author zhaomingming
+ */
+public class EventLoopThread extends Thread {
+
+    // 未设置值的槽位
+    static final Object UNSET = new Object();
+    // 非事件循环线程(如由其它线程工厂创建)上运行的事件执行器
+    private static final ThreadLocal<EventExecutor> fallbackExecutor = new ThreadLocal<>();
+
+    private Object[] slots = newSlots(32);
+    private EventExecutor executor;
+
+    public EventLoopThread(Runnable target, String name) {
+        super(target, name);
+    }
+
+    private static Object[] newSlots(int length) {
+        Object[] slots = new Object[length];
+        Arrays.fill(slots, UNSET);
+        return slots;
+    }
+
+    static EventExecutor currentExecutor() {
+        Thread thread = Thread.currentThread();
+        if (thread instanceof EventLoopThread) {
+            return ((EventLoopThread) thread).executor;
+        }
+        return fallbackExecutor.get();
+    }
+
+    // 由事件执行器在其线程中调用, 退出时设置为null
+    static void setCurrentExecutor(EventExecutor executor) {
+        Thread thread = Thread.currentThread();
+        if (thread instanceof EventLoopThread) {
+            ((EventLoopThread) thread).executor = executor;
+        } else if (executor == null) {
+            fallbackExecutor.remove();
+        } else {
+            fallbackExecutor.set(executor);
+        }
+    }
+
+    /**
+     * 运行在该线程上的事件执行器, 没有则返回null
+     */
+    public EventExecutor executor() {
+        return executor;
+    }
+
+    // 以下方法只由当前线程调用
+    Object slot(int index) {
+        Object[] slots = this.slots;
+        return index < slots.length ? slots[index] : UNSET;
+    }
+
+    void setSlot(int index, Object value) {
+        Object[] slots = this.slots;
+        if (index >= slots.length) {
+            // 扩容至不小于index + 1的2的幂次方
+            int newLength = 1 << (32 - Integer.numberOfLeadingZeros(index));
+            Object[] newSlots = Arrays.copyOf(slots, newLength);
+            Arrays.fill(newSlots, slots.length, newLength, UNSET);
+            this.slots = slots = newSlots;
+        }
+        slots[index] = value;
+    }
+}
@@ -0,0 +1,182 @@
+package tiny.netty.util.concurrent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 事件循环看门狗, 发现阻塞的事件循环
+ * <p>看门狗线程定期检查每个事件执行器的心跳(每次循环加一的计数), 事件执行器不空闲且心跳超过阈值未变化时,
+ * 采集其线程调用栈并通过{@link BlockedEventLoopListener}报告, 每次阻塞只报告一次.
+ * 事件执行器线程上的开销只有每次循环一次volatile写, 阻塞时间由看门狗观察得到, 误差不超过检查间隔(阈值的1/4)</p>
+ *
+ * @author zhaomingming
+ */
+public class EventLoopWatchdog {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventLoopWatchdog.class);
+    private static final String TASK_INVOKER_CLASS = SingleThreadEventExecutor.class.getName();
+    // 执行任务的方法, 及启用统计或JFR记录时包装任务的方法, 最内层调用的才是任务本身
+    private static final Set<String> TASK_INVOKERS = Set.of(
+            TASK_INVOKER_CLASS + ".safeExecution",
+            TASK_INVOKER_CLASS + ".safeExecutionWithEvent",
+            TASK_INVOKER_CLASS + "$TimedTask.run");
+    private static final String HANDLER_INVOKER_CLASS = "tiny.netty.channel.AbstractChannelHandlerContext";
+
+    private final List<Watched> watched = new CopyOnWriteArrayList<>();
+    private final long thresholdNanos;
+    private final long checkIntervalNanos;
+    private final BlockedEventLoopListener listener;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    public EventLoopWatchdog(long threshold, TimeUnit unit) {
+        this(threshold, unit, EventLoopWatchdog::logBlocked);
+    }
+
+    public EventLoopWatchdog(long threshold, TimeUnit unit, BlockedEventLoopListener listener) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("threshold: " + threshold + " (expected > 0)");
+        }
+        if (unit == null) {
+            throw new IllegalArgumentException("unit is null");
+        }
+        if (listener == null) {
+            throw new IllegalArgumentException("listener is null");
+        }
+        this.thresholdNanos = unit.toNanos(threshold);
+        this.checkIntervalNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(1), thresholdNanos / 4);
+        this.listener = listener;
+        this.thread = new Thread(this::run, "eventLoopWatchdog");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * 监视事件执行组(或单个事件执行器)中的所有{@link SingleThreadEventExecutor}, 已终止的事件执行器会自动移除
+     */
+    public void watch(EventExecutorGroup group) {
+        if (group == null) {
+            throw new IllegalArgumentException("group is null");
+        }
+        for (EventExecutor executor : group) {
+            if (executor instanceof SingleThreadEventExecutor) {
+                watched.add(new Watched((SingleThreadEventExecutor) executor));
+            }
+        }
+    }
+
+    public void unwatch(EventExecutorGroup group) {
+        if (group == null) {
+            throw new IllegalArgumentException("group is null");
+        }
+        for (EventExecutor executor : group) {
+            watched.removeIf(w -> w.executor == executor);
+        }
+    }
+
+    public void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+
+    private void run() {
+        while (running) {
+            LockSupport.parkNanos(this, checkIntervalNanos);
+            long nanoTime = System.nanoTime();
+            for (Watched w : watched) {
+                if (w.executor.isTerminated()) {
+                    watched.remove(w);
+                    continue;
+                }
+                try {
+                    check(w, nanoTime);
+                } catch (Throwable cause) {
+                    logger.warn("Failed to check event loop {}", w.executor, cause);
+                }
+            }
+        }
+    }
+
+    private void check(Watched w, long nanoTime) {
+        SingleThreadEventExecutor executor = w.executor;
+        Thread executorThread = executor.thread();
+        long heartbeat = executor.heartbeat();
+        // 先读心跳再判断是否空闲: 心跳未变且不空闲, 说明上次检查后事件执行器一直在执行同一次循环
+        if (executorThread == null || executor.isAwaitingTasks()) {
+            w.busySince = -1;
+        } else if (heartbeat != w.heartbeat || w.busySince < 0) {
+            w.busySince = nanoTime;
+            w.reported = false;
+        } else if (!w.reported && nanoTime - w.busySince >= thresholdNanos) {
+            w.reported = true;
+            StackTraceElement[] stackTrace = executorThread.getStackTrace();
+            // 采集调用栈期间事件循环可能已经恢复
+            if (executor.heartbeat() == heartbeat) {
+                listener.blocked(executor, nanoTime - w.busySince, runningTask(stackTrace), stackTrace);
+            }
+        }
+        w.heartbeat = heartbeat;
+    }
+
+    /**
+     * 从调用栈中识别正在执行的任务及处理器: 被{@link SingleThreadEventExecutor#safeExecution}调用的方法为任务
+     * (跳过统计及JFR记录的包装), 被ChannelHandlerContext调用的方法为处理器
+     */
+    static String runningTask(StackTraceElement[] stackTrace) {
+        String task = null;
+        String handler = null;
+        // 栈底在后, 从外层向内层查找最内层的调用者
+        for (int i = stackTrace.length - 1; i > 0; i--) {
+            StackTraceElement frame = stackTrace[i];
+            StackTraceElement callee = stackTrace[i - 1];
+            // 跳过lambda的代理类, 取lambda方法本身
+            if (callee.getClassName().contains("$$Lambda$") && i > 1) {
+                callee = stackTrace[i - 2];
+            }
+            if (TASK_INVOKERS.contains(frame.getClassName() + '.' + frame.getMethodName())) {
+                task = name(callee);
+            } else if (frame.getClassName().equals(HANDLER_INVOKER_CLASS)
+                    && !callee.getClassName().equals(HANDLER_INVOKER_CLASS)) {
+                handler = name(callee);
+            }
+        }
+        if (handler != null) {
+            return task == null ? handler : handler + " (task: " + task + ")";
+        }
+        return task == null ? "unknown" : task;
+    }
+
+    private static String name(StackTraceElement frame) {
+        String className = frame.getClassName();
+        return className.substring(className.lastIndexOf('.') + 1) + '.' + frame.getMethodName();
+    }
+
+    private static void logBlocked(SingleThreadEventExecutor executor, long blockedNanos, String task,
+                                   StackTraceElement[] stackTrace) {
+        StringBuilder sb = new StringBuilder();
+        for (StackTraceElement frame : stackTrace) {
+            sb.append("\n\tat ").append(frame);
+        }
+        logger.warn("Event loop {} blocked for {} ms, running: {}{}", executor,
+                TimeUnit.NANOSECONDS.toMillis(blockedNanos), task, sb);
+    }
+
+    // 只由看门狗线程访问
+    private static final class Watched {
+
+        final SingleThreadEventExecutor executor;
+        long heartbeat;
+        long busySince = -1;
+        boolean reported;
+
+        Watched(SingleThreadEventExecutor executor) {
+            this.executor = executor;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package tiny.netty.util.concurrent;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 在{@link EventLoopThread}上按下标访问的线程本地变量, 在其它线程上退化为{@link ThreadLocal}
+ * <p>每个实例占用所有事件循环线程槽位数组中的一个下标, 且下标不会回收, 适合作为静态字段使用</p>
+ *
+ * @author zhaomingming
+ */
+public class FastThreadLocal<V> {
+
+    private static final AtomicInteger nextIndex = new AtomicInteger();
+
+    private final int index;
+    private final ThreadLocal<V> fallback = ThreadLocal.withInitial(this::initialValue);
+
+    public FastThreadLocal() {
+        index = nextIndex.getAndIncrement();
+        if (index < 0) {
+            nextIndex.decrementAndGet();
+            throw new IllegalStateException("too many thread-local indexed variables");
+        }
+    }
+
+    /**
+     * 当前线程第一次访问(或删除后再访问)时的初始值, 默认为null
+     */
+    protected V initialValue() {
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public final V get() {
+        Thread thread = Thread.currentThread();
+        if (thread instanceof EventLoopThread) {
+            EventLoopThread eventLoopThread = (EventLoopThread) thread;
+            Object value = eventLoopThread.slot(index);
+            if (value != EventLoopThread.UNSET) {
+                return (V) value;
+            }
+            V initialValue = initialValue();
+            eventLoopThread.setSlot(index, initialValue);
+            return initialValue;
+        }
+        return fallback.get();
+    }
+
+    public final void set(V value) {
+        Thread thread = Thread.currentThread();
+        if (thread instanceof EventLoopThread) {
+            ((EventLoopThread) thread).setSlot(index, value);
+        } else {
+            fallback.set(value);
+        }
+    }
+
+    public final void remove() {
+        Thread thread = Thread.currentThread();
+        if (thread instanceof EventLoopThread) {
+            EventLoopThread eventLoopThread = (EventLoopThread) thread;
+            if (eventLoopThread.slot(index) != EventLoopThread.UNSET) {
+                eventLoopThread.setSlot(index, EventLoopThread.UNSET);
+            }
+        } else {
+            fallback.remove();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package tiny.netty.util.concurrent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * 单写者的对数线性直方图(HDR风格), 用于记录延迟、批量大小等非负数值
+ * <p>每个2的幂次区间再等分为{@value #SUB_BUCKETS}个桶, 相对误差不超过1/{@value #SUB_BUCKETS}; 记录时没有分配也没有CAS.
+ * 只允许一个线程(事件执行器线程)记录, 其它线程可以随时获取快照, 快照中各个桶的计数不保证是同一时刻的</p>
+ *
+ * @author zhaomingming
+ */
+public final class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+    private static final VarHandle COUNTS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle SUM;
+    private static final VarHandle MAX;
+
+    static {
+        MethodHandles.Lookup l = MethodHandles.lookup();
+        try {
+            SUM = l.findVarHandle(Histogram.class, "sum", long.class);
+            MAX = l.findVarHandle(Histogram.class, "max", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final long[] counts = new long[BUCKETS];
+    private long sum;
+    private long max;
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    // 桶中的最大值
+    static long bucketValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * 记录一个值, 负数按0处理; 只能由同一个线程调用
+     */
+    public void record(long value) {
+        value = Math.max(0, value);
+        int index = bucketIndex(value);
+        COUNTS.setOpaque(counts, index, (long) COUNTS.getOpaque(counts, index) + 1);
+        SUM.setOpaque(this, sum + value);
+        if (value > max) {
+            MAX.setOpaque(this, value);
+        }
+    }
+
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = (long) COUNTS.getOpaque(counts, i);
+            count += copy[i];
+        }
+        return new Snapshot(copy, count, (long) SUM.getOpaque(this), (long) MAX.getOpaque(this));
+    }
+
+    /**
+     * 直方图快照, 不可变
+     */
+    public static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(new long[BUCKETS], 0, 0, 0);
+
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        private Snapshot(long[] counts, long count, long sum, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public long max() {
+            return max;
+        }
+
+        public double mean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * 不小于{@code percentile}%的记录值的最小值(所在桶的上界), 没有记录时返回0
+         *
+         * @param percentile 0 ~ 100
+         */
+        public long valueAtPercentile(double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("percentile: " + percentile + " (expected: 0 <= percentile <= 100)");
+            }
+            if (count == 0) {
+                return 0;
+            }
+            long target = Math.max(1, (long) Math.ceil(count * percentile / 100));
+            long accumulated = 0;
+            for (int i = 0; i < counts.length; i++) {
+                accumulated += counts[i];
+                if (accumulated >= target) {
+                    return Math.min(bucketValue(i), max);
+                }
+            }
+            return max;
+        }
+
+        /**
+         * 合并两个快照, 用于汇总多个事件执行器的统计
+         */
+        public Snapshot merge(Snapshot other) {
+            long[] merged = Arrays.copyOf(counts, BUCKETS);
+            for (int i = 0; i < BUCKETS; i++) {
+                merged[i] += other.counts[i];
+            }
+            return new Snapshot(merged, count + other.count, sum + other.sum, Math.max(max, other.max));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count: %d, mean: %.1f, p50: %d, p99: %d, p999: %d, max: %d",
+                    count, mean(), valueAtPercentile(50), valueAtPercentile(99), valueAtPercentile(99.9), max);
+        }
+    }
+}
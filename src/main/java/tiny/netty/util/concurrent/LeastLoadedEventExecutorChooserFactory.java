@@ -0,0 +1,56 @@
+package tiny.netty.util.concurrent;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 基于负载的事件执行器选择工厂
+ * <p>随机选取两个事件执行器, 返回其中负载较低的一个(power of two choices):
+ * 先比较注册的通道数, 相同时再比较待执行的任务数.
+ * 相比遍历所有事件执行器寻找负载最低者, 只需读取两个执行器的负载, 且不会让所有调用者同时涌向同一个执行器</p>
+ *
+ * @author zhaomingming
+ */
+public class LeastLoadedEventExecutorChooserFactory implements EventExecutorChooserFactory {
+
+    public static final LeastLoadedEventExecutorChooserFactory INSTANCE = new LeastLoadedEventExecutorChooserFactory();
+
+    private LeastLoadedEventExecutorChooserFactory() {
+    }
+
+    @Override
+    public EventExecutorChooser newChooser(EventExecutor[] executors) {
+        if (executors == null) {
+            throw new IllegalArgumentException("executors is null");
+        }
+        if (executors.length == 1) {
+            return () -> executors[0];
+        }
+        return new PowerOfTwoChoicesEventExecutorChooser(executors);
+    }
+
+    static class PowerOfTwoChoicesEventExecutorChooser implements EventExecutorChooser {
+        private final EventExecutor[] executors;
+
+        PowerOfTwoChoicesEventExecutorChooser(EventExecutor[] executors) {
+            this.executors = executors;
+        }
+
+        // 负载比较: 负数表示a的负载较低
+        private static int compareLoad(EventExecutor a, EventExecutor b) {
+            int result = Integer.compare(a.registeredChannels(), b.registeredChannels());
+            return result != 0 ? result : Integer.compare(a.pendingTasks(), b.pendingTasks());
+        }
+
+        @Override
+        public EventExecutor next() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int length = executors.length;
+            int i = random.nextInt(length);
+            // 保证两次选取的执行器不同
+            int j = (i + 1 + random.nextInt(length - 1)) % length;
+            EventExecutor a = executors[i];
+            EventExecutor b = executors[j];
+            return compareLoad(a, b) <= 0 ? a : b;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package tiny.netty.util.concurrent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 有界无锁多生产者单消费者队列(Multi-Producer Single-Consumer)
+ * <p>基于环形数组实现, 生产者通过CAS竞争生产者索引, 入队时不分配任何节点; 只允许一个线程(事件执行器线程)出队.</p>
+ * <p>容量会向上取整为2的幂次方</p>
+ *
+ * @author zhaomingming
+ * @see <a href="https://github.com/JCTools/JCTools">JCTools</a>
+ */
+public final class MpscArrayQueue<E> extends AbstractQueue<E> {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final VarHandle ARRAY_HANDLE = MethodHandles.arrayElementVarHandle(Object[].class);
+    private static final VarHandle PRODUCER_INDEX_HANDLE;
+    private static final VarHandle PRODUCER_LIMIT_HANDLE;
+    private static final VarHandle CONSUMER_INDEX_HANDLE;
+
+    static {
+        MethodHandles.Lookup l = MethodHandles.lookup();
+        try {
+            PRODUCER_INDEX_HANDLE = l.findVarHandle(MpscArrayQueue.class, "producerIndex", long.class);
+            PRODUCER_LIMIT_HANDLE = l.findVarHandle(MpscArrayQueue.class, "producerLimit", long.class);
+            CONSUMER_INDEX_HANDLE = l.findVarHandle(MpscArrayQueue.class, "consumerIndex", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Object[] buffer;
+    private final int mask;
+    private volatile long producerIndex;
+    // 生产者可用的索引上限, 缓存下来以减少对消费者索引的读取
+    private volatile long producerLimit;
+    private volatile long consumerIndex;
+
+    public MpscArrayQueue(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("capacity: " + capacity + " (expected >= 2)");
+        }
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity: " + capacity + " (expected <= " + MAX_CAPACITY + ")");
+        }
+        int actualCapacity = 1 << (32 - Integer.numberOfLeadingZeros(capacity - 1));
+        this.buffer = new Object[actualCapacity];
+        this.mask = actualCapacity - 1;
+        this.producerLimit = actualCapacity;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException("e");
+        }
+        long limit = producerLimit;
+        long pIndex;
+        do {
+            pIndex = producerIndex;
+            if (pIndex >= limit) {
+                // 缓存的上限已用完, 根据消费者索引重新计算
+                limit = consumerIndex + capacity();
+                if (pIndex >= limit) {
+                    // 队列已满
+                    return false;
+                }
+                PRODUCER_LIMIT_HANDLE.setRelease(this, limit);
+            }
+        } while (!PRODUCER_INDEX_HANDLE.compareAndSet(this, pIndex, pIndex + 1));
+        ARRAY_HANDLE.setRelease(buffer, offset(pIndex), e);
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long cIndex = (long) CONSUMER_INDEX_HANDLE.getOpaque(this);
+        int offset = offset(cIndex);
+        Object e = ARRAY_HANDLE.getAcquire(buffer, offset);
+        if (e == null) {
+            if (cIndex == producerIndex) {
+                return null;
+            }
+            // 生产者已占用该位置但还未写入元素, 自旋等待
+            do {
+                Thread.onSpinWait();
+                e = ARRAY_HANDLE.getAcquire(buffer, offset);
+            } while (e == null);
+        }
+        ARRAY_HANDLE.setRelease(buffer, offset, null);
+        CONSUMER_INDEX_HANDLE.setRelease(this, cIndex + 1);
+        return (E) e;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        long cIndex = (long) CONSUMER_INDEX_HANDLE.getOpaque(this);
+        int offset = offset(cIndex);
+        Object e = ARRAY_HANDLE.getAcquire(buffer, offset);
+        if (e == null) {
+            if (cIndex == producerIndex) {
+                return null;
+            }
+            do {
+                Thread.onSpinWait();
+                e = ARRAY_HANDLE.getAcquire(buffer, offset);
+            } while (e == null);
+        }
+        return (E) e;
+    }
+
+    @Override
+    public int size() {
+        // 两次读取消费者索引之间生产者索引可能发生变化, 直至读到一致的快照
+        long after = consumerIndex;
+        for (; ; ) {
+            long before = after;
+            long pIndex = producerIndex;
+            after = consumerIndex;
+            if (before == after) {
+                return (int) Math.min(pIndex - after, Integer.MAX_VALUE);
+            }
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return consumerIndex == producerIndex;
+    }
+
+    /**
+     * 弱一致性的迭代器: 遍历创建时消费者索引到生产者索引之间的元素, 不会抛出{@link java.util.ConcurrentModificationException};
+     * 遍历期间已出队的元素会被跳过, 也可能返回创建后才入队的元素. 不支持{@link Iterator#remove()}, 因此也不支持{@link #remove(Object)}
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new WeakIterator(consumerIndex, producerIndex);
+    }
+
+    private int offset(long index) {
+        return (int) index & mask;
+    }
+
+    private final class WeakIterator implements Iterator<E> {
+
+        private final long pIndex;
+        private long nextIndex;
+        private E nextElement;
+
+        WeakIterator(long cIndex, long pIndex) {
+            this.nextIndex = cIndex;
+            this.pIndex = pIndex;
+            this.nextElement = getNext();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextElement != null;
+        }
+
+        @Override
+        public E next() {
+            final E e = nextElement;
+            if (e == null) {
+                throw new NoSuchElementException();
+            }
+            nextElement = getNext();
+            return e;
+        }
+
+        @SuppressWarnings("unchecked")
+        private E getNext() {
+            while (nextIndex < pIndex) {
+                // 为null表示已出队, 或生产者已占用该位置但还未写入元素
+                Object e = ARRAY_HANDLE.getAcquire(buffer, offset(nextIndex++));
+                if (e != null) {
+                    return (E) e;
+                }
+            }
+            return null;
+        }
+    }
+}
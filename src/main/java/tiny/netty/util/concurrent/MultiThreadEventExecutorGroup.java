@@ -3,8 +3,10 @@ package tiny.netty.util.concurrent;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -25,7 +27,18 @@ public abstract class MultiThreadEventExecutorGroup extends AbstractEventExecuto
         this(nThreads, new ThreadPerTaskExecutor(threadFactory), args);
     }
 
+    protected MultiThreadEventExecutorGroup(int nThreads, ThreadFactory threadFactory, EventExecutorChooserFactory chooserFactory, Object... args) {
+        this(nThreads, new ThreadPerTaskExecutor(threadFactory), chooserFactory, args);
+    }
+
     protected MultiThreadEventExecutorGroup(int nThreads, Executor executor, Object... args) {
+        this(nThreads, executor, DefaultEventExecutorChooserFactory.INSTANCE, args);
+    }
+
+    protected MultiThreadEventExecutorGroup(int nThreads, Executor executor, EventExecutorChooserFactory chooserFactory, Object... args) {
+        if (chooserFactory == null) {
+            throw new IllegalArgumentException("chooserFactory is null");
+        }
         this.children = new EventExecutor[nThreads];
         AtomicInteger terminatedChildren = new AtomicInteger();
         for (int i = 0; i < nThreads; i++) {
@@ -37,7 +50,7 @@ public abstract class MultiThreadEventExecutorGroup extends AbstractEventExecuto
             });
         }
         this.readonlyChildren = Set.of(children);
-        this.chooser = EventExecutorChooserFactory.INSTANCE.newChooser(children);
+        this.chooser = chooserFactory.newChooser(children);
     }
 
     protected abstract EventExecutor newChild(Executor executor, Object... args);
@@ -47,6 +60,16 @@ public abstract class MultiThreadEventExecutorGroup extends AbstractEventExecuto
         return chooser.next();
     }
 
+    @Override
+    public EventExecutor next(Object key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        int h = key.hashCode();
+        // 高位参与运算, 避免哈希值低位相同的key集中到同一个执行器上
+        return children[Math.floorMod(h ^ (h >>> 16), children.length)];
+    }
+
     @Override
     public Iterator<EventExecutor> iterator() {
         return readonlyChildren.iterator();
@@ -91,8 +114,53 @@ public abstract class MultiThreadEventExecutorGroup extends AbstractEventExecuto
         return true;
     }
 
+    /**
+     * 启用或禁用所有事件执行器的运行统计, 见{@link SingleThreadEventExecutor#setMetricsEnabled(boolean)}
+     */
+    public void setMetricsEnabled(boolean enabled) {
+        for (EventExecutor child : children) {
+            if (child instanceof SingleThreadEventExecutor) {
+                ((SingleThreadEventExecutor) child).setMetricsEnabled(enabled);
+            }
+        }
+    }
+
+    /**
+     * 所有事件执行器运行统计的汇总, 可在任意线程调用; 没有{@link SingleThreadEventExecutor}类型的事件执行器时返回null
+     */
+    public EventExecutorMetrics.Snapshot metrics() {
+        EventExecutorMetrics.Snapshot aggregate = null;
+        for (EventExecutor child : children) {
+            if (child instanceof SingleThreadEventExecutor) {
+                EventExecutorMetrics.Snapshot snapshot = ((SingleThreadEventExecutor) child).metrics();
+                aggregate = aggregate == null ? snapshot : aggregate.merge(snapshot);
+            }
+        }
+        return aggregate;
+    }
+
     @Override
     public void execute(Runnable task) {
         next().execute(task);
     }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return next().schedule(command, delay, unit);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        return next().schedule(callable, delay, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        return next().scheduleAtFixedRate(command, initialDelay, period, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        return next().scheduleWithFixedDelay(command, initialDelay, delay, unit);
+    }
 }
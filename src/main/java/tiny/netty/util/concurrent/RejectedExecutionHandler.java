@@ -0,0 +1,21 @@
+package tiny.netty.util.concurrent;
+
+/**
+ * 拒绝执行处理器
+ * <p>事件执行器正在关闭或任务队列已满时, 由该处理器决定如何处理新提交的任务</p>
+ *
+ * @author zhaomingming
+ * @see RejectedExecutionHandlers
+ */
+@FunctionalInterface
+public interface RejectedExecutionHandler {
+
+    /**
+     * 任务被拒绝时回调, 在提交任务的线程中执行; 抛出{@link java.util.concurrent.RejectedExecutionException}表示拒绝
+     *
+     * @param task     被拒绝的任务
+     * @param executor 拒绝该任务的事件执行器
+     * @return 任务是否被丢弃(既未执行也未重新入队), 丢弃的任务与抛出异常一样计入{@link SingleThreadEventExecutor#rejectedTasks()}
+     */
+    boolean rejected(Runnable task, SingleThreadEventExecutor executor);
+}
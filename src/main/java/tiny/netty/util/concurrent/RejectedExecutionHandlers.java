@@ -0,0 +1,112 @@
+package tiny.netty.util.concurrent;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 常用的拒绝执行策略
+ *
+ * @author zhaomingming
+ */
+public final class RejectedExecutionHandlers {
+
+    private static final RejectedExecutionHandler REJECT = (task, executor) -> {
+        throw new RejectedExecutionException(rejectedMessage(executor));
+    };
+
+    private static final RejectedExecutionHandler CALLER_RUNS = (task, executor) -> {
+        if (executor.isShuttingDown()) {
+            throw new RejectedExecutionException(rejectedMessage(executor));
+        }
+        // 注意: 任务将不在事件执行器线程中执行
+        task.run();
+        return false;
+    };
+
+    private RejectedExecutionHandlers() {
+    }
+
+    private static String rejectedMessage(SingleThreadEventExecutor executor) {
+        return executor.isShuttingDown() ? "event executor is shutting down" : "task queue is full";
+    }
+
+    /**
+     * 快速失败: 抛出{@link RejectedExecutionException}
+     */
+    public static RejectedExecutionHandler reject() {
+        return REJECT;
+    }
+
+    /**
+     * 由提交任务的线程直接执行任务, 事件执行器正在关闭时抛出{@link RejectedExecutionException}
+     */
+    public static RejectedExecutionHandler callerRuns() {
+        return CALLER_RUNS;
+    }
+
+    /**
+     * 阻塞提交任务的线程, 直至任务队列有空闲位置或超时, 超时则抛出{@link RejectedExecutionException}
+     * <p>事件执行器线程自己提交任务时不会阻塞(否则永远等不到任务队列被消费), 直接抛出异常</p>
+     */
+    public static RejectedExecutionHandler block(long timeout, TimeUnit unit) {
+        if (timeout <= 0) {
+            throw new IllegalArgumentException("timeout: " + timeout + " (expected > 0)");
+        }
+        if (unit == null) {
+            throw new IllegalArgumentException("unit is null");
+        }
+        long timeoutNanos = unit.toNanos(timeout);
+        return (task, executor) -> {
+            if (!executor.inEventLoop()) {
+                // 其它事件执行器线程提交任务时同样不应阻塞
+                BlockingCallDetector.check("RejectedExecutionHandlers.block()");
+                long deadline = System.nanoTime() + timeoutNanos;
+                long parkNanos = TimeUnit.MICROSECONDS.toNanos(10);
+                while (!executor.isShuttingDown()) {
+                    // 唤醒事件循环, 尽快消费任务队列
+                    executor.wakeup(false);
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    LockSupport.parkNanos(Math.min(parkNanos, remaining));
+                    if (executor.offerTask(task)) {
+                        executor.wakeup(false);
+                        return false;
+                    }
+                    // 指数退避, 最多等待1毫秒后重试
+                    parkNanos = Math.min(parkNanos << 1, TimeUnit.MILLISECONDS.toNanos(1));
+                }
+            }
+            throw new RejectedExecutionException(rejectedMessage(executor));
+        };
+    }
+
+    /**
+     * 丢弃任务并计数
+     */
+    public static DiscardPolicy discard() {
+        return new DiscardPolicy();
+    }
+
+    public static final class DiscardPolicy implements RejectedExecutionHandler {
+
+        private final LongAdder discardedTasks = new LongAdder();
+
+        private DiscardPolicy() {
+        }
+
+        @Override
+        public boolean rejected(Runnable task, SingleThreadEventExecutor executor) {
+            discardedTasks.increment();
+            return true;
+        }
+
+        // 已丢弃的任务数
+        public long discardedTasks() {
+            return discardedTasks.sum();
+        }
+    }
+}
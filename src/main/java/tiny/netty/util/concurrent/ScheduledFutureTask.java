@@ -0,0 +1,128 @@
+package tiny.netty.util.concurrent;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 调度任务
+ * <p>只由所属事件执行器的线程执行, 周期任务执行完成后会重新加入调度队列</p>
+ *
+ * @author zhaomingming
+ */
+final class ScheduledFutureTask<V> extends CompletableFuture<V> implements ScheduledFuture<V>, Runnable {
+
+    private static final long START_TIME = System.nanoTime();
+
+    private final AbstractScheduledEventExecutor executor;
+    private final Callable<V> task;
+    // 0: 非周期任务, > 0: 固定频率, < 0: 固定延迟
+    private final long periodNanos;
+    private long deadlineNanos;
+    // 截止时间相同时, 按照加入调度队列的先后顺序执行
+    private long id;
+
+    ScheduledFutureTask(AbstractScheduledEventExecutor executor, Callable<V> task, long deadlineNanos, long periodNanos) {
+        this.executor = executor;
+        this.task = task;
+        this.deadlineNanos = deadlineNanos;
+        this.periodNanos = periodNanos;
+    }
+
+    // 相对于类加载时间的纳秒数, 避免System.nanoTime()为负数时截止时间计算溢出
+    static long nanoTime() {
+        return System.nanoTime() - START_TIME;
+    }
+
+    static long deadlineNanos(long delayNanos) {
+        long deadlineNanos = nanoTime() + delayNanos;
+        // 溢出
+        return deadlineNanos < 0 ? Long.MAX_VALUE : deadlineNanos;
+    }
+
+    ScheduledFutureTask<V> setId(long id) {
+        this.id = id;
+        return this;
+    }
+
+    long deadlineNanos() {
+        return deadlineNanos;
+    }
+
+    long delayNanos(long currentTimeNanos) {
+        return Math.max(0, deadlineNanos - currentTimeNanos);
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(delayNanos(nanoTime()), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed o) {
+        if (this == o) {
+            return 0;
+        }
+        ScheduledFutureTask<?> that = (ScheduledFutureTask<?>) o;
+        long d = deadlineNanos - that.deadlineNanos;
+        if (d < 0) {
+            return -1;
+        } else if (d > 0) {
+            return 1;
+        } else if (id < that.id) {
+            return -1;
+        } else {
+            assert id != that.id;
+            return 1;
+        }
+    }
+
+    @Override
+    public void run() {
+        assert executor.inEventLoop();
+        if (isDone()) {
+            return;
+        }
+        try {
+            if (periodNanos == 0) {
+                complete(task.call());
+                return;
+            }
+            task.call();
+            if (isDone()) {
+                return;
+            }
+            if (periodNanos > 0) {
+                deadlineNanos += periodNanos;
+            } else {
+                deadlineNanos = nanoTime() - periodNanos;
+            }
+            if (!executor.isShuttingDown()) {
+                executor.scheduleFromEventLoop(this);
+            }
+        } catch (Throwable cause) {
+            completeExceptionally(cause);
+        }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean canceled = super.cancel(mayInterruptIfRunning);
+        if (canceled) {
+            executor.removeScheduled(this);
+        }
+        return canceled;
+    }
+
+    // 取消但不从调度队列中删除, 由调度队列的持有者负责清空队列
+    boolean cancelWithoutRemove() {
+        return super.cancel(false);
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + "(task: " + task + ", deadline: " + deadlineNanos + ", period: " + periodNanos + ')';
+    }
+}
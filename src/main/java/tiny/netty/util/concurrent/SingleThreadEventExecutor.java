@@ -8,18 +8,23 @@ import java.lang.invoke.VarHandle;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 单线程事件执行器
  *
  * @author zhaomingming
  */
-public abstract class SingleThreadEventExecutor extends AbstractEventExecutor {
+public abstract class SingleThreadEventExecutor extends AbstractScheduledEventExecutor {
 
+    protected static final int DEFAULT_MAX_PENDING_TASKS = 1 << 16;
+    // 每执行若干任务才更新一次缓存时间(同时检查是否超时)
+    private static final int CLOCK_UPDATE_INTERVAL = 64;
+    private static final long REJECTION_LOG_INTERVAL = TimeUnit.SECONDS.toNanos(1);
     private static final int ST_NOT_STARTED = 1;
     private static final int ST_STARTED = 2;
     private static final int ST_SHUTTING_DOWN = 3;
@@ -33,6 +38,8 @@ public abstract class SingleThreadEventExecutor extends AbstractEventExecutor {
         } catch (ReflectiveOperationException e) {
             throw new ExceptionInInitializerError(e);
         }
+        // JFR事件类首次初始化需要数百毫秒, 提前在创建事件执行器的线程中完成, 不占用事件循环线程
+        TaskExecutionEvent.enabled();
     }
 
     protected final Logger logger = LoggerFactory.getLogger(this.getClass());
@@ -40,12 +47,25 @@ public abstract class SingleThreadEventExecutor extends AbstractEventExecutor {
     private final EventExecutorGroup parent;
     private final Executor executor;
     private final Queue<Runnable> taskQueue;
+    private final RejectedExecutionHandler rejectedExecutionHandler;
+    private final AtomicLong lastRejectionLogTime = new AtomicLong(System.nanoTime() - REJECTION_LOG_INTERVAL);
+    private final AtomicLong suppressedRejections = new AtomicLong();
+    // 被丢弃或拒绝的任务数
+    private final AtomicLong rejectedTasks = new AtomicLong();
     private final Semaphore awaitTerminationLock = new Semaphore(0);
     private volatile int state = ST_NOT_STARTED;
     private volatile Thread thread;
     private volatile long gracefullyShutdownQuietPeriod;
     private volatile long gracefullyShutdownTimeout;
+    // 未启用统计时为null, 事件执行器线程每次循环读取一次
+    private volatile EventExecutorMetrics metrics;
+    // 每次循环加一, 只由事件执行器线程写, 供EventLoopWatchdog判断事件循环是否停滞
+    private volatile long heartbeat;
+    // 最近一次runAllTasks()执行的任务数, 只由事件执行器线程访问
+    private long lastRunTasks;
     private long lastExecutionTime;
+    // 只由事件执行器线程访问
+    private long cachedNanoTime = System.nanoTime();
     private long gracefullyShutdownStartTime;
 
     protected SingleThreadEventExecutor(EventExecutorGroup parent, ThreadFactory factory) {
@@ -53,12 +73,31 @@ public abstract class SingleThreadEventExecutor extends AbstractEventExecutor {
     }
 
     protected SingleThreadEventExecutor(EventExecutorGroup parent, Executor executor) {
+        this(parent, executor, DEFAULT_MAX_PENDING_TASKS, TaskQueueFactory.MPSC);
+    }
+
+    protected SingleThreadEventExecutor(EventExecutorGroup parent, Executor executor, int maxPendingTasks, TaskQueueFactory taskQueueFactory) {
+        this(parent, executor, maxPendingTasks, taskQueueFactory, RejectedExecutionHandlers.discard());
+    }
+
+    protected SingleThreadEventExecutor(EventExecutorGroup parent, Executor executor, int maxPendingTasks,
+                                        TaskQueueFactory taskQueueFactory, RejectedExecutionHandler rejectedExecutionHandler) {
         if (executor == null) {
             throw new IllegalArgumentException("executor is null");
         }
+        if (maxPendingTasks < 2) {
+            throw new IllegalArgumentException("maxPendingTasks: " + maxPendingTasks + " (expected >= 2)");
+        }
+        if (taskQueueFactory == null) {
+            throw new IllegalArgumentException("taskQueueFactory is null");
+        }
+        if (rejectedExecutionHandler == null) {
+            throw new IllegalArgumentException("rejectedExecutionHandler is null");
+        }
         this.parent = parent;
         this.executor = executor;
-        taskQueue = new LinkedBlockingQueue<>(16);
+        this.taskQueue = taskQueueFactory.newTaskQueue(maxPendingTasks);
+        this.rejectedExecutionHandler = rejectedExecutionHandler;
     }
 
     @Override
@@ -74,14 +113,60 @@ public abstract class SingleThreadEventExecutor extends AbstractEventExecutor {
 
     @Override
     public void execute(Runnable task) {
+        execute(task, true);
+    }
+
+    @Override
+    public void lazyExecute(Runnable task) {
+        execute(task, false);
+    }
+
+    private void execute(Runnable task, boolean immediate) {
         if (task == null)
             throw new IllegalArgumentException("task is null");
-        if (isShuttingDown() || !taskQueue.offer(task)) {
-            // TODO reject execution policy
-            logger.warn("Reject execution, executor is shutting down or taskQueue is full. Task: {}", task);
+        if (metrics != null) {
+            task = new TimedTask(task, System.nanoTime());
+        }
+        if (!offerTask(task)) {
+            reject(task);
             return;
         }
         startThread();
+        // 唤醒可能阻塞在select()上的事件循环
+        if (immediate && !inEventLoop()) {
+            wakeup(false);
+        }
+    }
+
+    final boolean offerTask(Runnable task) {
+        return !isShuttingDown() && taskQueue.offer(task);
+    }
+
+    protected final void reject(Runnable task) {
+        // 只在任务真正被丢弃或拒绝时记录; 被阻塞后重新入队、由调用者执行的任务不算
+        boolean dropped;
+        try {
+            dropped = rejectedExecutionHandler.rejected(task, this);
+        } catch (RejectedExecutionException e) {
+            logRejection(task);
+            throw e;
+        }
+        if (dropped) {
+            logRejection(task);
+        }
+    }
+
+    // 过载时每次拒绝都打印日志会造成日志风暴, 因此每秒最多打印一次, 并带上期间被忽略的次数
+    private void logRejection(Runnable task) {
+        rejectedTasks.incrementAndGet();
+        long lastLogTime = lastRejectionLogTime.get();
+        long nanoTime = System.nanoTime();
+        if (nanoTime - lastLogTime >= REJECTION_LOG_INTERVAL && lastRejectionLogTime.compareAndSet(lastLogTime, nanoTime)) {
+            logger.warn("Reject execution, executor is shutting down or taskQueue is full ({} more rejections since last log). Task: {}",
+                    suppressedRejections.getAndSet(0), task);
+        } else {
+            suppressedRejections.incrementAndGet();
+        }
     }
 
     private void startThread() {
@@ -100,8 +185,9 @@ public abstract class SingleThreadEventExecutor extends AbstractEventExecutor {
         assert thread == null;
         executor.execute(() -> {
             thread = Thread.currentThread();
+            EventLoopThread.setCurrentExecutor(this);
             try {
-                lastExecutionTime = naoTime();
+                lastExecutionTime = updateCachedNanoTime();
                 this.run();
             } catch (Throwable cause) {
                 logger.warn("Unexpected exception from an event executor:", cause);
@@ -122,9 +208,11 @@ public abstract class SingleThreadEventExecutor extends AbstractEventExecutor {
                     try {
                         cleanup();
                     } finally {
+                        EventLoopThread.setCurrentExecutor(null);
                         ST_HANDLE.set(this, ST_TERMINATED);
-                        awaitTerminationLock.release();
+                        // 先完成terminationFuture, 保证awaitTermination()返回时终止回调(如事件执行组的计数)已执行
                         terminationFuture.complete(null);
+                        awaitTerminationLock.release();
                     }
                 }
             }
@@ -138,6 +226,7 @@ public abstract class SingleThreadEventExecutor extends AbstractEventExecutor {
         if (!inEventLoop()) {
             throw new IllegalStateException("must be invoked from an event executor");
         }
+        cancelScheduledTasks();
         if (gracefullyShutdownStartTime == 0) {
             gracefullyShutdownStartTime = naoTime();
         }
@@ -169,26 +258,215 @@ public abstract class SingleThreadEventExecutor extends AbstractEventExecutor {
         return true;
     }
 
+    @Override
+    public int pendingTasks() {
+        return taskQueue.size();
+    }
+
     protected boolean hasTask() {
         return !taskQueue.isEmpty();
     }
 
     protected boolean runAllTasks() {
         assert inEventLoop();
-        // TODO 加上调度任务
+        heartbeat = heartbeat + 1;
+        final EventExecutorMetrics metrics = this.metrics;
+        final long startTime = updateCachedNanoTime();
+        fetchFromScheduledTaskQueue();
         Runnable task = taskQueue.poll();
         if (task == null) {
+            afterRunningAllTasks();
+            lastRunTasks = 0;
+            recordIteration(metrics, 0, 0);
             return false;
         }
+        long runTasks = 0;
         while (task != null) {
+            recordTaskLatency(metrics, task);
             safeExecution(task);
-            lastExecutionTime = naoTime();
+            if ((++runTasks & (CLOCK_UPDATE_INTERVAL - 1)) == 0) {
+                updateCachedNanoTime();
+            }
             task = taskQueue.poll();
         }
+        lastExecutionTime = updateCachedNanoTime();
+        afterRunningAllTasks();
+        lastRunTasks = runTasks;
+        recordIteration(metrics, runTasks, lastExecutionTime - startTime);
+        return true;
+    }
+
+    /**
+     * 在给定时间内执行任务队列中的任务
+     * <p>每执行{@value #CLOCK_UPDATE_INTERVAL}个任务才更新一次缓存时间并检查是否超时.
+     * timeoutNanos小于等于0时, 最多执行{@value #CLOCK_UPDATE_INTERVAL}个任务</p>
+     */
+    protected boolean runAllTasks(long timeoutNanos) {
+        assert inEventLoop();
+        heartbeat = heartbeat + 1;
+        final EventExecutorMetrics metrics = this.metrics;
+        final long startTime = updateCachedNanoTime();
+        final long deadline = startTime + Math.max(0, timeoutNanos);
+        fetchFromScheduledTaskQueue();
+        Runnable task = taskQueue.poll();
+        if (task == null) {
+            afterRunningAllTasks();
+            lastRunTasks = 0;
+            recordIteration(metrics, 0, 0);
+            return false;
+        }
+        long runTasks = 0;
+        for (; ; ) {
+            recordTaskLatency(metrics, task);
+            safeExecution(task);
+            if ((++runTasks & (CLOCK_UPDATE_INTERVAL - 1)) == 0) {
+                if (updateCachedNanoTime() - deadline >= 0) {
+                    break;
+                }
+            }
+            task = taskQueue.poll();
+            if (task == null) {
+                break;
+            }
+        }
+        lastExecutionTime = updateCachedNanoTime();
+        afterRunningAllTasks();
+        lastRunTasks = runTasks;
+        recordIteration(metrics, runTasks, lastExecutionTime - startTime);
+        return true;
+    }
+
+    private static void recordTaskLatency(EventExecutorMetrics metrics, Runnable task) {
+        if (metrics != null && task instanceof TimedTask) {
+            metrics.recordTaskLatency(System.nanoTime() - ((TimedTask) task).submitTime);
+        }
+    }
+
+    private static void recordIteration(EventExecutorMetrics metrics, long runTasks, long taskTimeNanos) {
+        if (metrics != null) {
+            metrics.recordIteration(runTasks, taskTimeNanos);
+        }
+    }
+
+    /**
+     * 启用或禁用运行统计(队列深度、任务延迟、每次循环的任务数、任务及I/O耗时等), 默认禁用
+     * <p>禁用时只多一次volatile读; 启用后提交的任务会记录提交时间, 事件执行器线程记录统计值, 任意线程可通过{@link #metrics()}获取快照.
+     * 重新启用时统计值从零开始</p>
+     */
+    public void setMetricsEnabled(boolean enabled) {
+        if (enabled != isMetricsEnabled()) {
+            metrics = enabled ? new EventExecutorMetrics() : null;
+        }
+    }
+
+    public boolean isMetricsEnabled() {
+        return metrics != null;
+    }
+
+    /**
+     * 运行统计的快照, 可在任意线程调用, 不会阻塞事件执行器; 未启用统计时只有队列深度及唤醒次数
+     */
+    public EventExecutorMetrics.Snapshot metrics() {
+        final EventExecutorMetrics metrics = this.metrics;
+        return metrics == null ? EventExecutorMetrics.emptySnapshot(pendingTasks(), wakeupsIssued(), wakeupsElided(), rejectedTasks())
+                : metrics.snapshot(pendingTasks(), wakeupsIssued(), wakeupsElided(), rejectedTasks());
+    }
+
+    /**
+     * 统计记录器, 未启用统计时返回null; 子类在事件执行器线程中记录I/O相关的统计值
+     */
+    protected final EventExecutorMetrics metricsRecorder() {
+        return metrics;
+    }
+
+    /**
+     * 其它线程提交任务时实际唤醒事件执行器的次数, 子类实现了唤醒时才有意义
+     */
+    public long wakeupsIssued() {
+        return 0;
+    }
+
+    /**
+     * 其它线程提交任务时省去的唤醒次数, 子类实现了唤醒时才有意义
+     */
+    public long wakeupsElided() {
+        return 0;
+    }
+
+    /**
+     * 缓存的{@link System#nanoTime()}, 在事件执行器线程中调用时返回每次执行任务前(及每执行若干任务后)更新的值,
+     * 省去每次读取时钟的开销, 误差为两次更新间执行任务的耗时; 在其它线程中调用时返回{@link System#nanoTime()}
+     */
+    @Override
+    public long cachedNanoTime() {
+        return inEventLoop() ? cachedNanoTime : System.nanoTime();
+    }
+
+    /**
+     * 读取时钟更新缓存时间并返回, 子类可以在一次循环中其它需要较新时间的地方调用(如select()返回后)
+     */
+    protected final long updateCachedNanoTime() {
+        assert inEventLoop();
+        return cachedNanoTime = System.nanoTime();
+    }
+
+    /**
+     * 最近一次{@link #runAllTasks()}(或{@link #runAllTasks(long)})执行的任务数, 只能在事件执行器线程中调用
+     */
+    protected final long lastRunTasks() {
+        assert inEventLoop();
+        return lastRunTasks;
+    }
+
+    /**
+     * 事件执行器线程是否正阻塞等待新任务或I/O事件(空闲), 由{@link EventLoopWatchdog}在其它线程中调用;
+     * 返回false时, 心跳长时间不变即认为事件循环被阻塞
+     */
+    protected boolean isAwaitingTasks() {
+        return false;
+    }
+
+    /**
+     * 被拒绝(拒绝执行处理器抛出异常)或被丢弃的任务数
+     */
+    public long rejectedTasks() {
+        return rejectedTasks.get();
+    }
+
+    long heartbeat() {
+        return heartbeat;
+    }
+
+    Thread thread() {
+        return thread;
+    }
+
+    /**
+     * 每次执行完任务队列中的任务后回调, 子类可以在这里执行每次循环只需执行一次的任务
+     */
+    protected void afterRunningAllTasks() {
+    }
+
+    // 将已到期的调度任务转移至任务队列
+    private boolean fetchFromScheduledTaskQueue() {
+        long nanoTime = nanoTime();
+        Runnable scheduledTask;
+        while ((scheduledTask = pollScheduledTask(nanoTime)) != null) {
+            if (!taskQueue.offer(scheduledTask)) {
+                // 任务队列已满, 放回调度队列等待下一次转移
+                returnScheduledTask(scheduledTask);
+                return false;
+            }
+        }
         return true;
     }
 
     protected void safeExecution(Runnable task) {
+        // 未开始JFR记录时恒为false
+        if (TaskExecutionEvent.enabled()) {
+            safeExecutionWithEvent(task);
+            return;
+        }
         try {
             task.run();
         } catch (Throwable cause) {
@@ -196,6 +474,24 @@ public abstract class SingleThreadEventExecutor extends AbstractEventExecutor {
         }
     }
 
+    private void safeExecutionWithEvent(Runnable task) {
+        TaskExecutionEvent event = new TaskExecutionEvent();
+        event.begin();
+        try {
+            task.run();
+        } catch (Throwable cause) {
+            logger.warn("A task raised an exception. Task: {}", task, cause);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                Runnable actual = task instanceof TimedTask ? ((TimedTask) task).task : task;
+                event.taskClass = actual.getClass();
+                event.task = actual.toString();
+                event.commit();
+            }
+        }
+    }
+
     protected abstract void run();
 
     protected abstract void cleanup();
@@ -278,9 +574,32 @@ public abstract class SingleThreadEventExecutor extends AbstractEventExecutor {
         if (timeUnit == null) {
             throw new IllegalArgumentException("timeUnit is null");
         }
+        BlockingCallDetector.checkDeadlock(this, "awaitTermination()");
         if (awaitTerminationLock.tryAcquire(1, timeout, timeUnit)) {
             awaitTerminationLock.release();
         }
         return isTerminated();
     }
+
+    // 启用统计时提交的任务, 记录提交时间用于统计任务延迟
+    private static final class TimedTask implements Runnable {
+
+        private final Runnable task;
+        private final long submitTime;
+
+        TimedTask(Runnable task, long submitTime) {
+            this.task = task;
+            this.submitTime = submitTime;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+
+        @Override
+        public String toString() {
+            return task.toString();
+        }
+    }
 }
@@ -0,0 +1,35 @@
+package tiny.netty.util.concurrent;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR事件: 事件执行器执行的耗时任务, 只记录超过阈值(默认10毫秒)的任务
+ *
+ * @author zhaomingming
+ */
+@Name("tiny.netty.TaskExecution")
+@Label("Task Execution")
+@Category({"tiny-netty", "Event Loop"})
+@Description("A task that ran on an event loop longer than the threshold")
+@Threshold("10 ms")
+@StackTrace(false)
+final class TaskExecutionEvent extends jdk.jfr.Event {
+
+    // 只用于判断事件是否启用, 未开始记录时isEnabled()恒为false
+    private static final TaskExecutionEvent PROBE = new TaskExecutionEvent();
+
+    @Label("Task Class")
+    Class<?> taskClass;
+
+    @Label("Task")
+    String task;
+
+    static boolean enabled() {
+        return PROBE.isEnabled();
+    }
+}
@@ -0,0 +1,22 @@
+package tiny.netty.util.concurrent;
+
+import java.util.Queue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * 任务队列工厂
+ * <p>任务队列可能被多个线程同时写入, 但只会被事件执行器线程读取</p>
+ *
+ * @author zhaomingming
+ */
+@FunctionalInterface
+public interface TaskQueueFactory {
+
+    // 无锁多生产者单消费者队列
+    TaskQueueFactory MPSC = MpscArrayQueue::new;
+
+    // 基于锁的阻塞队列, 每个任务都会分配一个节点
+    TaskQueueFactory LINKED_BLOCKING = LinkedBlockingQueue::new;
+
+    Queue<Runnable> newTaskQueue(int maxPendingTasks);
+}
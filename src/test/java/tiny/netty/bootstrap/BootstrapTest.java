@@ -0,0 +1,103 @@
+package tiny.netty.bootstrap;
+
+import org.junit.Test;
+import tiny.netty.channel.Channel;
+import tiny.netty.channel.ChannelFuture;
+import tiny.netty.channel.ChannelInboundHandlerAdapter;
+import tiny.netty.channel.ChannelOption;
+import tiny.netty.channel.ConnectTimeoutException;
+import tiny.netty.channel.nio.NioEventLoopGroup;
+import tiny.netty.channel.nio.NioSocketChannel;
+
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 测试
+ *
+ * @author zhaomingming
+ */
+public class BootstrapTest {
+
+    @Test
+    public void testConnectTimeout() throws Exception {
+        NioEventLoopGroup group = new NioEventLoopGroup(1);
+        List<SocketChannel> clients = new ArrayList<>();
+        // backlog为1且不接受连接, 队列满后的连接请求被丢弃, 连接一直处于未完成状态
+        try (ServerSocketChannel server = ServerSocketChannel.open().bind(new InetSocketAddress("127.0.0.1", 0), 1)) {
+            SocketAddress address = server.getLocalAddress();
+            for (int i = 0; i < 2; i++) {
+                clients.add(SocketChannel.open(address));
+            }
+            ChannelFuture<?> future = new Bootstrap()
+                    .group(group)
+                    .channel(NioSocketChannel::new)
+                    .handler(new ChannelInboundHandlerAdapter())
+                    .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 200)
+                    .connect(address);
+            Channel channel = future.channel();
+            assertThatThrownBy(() -> future.get(2, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(ConnectTimeoutException.class);
+            channel.closeFuture().get(1, TimeUnit.SECONDS);
+            assertThat(channel.isOpen()).isFalse();
+        } finally {
+            for (SocketChannel client : clients) {
+                client.close();
+            }
+            group.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            group.awaitTermination(2, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testConnectRefused() throws Exception {
+        NioEventLoopGroup group = new NioEventLoopGroup(1);
+        try {
+            SocketAddress address;
+            try (ServerSocketChannel server = ServerSocketChannel.open().bind(new InetSocketAddress("127.0.0.1", 0))) {
+                address = server.getLocalAddress();
+            }
+            ChannelFuture<?> future = new Bootstrap()
+                    .group(group)
+                    .channel(NioSocketChannel::new)
+                    .connect(address);
+            assertThatThrownBy(() -> future.get(2, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(ConnectException.class);
+            future.channel().closeFuture().get(1, TimeUnit.SECONDS);
+        } finally {
+            group.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            group.awaitTermination(2, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testUnsupportedOption() throws Exception {
+        NioEventLoopGroup group = new NioEventLoopGroup(1);
+        try {
+            // 客户端通道不支持SO_BACKLOG, 注册失败, 不会发起连接
+            ChannelFuture<?> future = new Bootstrap()
+                    .group(group)
+                    .channel(NioSocketChannel::new)
+                    .option(ChannelOption.SO_BACKLOG, 128)
+                    .connect(new InetSocketAddress("127.0.0.1", 8080));
+            assertThatThrownBy(() -> future.get(1, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(UnsupportedOperationException.class);
+            assertThat(future.channel().isOpen()).isFalse();
+        } finally {
+            group.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            group.awaitTermination(2, TimeUnit.SECONDS);
+        }
+    }
+}
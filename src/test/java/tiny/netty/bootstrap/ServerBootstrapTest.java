@@ -0,0 +1,212 @@
+package tiny.netty.bootstrap;
+
+import org.junit.Test;
+import tiny.netty.channel.Channel;
+import tiny.netty.channel.ChannelFuture;
+import tiny.netty.channel.ChannelHandlerContext;
+import tiny.netty.channel.ChannelInboundHandlerAdapter;
+import tiny.netty.channel.ChannelInitializer;
+import tiny.netty.channel.ChannelOption;
+import tiny.netty.channel.EventLoop;
+import tiny.netty.channel.WriteBufferWaterMark;
+import tiny.netty.channel.nio.NioEventLoop;
+import tiny.netty.channel.nio.NioEventLoopGroup;
+import tiny.netty.channel.nio.NioServerSocketChannel;
+import tiny.netty.channel.nio.NioSocketChannel;
+import tiny.netty.util.concurrent.EventExecutor;
+
+import java.net.BindException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 测试
+ *
+ * @author zhaomingming
+ */
+public class ServerBootstrapTest {
+
+    @Test
+    public void testEcho() throws Exception {
+        NioEventLoopGroup bossGroup = new NioEventLoopGroup(1);
+        NioEventLoopGroup childGroup = new NioEventLoopGroup(2);
+        CompletableFuture<Boolean> childKeepAlive = new CompletableFuture<>();
+        CompletableFuture<WriteBufferWaterMark> childWaterMark = new CompletableFuture<>();
+        try {
+            ChannelFuture<?> bindFuture = new ServerBootstrap()
+                    .group(bossGroup, childGroup)
+                    .channel(NioServerSocketChannel::new)
+                    .option(ChannelOption.SO_BACKLOG, 128)
+                    .childOption(ChannelOption.SO_KEEPALIVE, true)
+                    // 高水位和低水位都低于默认的低水位
+                    .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(8 * 1024, 16 * 1024))
+                    .childHandler(new ChannelInitializer() {
+                        @Override
+                        protected void initChannel(Channel channel) throws Exception {
+                            childKeepAlive.complete(((NioSocketChannel) channel).javaChannel()
+                                    .getOption(StandardSocketOptions.SO_KEEPALIVE));
+                            childWaterMark.complete(channel.config().getWriteBufferWaterMark());
+                            channel.pipeline().addLast("echo", new ChannelInboundHandlerAdapter() {
+                                @Override
+                                public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                                    ctx.write(msg);
+                                }
+
+                                @Override
+                                public void channelReadComplete(ChannelHandlerContext ctx) {
+                                    ctx.flush();
+                                }
+                            });
+                        }
+                    })
+                    .bind(new InetSocketAddress("127.0.0.1", 0));
+            bindFuture.get(1, TimeUnit.SECONDS);
+            Channel server = bindFuture.channel();
+            assertThat(server.isActive()).isTrue();
+            assertThat(server.config().getOption(ChannelOption.SO_BACKLOG)).isEqualTo(128);
+            assertThat(server.eventLoop().parent()).isSameAs(bossGroup);
+
+            CompletableFuture<String> reply = new CompletableFuture<>();
+            ChannelFuture<?> connectFuture = new Bootstrap()
+                    .group(childGroup)
+                    .channel(NioSocketChannel::new)
+                    .handler(new ChannelInboundHandlerAdapter() {
+                        @Override
+                        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                            reply.complete(StandardCharsets.UTF_8.decode((ByteBuffer) msg).toString());
+                        }
+                    })
+                    .connect(((NioServerSocketChannel) server).javaChannel().getLocalAddress());
+            connectFuture.get(1, TimeUnit.SECONDS);
+            Channel client = connectFuture.channel();
+            assertThat(client.isActive()).isTrue();
+            client.writeAndFlush(StandardCharsets.UTF_8.encode("hello"));
+            assertThat(reply.get(1, TimeUnit.SECONDS)).isEqualTo("hello");
+            assertThat(childKeepAlive.get(1, TimeUnit.SECONDS)).isTrue();
+            assertThat(childWaterMark.get(1, TimeUnit.SECONDS)).isEqualTo(new WriteBufferWaterMark(8 * 1024, 16 * 1024));
+
+            client.close().get(1, TimeUnit.SECONDS);
+            server.close().get(1, TimeUnit.SECONDS);
+        } finally {
+            bossGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            childGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            bossGroup.awaitTermination(2, TimeUnit.SECONDS);
+            childGroup.awaitTermination(2, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testReusePort() throws Exception {
+        NioEventLoopGroup group = new NioEventLoopGroup(4);
+        List<SocketChannel> clients = new ArrayList<>();
+        try {
+            // 接受连接的事件循环器与子通道注册的事件循环器
+            Map<Channel, EventLoop> acceptedBy = new ConcurrentHashMap<>();
+            Map<Channel, EventLoop> registeredTo = new ConcurrentHashMap<>();
+            List<Channel> servers = new ServerBootstrap()
+                    .group(group)
+                    .channel(NioServerSocketChannel::new)
+                    .handler(new ChannelInboundHandlerAdapter() {
+                        @Override
+                        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                            acceptedBy.put((Channel) msg, ctx.channel().eventLoop());
+                            ctx.fireChannelRead(msg);
+                        }
+                    })
+                    .childHandler(new ChannelInboundHandlerAdapter() {
+                        @Override
+                        public void channelActive(ChannelHandlerContext ctx) {
+                            registeredTo.put(ctx.channel(), ctx.channel().eventLoop());
+                        }
+                    })
+                    .bindReusePort(new InetSocketAddress("127.0.0.1", 0))
+                    .get(1, TimeUnit.SECONDS);
+            assertThat(servers).hasSize(4);
+            assertThat(servers).extracting(Channel::localAddress).containsOnly(servers.get(0).localAddress());
+            assertThat(servers).extracting(Channel::eventLoop).doesNotHaveDuplicates();
+
+            for (int i = 0; i < 64; i++) {
+                clients.add(SocketChannel.open(servers.get(0).localAddress()));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (registeredTo.size() < clients.size() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(registeredTo).isEqualTo(acceptedBy).hasSize(clients.size());
+        } finally {
+            for (SocketChannel client : clients) {
+                client.close();
+            }
+            group.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            group.awaitTermination(2, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testBindFailure() throws Exception {
+        NioEventLoopGroup group = new NioEventLoopGroup(2);
+        try (ServerSocketChannel occupied = ServerSocketChannel.open().bind(new InetSocketAddress("127.0.0.1", 0))) {
+            ServerBootstrap bootstrap = new ServerBootstrap()
+                    .group(group)
+                    .channel(NioServerSocketChannel::new)
+                    .childHandler(new ChannelInboundHandlerAdapter());
+
+            // 绑定失败后关闭服务端通道, 不泄漏文件描述符和选择键
+            ChannelFuture<?> future = bootstrap.bind(occupied.getLocalAddress());
+            assertThatThrownBy(() -> future.get(1, TimeUnit.SECONDS)).hasCauseInstanceOf(BindException.class);
+            awaitClosed(future.channel());
+
+            // SO_REUSEPORT绑定失败的服务端通道同样被关闭
+            CompletableFuture<List<Channel>> reusePort = bootstrap.bindReusePort(occupied.getLocalAddress());
+            assertThatThrownBy(() -> reusePort.get(1, TimeUnit.SECONDS)).hasCauseInstanceOf(BindException.class);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+            while (registeredChannels(group) > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(registeredChannels(group)).isZero();
+        } finally {
+            group.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            group.awaitTermination(2, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void awaitClosed(Channel channel) throws Exception {
+        channel.closeFuture().get(1, TimeUnit.SECONDS);
+        assertThat(channel.isOpen()).isFalse();
+        assertThat(channel.isRegistered()).isFalse();
+    }
+
+    private static int registeredChannels(NioEventLoopGroup group) {
+        int count = 0;
+        for (EventExecutor executor : group) {
+            count += ((NioEventLoop) executor).registeredChannels();
+        }
+        return count;
+    }
+
+    @Test
+    public void testValidate() {
+        assertThatIllegalStateException().isThrownBy(() -> new ServerBootstrap().bind(0)).withMessage("group not set");
+        NioEventLoopGroup group = new NioEventLoopGroup(1);
+        try {
+            assertThatIllegalStateException().isThrownBy(() -> new ServerBootstrap()
+                    .group(group)
+                    .channel(NioServerSocketChannel::new)
+                    .bind(0)).withMessage("childHandler not set");
+        } finally {
+            group.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -3,8 +3,11 @@ package tiny.netty.channel;
 import org.junit.Test;
 import tiny.netty.channel.nio.NioEventLoopGroup;
 import tiny.netty.channel.nio.NioServerSocketChannel;
+import tiny.netty.util.concurrent.DefaultEventExecutorGroup;
+import tiny.netty.util.concurrent.EventExecutorGroup;
 
 import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -158,6 +161,43 @@ public class ChannelPipelineTest {
         }
     }
 
+    @Test
+    public void testAddLastWithEventExecutorGroup() throws Exception {
+        EventLoop eventLoop = new NioEventLoopGroup(1).next();
+        EventExecutorGroup group = new DefaultEventExecutorGroup(4);
+        try {
+            Channel channel = new NioServerSocketChannel();
+            ThreadRecordingChannelHandler h1 = new ThreadRecordingChannelHandler();
+            ThreadRecordingChannelHandler h2 = new ThreadRecordingChannelHandler();
+            channel.pipeline().addLast(group, "h1", h1).addLast(group, "h2", h2);
+
+            eventLoop.register(channel).get();
+            Thread t1 = h1.registeredThread.get(2, TimeUnit.SECONDS);
+            Thread t2 = h2.registeredThread.get(2, TimeUnit.SECONDS);
+
+            // 不在事件循环器中执行, 且同一通道中的处理器绑定在同一个事件执行器上
+            assertThat(channel.pipeline().context("h1").executor()).isNotEqualTo(eventLoop);
+            assertThat(channel.pipeline().context("h1").executor()).isEqualTo(channel.pipeline().context("h2").executor());
+            assertThat(eventLoop.inEventLoop(t1)).isFalse();
+            assertThat(t1).isEqualTo(t2);
+        } finally {
+            eventLoop.shutdownGracefully(1, 5, TimeUnit.SECONDS);
+            group.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            eventLoop.awaitTermination(2, TimeUnit.SECONDS);
+            group.awaitTermination(2, TimeUnit.SECONDS);
+        }
+    }
+
+    static class ThreadRecordingChannelHandler extends ChannelInboundHandlerAdapter {
+        private final CompletableFuture<Thread> registeredThread = new CompletableFuture<>();
+
+        @Override
+        public void channelRegistered(ChannelHandlerContext ctx) throws Exception {
+            registeredThread.complete(Thread.currentThread());
+            super.channelRegistered(ctx);
+        }
+    }
+
     static class TraceableChannelHandler extends ChannelInboundHandlerAdapter {
         private static final int DEFAULT_TIMEOUT = 2;
         private CountDownLatch added = new CountDownLatch(1);
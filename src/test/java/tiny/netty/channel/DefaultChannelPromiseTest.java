@@ -0,0 +1,255 @@
+package tiny.netty.channel;
+
+import org.junit.Test;
+import tiny.netty.channel.nio.NioEventLoopGroup;
+import tiny.netty.channel.nio.NioServerSocketChannel;
+import tiny.netty.util.concurrent.BlockingOperationException;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 测试
+ *
+ * @author zhaomingming
+ */
+public class DefaultChannelPromiseTest {
+
+    private static final int CHAINS = 100;
+
+    @Test
+    public void testComplete() throws Exception {
+        ChannelFuture<String> promise = new DefaultChannelPromise<>(new NioServerSocketChannel());
+        assertThat(promise.isDone()).isFalse();
+        assertThatThrownBy(() -> promise.get(10, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+        new Thread(() -> promise.complete("ok")).start();
+        assertThat(promise.get(1, TimeUnit.SECONDS)).isEqualTo("ok");
+        assertThat(promise.isSuccess()).isTrue();
+        assertThat(promise.cause()).isNull();
+        assertThat(promise.complete("again")).isFalse();
+        assertThat(promise.completeExceptionally(new Exception())).isFalse();
+    }
+
+    @Test
+    public void testCompleteExceptionally() {
+        ChannelFuture<?> promise = new DefaultChannelPromise<>(new NioServerSocketChannel());
+        Exception cause = new Exception("failed");
+        assertThat(promise.completeExceptionally(cause)).isTrue();
+        assertThat(promise.isDone()).isTrue();
+        assertThat(promise.isSuccess()).isFalse();
+        assertThat(promise.cause()).isSameAs(cause);
+        assertThatThrownBy(promise::get).isInstanceOf(ExecutionException.class).hasCause(cause);
+    }
+
+    @Test
+    public void testCancel() {
+        ChannelFuture<?> promise = new DefaultChannelPromise<>(new NioServerSocketChannel());
+        assertThat(promise.cancel(false)).isTrue();
+        assertThat(promise.isCancelled()).isTrue();
+        assertThat(promise.complete(null)).isFalse();
+        assertThatThrownBy(promise::get).isInstanceOf(CancellationException.class);
+    }
+
+    @Test
+    public void testListeners() {
+        ChannelFuture<?> promise = new DefaultChannelPromise<>(new NioServerSocketChannel());
+        List<Integer> notified = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            int index = i;
+            promise.addListener(f -> notified.add(index));
+        }
+        // 回调中添加的回调在当前回调全部完成后执行
+        promise.addListener(f -> f.addListener(f2 -> notified.add(7)));
+        promise.addListener(f -> {
+            throw new Exception("ignored");
+        });
+        assertThat(notified).isEmpty();
+
+        promise.complete(null);
+        assertThat(notified).containsExactly(0, 1, 2, 3, 4, 5, 7);
+
+        // 完成后添加的回调立即执行
+        promise.addListener(f -> notified.add(8));
+        assertThat(notified).endsWith(8);
+    }
+
+    @Test
+    public void testThenRun() throws Exception {
+        ChannelFuture<?> promise = new DefaultChannelPromise<>(new NioServerSocketChannel());
+        List<String> actions = new CopyOnWriteArrayList<>();
+        promise.thenRun(() -> actions.add("sync"));
+        promise.thenRunAsync(() -> actions.add("async"));
+
+        promise.complete(null);
+        assertThat(promise.thenRunAsync(() -> {
+        }).get(1, TimeUnit.SECONDS)).isNull();
+        assertThat(actions).containsExactlyInAnyOrder("sync", "async");
+
+        ChannelFuture<?> failed = new DefaultChannelPromise<>(new NioServerSocketChannel());
+        failed.completeExceptionally(new Exception());
+        assertThat(failed.thenRun(() -> actions.add("failed")).isCompletedExceptionally()).isTrue();
+        assertThat(actions).doesNotContain("failed");
+    }
+
+    @Test
+    public void testListenerOnEventLoop() throws Exception {
+        EventLoop eventLoop = new NioEventLoopGroup(1).next();
+        try {
+            Channel channel = new NioServerSocketChannel();
+            ChannelFuture<?> regFuture = eventLoop.register(channel);
+            regFuture.get();
+
+            // 其它线程添加的回调, 以及异步后置处理都在事件循环器中执行
+            CompletableFuture<Boolean> listenerInEventLoop = new CompletableFuture<>();
+            regFuture.addListener(f -> listenerInEventLoop.complete(eventLoop.inEventLoop()));
+            assertThat(listenerInEventLoop.get(1, TimeUnit.SECONDS)).isTrue();
+
+            CompletableFuture<Boolean> actionInEventLoop = new CompletableFuture<>();
+            regFuture.thenRunAsync(() -> actionInEventLoop.complete(eventLoop.inEventLoop()));
+            assertThat(actionInEventLoop.get(1, TimeUnit.SECONDS)).isTrue();
+
+            // 在事件循环器中添加回调时直接执行
+            CompletableFuture<Boolean> inline = new CompletableFuture<>();
+            eventLoop.execute(() -> {
+                AtomicBoolean notified = new AtomicBoolean();
+                regFuture.addListener(f -> notified.set(true));
+                inline.complete(notified.get());
+            });
+            assertThat(inline.get(1, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            eventLoop.shutdownGracefully(1, 5, TimeUnit.SECONDS);
+            eventLoop.awaitTermination(2, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testGetInEventLoop() throws Exception {
+        EventLoop eventLoop = new NioEventLoopGroup(1).next();
+        try {
+            Channel channel = new NioServerSocketChannel();
+            eventLoop.register(channel).get();
+            // 在事件循环器中等待同一个事件循环器完成的操作会死锁, 快速失败
+            CompletableFuture<Throwable> cause = new CompletableFuture<>();
+            eventLoop.execute(() -> {
+                try {
+                    channel.closeFuture().get(1, TimeUnit.SECONDS);
+                    cause.complete(null);
+                } catch (Throwable t) {
+                    cause.complete(t);
+                }
+            });
+            assertThat(cause.get(2, TimeUnit.SECONDS)).isInstanceOf(BlockingOperationException.class);
+        } finally {
+            eventLoop.shutdownGracefully(1, 5, TimeUnit.SECONDS);
+            eventLoop.awaitTermination(2, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testContinuationHops() throws Exception {
+        // register -> bind -> close, 每一步在上一步完成后继续: 经公共线程池中转(CompletableFuture.thenRunAsync()的默认行为) 或 直接在事件循环器中继续
+        EventLoop eventLoop = new NioEventLoopGroup(1).next();
+        try {
+            AtomicInteger hops = new AtomicInteger();
+            for (int i = 0; i < CHAINS; i++) {
+                chain(eventLoop, ForkJoinPool.commonPool(), hops);
+            }
+            // 每一步都要切换线程
+            assertThat(hops.get()).isEqualTo(3 * CHAINS);
+
+            hops.set(0);
+            for (int i = 0; i < CHAINS; i++) {
+                chain(eventLoop, Runnable::run, hops);
+            }
+            assertThat(hops.get()).isZero();
+        } finally {
+            eventLoop.shutdownGracefully(1, 5, TimeUnit.SECONDS);
+            eventLoop.awaitTermination(2, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void chain(EventLoop eventLoop, Executor executor, AtomicInteger hops) throws Exception {
+        Channel channel = new NioServerSocketChannel();
+        SocketAddress localAddress = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        eventLoop.register(channel).addListener(f1 -> executor.execute(() -> {
+            countHop(eventLoop, hops);
+            channel.bind(localAddress).addListener(f2 -> executor.execute(() -> {
+                countHop(eventLoop, hops);
+                channel.close().addListener(f3 -> executor.execute(() -> {
+                    countHop(eventLoop, hops);
+                    done.complete(null);
+                }));
+            }));
+        }));
+        done.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testNotifyWhileShuttingDown() throws Exception {
+        EventLoop eventLoop = new NioEventLoopGroup(1).next();
+        try {
+            Channel channel = new NioServerSocketChannel();
+            eventLoop.register(channel).get();
+            // 静默期内事件循环器仍未终止, 但不再接受新任务
+            eventLoop.shutdownGracefully(2, 3, TimeUnit.SECONDS);
+
+            ChannelFuture<?> promise = channel.newPromise();
+            CompletableFuture<Void> notified = new CompletableFuture<>();
+            promise.addListener(f -> notified.complete(null));
+            CompletableFuture<Void> continuation = promise.thenRunAsync(() -> {
+            });
+            promise.complete(null);
+            notified.get(1, TimeUnit.SECONDS);
+            continuation.get(1, TimeUnit.SECONDS);
+        } finally {
+            eventLoop.awaitTermination(4, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void countHop(EventLoop eventLoop, AtomicInteger hops) {
+        if (!eventLoop.inEventLoop()) {
+            hops.incrementAndGet();
+        }
+    }
+
+    @Test
+    public void testVoidPromise() throws Exception {
+        EventLoop eventLoop = new NioEventLoopGroup(1).next();
+        try {
+            Channel channel = new NioServerSocketChannel();
+            ChannelFuture<?> voidPromise = channel.voidPromise();
+            assertThat(voidPromise.isVoid()).isTrue();
+            assertThat(channel.pipeline().voidPromise()).isSameAs(voidPromise);
+            assertThat(voidPromise.complete(null)).isFalse();
+            assertThatThrownBy(() -> voidPromise.addListener(f -> {
+            })).isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(voidPromise::get).isInstanceOf(IllegalStateException.class);
+
+            eventLoop.register(channel).get();
+            // 不关心结果的出站操作
+            assertThat(channel.close(voidPromise)).isSameAs(voidPromise);
+            channel.closeFuture().get(1, TimeUnit.SECONDS);
+            assertThat(channel.isOpen()).isFalse();
+            assertThat(voidPromise.isDone()).isFalse();
+        } finally {
+            eventLoop.shutdownGracefully(1, 5, TimeUnit.SECONDS);
+            eventLoop.awaitTermination(2, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package tiny.netty.channel;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+import tiny.netty.channel.nio.NioEventLoopGroup;
+import tiny.netty.channel.nio.NioServerSocketChannel;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 测试
+ *
+ * @author zhaomingming
+ */
+public class FlightRecorderEventTest {
+
+    @Test
+    public void testConfiguration() throws Exception {
+        try (Reader reader = new InputStreamReader(getClass().getResourceAsStream("/tiny-netty.jfc"), StandardCharsets.UTF_8)) {
+            Configuration configuration = Configuration.create(reader);
+            assertThat(configuration.getSettings())
+                    .containsEntry("tiny.netty.TaskExecution#threshold", "10 ms")
+                    .containsEntry("tiny.netty.EventLoopIteration#enabled", "true");
+        }
+    }
+
+    @Test
+    public void testEvents() throws Exception {
+        EventLoop eventLoop = new NioEventLoopGroup(1).next();
+        Path file = Files.createTempFile("tiny-netty", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("tiny.netty.EventLoopIteration").withThreshold(Duration.ZERO);
+            recording.enable("tiny.netty.TaskExecution").withThreshold(Duration.ofMillis(10));
+            recording.enable("tiny.netty.HandlerInvocation").withThreshold(Duration.ZERO);
+            recording.enable("tiny.netty.ChannelLifecycle").withThreshold(Duration.ZERO);
+            recording.start();
+
+            Channel channel = new NioServerSocketChannel();
+            eventLoop.register(channel).get();
+            channel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0)).get();
+            channel.close().get();
+            runTask(eventLoop, () -> {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(20);
+                } catch (InterruptedException e) {
+                    // ignore
+                }
+            });
+            // 短任务不超过阈值, 不记录
+            runTask(eventLoop, () -> {
+            });
+
+            recording.stop();
+            recording.dump(file);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertThat(events(events, "tiny.netty.EventLoopIteration")).anyMatch(e -> e.getLong("tasks") > 0);
+            assertThat(events(events, "tiny.netty.TaskExecution"))
+                    .filteredOn(e -> e.getClass("taskClass").getName().startsWith(getClass().getName()))
+                    .hasSize(1).allMatch(e -> e.getDuration().toMillis() >= 20);
+            assertThat(events(events, "tiny.netty.ChannelLifecycle"))
+                    .extracting(e -> e.getString("operation")).containsExactly("register", "close");
+            assertThat(events(events, "tiny.netty.HandlerInvocation"))
+                    .extracting(e -> e.getString("method")).contains("channelRegistered", "bind", "close");
+        } finally {
+            Files.deleteIfExists(file);
+            eventLoop.shutdownGracefully(1, 5, TimeUnit.SECONDS);
+            eventLoop.awaitTermination(2, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void runTask(EventLoop eventLoop, Runnable task) throws Exception {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        eventLoop.execute(() -> {
+            task.run();
+            done.complete(null);
+        });
+        done.get(1, TimeUnit.SECONDS);
+    }
+
+    private static List<RecordedEvent> events(List<RecordedEvent> events, String type) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(type)).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,80 @@
+package tiny.netty.channel.nio;
+
+import org.junit.Test;
+import tiny.netty.channel.ChannelConfig;
+import tiny.netty.channel.ChannelOption;
+import tiny.netty.channel.WriteBufferWaterMark;
+
+import java.net.StandardSocketOptions;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 测试
+ *
+ * @author zhaomingming
+ */
+public class NioChannelConfigTest {
+
+    @Test
+    public void testSocketChannelConfig() throws Exception {
+        NioSocketChannel channel = new NioSocketChannel();
+        try {
+            ChannelConfig config = channel.config();
+            assertThat(channel.javaChannel().isBlocking()).isFalse();
+            // 默认禁用Nagle算法
+            assertThat(config.getOption(ChannelOption.TCP_NODELAY)).isTrue();
+            assertThat(config.getOption(ChannelOption.MAX_MESSAGES_PER_READ)).isEqualTo(16);
+            assertThat(config.getOption(ChannelOption.CONNECT_TIMEOUT_MILLIS)).isEqualTo(30000);
+
+            assertThat(config.setOption(ChannelOption.TCP_NODELAY, false)).isTrue();
+            assertThat(config.setOption(ChannelOption.SO_KEEPALIVE, true)).isTrue();
+            assertThat(config.setOption(ChannelOption.SO_RCVBUF, 64 * 1024)).isTrue();
+            assertThat(config.setOption(ChannelOption.SO_SNDBUF, 64 * 1024)).isTrue();
+            assertThat(config.setOption(ChannelOption.MAX_MESSAGES_PER_READ, 4)).isTrue();
+            assertThat(channel.javaChannel().getOption(StandardSocketOptions.TCP_NODELAY)).isFalse();
+            assertThat(channel.javaChannel().getOption(StandardSocketOptions.SO_KEEPALIVE)).isTrue();
+            assertThat(config.getOption(ChannelOption.SO_RCVBUF)).isGreaterThan(0);
+            assertThat(config.getOption(ChannelOption.SO_SNDBUF)).isGreaterThan(0);
+            assertThat(config.getMaxMessagesPerRead()).isEqualTo(4);
+
+            // 高水位和低水位一起设置, 与原来的值无关
+            assertThat(config.getOption(ChannelOption.WRITE_BUFFER_WATER_MARK)).isEqualTo(new WriteBufferWaterMark(32 * 1024, 64 * 1024));
+            assertThat(config.setOption(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(96 * 1024, 128 * 1024))).isTrue();
+            assertThat(config.setOption(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(8 * 1024, 16 * 1024))).isTrue();
+            assertThat(config.getWriteBufferWaterMark().low()).isEqualTo(8 * 1024);
+            assertThat(config.getWriteBufferWaterMark().high()).isEqualTo(16 * 1024);
+            assertThatIllegalArgumentException().isThrownBy(() -> new WriteBufferWaterMark(32 * 1024, 16 * 1024));
+            assertThatIllegalArgumentException().isThrownBy(() -> new WriteBufferWaterMark(-1, 16 * 1024));
+            assertThatIllegalArgumentException().isThrownBy(() -> config.setOption(ChannelOption.WRITE_BUFFER_WATER_MARK, null));
+
+            // 字节通道不支持SO_BACKLOG
+            assertThat(config.setOption(ChannelOption.SO_BACKLOG, 128)).isFalse();
+            assertThat(config.getOption(ChannelOption.SO_BACKLOG)).isNull();
+            assertThatIllegalArgumentException().isThrownBy(() -> config.setOption(ChannelOption.TCP_NODELAY, null));
+            assertThatIllegalArgumentException().isThrownBy(() -> config.setOption(ChannelOption.CONNECT_TIMEOUT_MILLIS, -1));
+        } finally {
+            channel.unsafe().closeForcibly();
+        }
+    }
+
+    @Test
+    public void testServerSocketChannelConfig() {
+        NioServerSocketChannel channel = new NioServerSocketChannel();
+        try {
+            NioServerSocketChannelConfig config = channel.config();
+            // 默认使用系统的somaxconn, 而不是JDK的50
+            assertThat(config.getBacklog()).isGreaterThan(50);
+            assertThat(config.setOption(ChannelOption.SO_BACKLOG, 1024)).isTrue();
+            assertThat(config.getOption(ChannelOption.SO_BACKLOG)).isEqualTo(1024);
+            assertThatIllegalArgumentException().isThrownBy(() -> config.setBacklog(0));
+
+            assertThat(config.setOption(ChannelOption.SO_REUSEADDR, true)).isTrue();
+            assertThat(config.getOption(ChannelOption.SO_REUSEADDR)).isTrue();
+            // 服务端通道不支持TCP_NODELAY
+            assertThat(config.setOption(ChannelOption.TCP_NODELAY, true)).isFalse();
+        } finally {
+            channel.unsafe().closeForcibly();
+        }
+    }
+}
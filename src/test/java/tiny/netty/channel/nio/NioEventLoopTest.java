@@ -5,8 +5,12 @@ import tiny.netty.channel.Channel;
 import tiny.netty.channel.ChannelFuture;
 import tiny.netty.channel.EventLoop;
 import tiny.netty.channel.EventLoopGroup;
+import tiny.netty.util.concurrent.EventExecutorMetrics;
 
 import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.*;
@@ -97,4 +101,183 @@ public class NioEventLoopTest {
             eventLoop.awaitTermination(2, TimeUnit.SECONDS);
         }
     }
+
+    @Test
+    public void testSchedule() throws Exception {
+        EventLoop eventLoop = new NioEventLoopGroup(1).next();
+        try {
+            // 先启动事件循环, 使其阻塞在select()上
+            CountDownLatch started = new CountDownLatch(1);
+            eventLoop.execute(started::countDown);
+            assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+
+            CountDownLatch latch = new CountDownLatch(2);
+            eventLoop.schedule(latch::countDown, 50, TimeUnit.MILLISECONDS);
+            eventLoop.schedule(latch::countDown, 100, TimeUnit.MILLISECONDS);
+            assertThat(latch.await(500, TimeUnit.MILLISECONDS)).isTrue();
+        } finally {
+            eventLoop.shutdownGracefully(1, 5, TimeUnit.SECONDS);
+            eventLoop.awaitTermination(2, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testLazyExecute() throws Exception {
+        NioEventLoop eventLoop = (NioEventLoop) new NioEventLoopGroup(1).next();
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+            eventLoop.execute(started::countDown);
+            assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+            // 等待事件循环阻塞在select()上
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+            while (!eventLoop.isAwaitingTasks() && System.nanoTime() < deadline) {
+                Thread.yield();
+            }
+            assertThat(eventLoop.isAwaitingTasks()).isTrue();
+
+            // 不会唤醒阻塞在select()上的事件循环
+            CountDownLatch lazy = new CountDownLatch(1);
+            eventLoop.lazyExecute(lazy::countDown);
+            assertThat(lazy.await(200, TimeUnit.MILLISECONDS)).isFalse();
+
+            // 事件循环被其它任务唤醒后执行
+            eventLoop.execute(() -> {
+            });
+            assertThat(lazy.await(1, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            eventLoop.shutdownGracefully(1, 5, TimeUnit.SECONDS);
+            eventLoop.awaitTermination(2, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testWakeupElision() throws Exception {
+        NioEventLoop eventLoop = (NioEventLoop) new NioEventLoopGroup(1).next();
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+            eventLoop.execute(started::countDown);
+            assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+            TimeUnit.MILLISECONDS.sleep(100);
+            long issued = eventLoop.wakeupsIssued();
+            long elided = eventLoop.wakeupsElided();
+
+            // 多个线程同时提交任务, 只有事件循环阻塞在select()上时才需要唤醒
+            int producers = 4;
+            int tasks = 10_000;
+            CountDownLatch done = new CountDownLatch(producers * tasks);
+            for (int p = 0; p < producers; p++) {
+                new Thread(() -> {
+                    for (int i = 0; i < tasks; i++) {
+                        eventLoop.execute(done::countDown);
+                    }
+                }).start();
+            }
+            assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+
+            issued = eventLoop.wakeupsIssued() - issued;
+            elided = eventLoop.wakeupsElided() - elided;
+            assertThat(issued + elided).isEqualTo(producers * tasks);
+            assertThat(issued).isGreaterThan(0);
+            // 事件循环忙于执行任务时, 大部分唤醒被省略
+            assertThat(elided).isGreaterThan(0).isGreaterThan(issued);
+        } finally {
+            eventLoop.shutdownGracefully(1, 5, TimeUnit.SECONDS);
+            eventLoop.awaitTermination(2, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testShutdownIdle() throws Exception {
+        // 关闭请求与事件循环进入select()竞争时, 事件循环不能一直阻塞
+        for (int i = 0; i < 500; i++) {
+            EventLoop eventLoop = new NioEventLoopGroup(1).next();
+            CountDownLatch started = new CountDownLatch(1);
+            eventLoop.execute(started::countDown);
+            // 任务执行完后事件循环随即进入select()
+            started.await();
+            eventLoop.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+            assertThat(eventLoop.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    @Test
+    public void testMetrics() throws Exception {
+        NioEventLoop eventLoop = (NioEventLoop) new NioEventLoopGroup(1).next();
+        try {
+            eventLoop.setMetricsEnabled(true);
+            CountDownLatch started = new CountDownLatch(1);
+            eventLoop.execute(started::countDown);
+            assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+            // 阻塞在select()上约20毫秒后由调度任务唤醒
+            eventLoop.schedule(() -> {
+            }, 20, TimeUnit.MILLISECONDS).get(1, TimeUnit.SECONDS);
+            CountDownLatch done = new CountDownLatch(1);
+            eventLoop.execute(done::countDown);
+            assertThat(done.await(1, TimeUnit.SECONDS)).isTrue();
+
+            EventExecutorMetrics.Snapshot metrics = eventLoop.metrics();
+            assertThat(metrics.selectDuration().count()).isGreaterThan(0);
+            // select()可能被提前唤醒(如提交任务时), 只断言记录了阻塞时间
+            assertThat(metrics.selectDuration().max()).isGreaterThan(0);
+            assertThat(metrics.wakeupsIssued()).isEqualTo(eventLoop.wakeupsIssued());
+            assertThat(metrics.taskLatency().count()).isGreaterThanOrEqualTo(2);
+        } finally {
+            eventLoop.shutdownGracefully(1, 5, TimeUnit.SECONDS);
+            eventLoop.awaitTermination(2, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testScheduleWakeup() throws Exception {
+        NioEventLoop eventLoop = (NioEventLoop) new NioEventLoopGroup(1).next();
+        try {
+            // 事件循环阻塞至该任务到期
+            eventLoop.schedule(() -> {
+            }, 2, TimeUnit.SECONDS);
+            TimeUnit.MILLISECONDS.sleep(100);
+
+            // 截止时间更早, 需要唤醒事件循环
+            CountDownLatch earlier = new CountDownLatch(1);
+            eventLoop.schedule(earlier::countDown, 50, TimeUnit.MILLISECONDS);
+            assertThat(earlier.await(1, TimeUnit.SECONDS)).isTrue();
+            TimeUnit.MILLISECONDS.sleep(100);
+
+            // 截止时间更晚, 事件循环到期醒来时再加入调度队列即可, 无需唤醒
+            long issued = eventLoop.wakeupsIssued();
+            eventLoop.schedule(() -> {
+            }, 5, TimeUnit.SECONDS);
+            assertThat(eventLoop.wakeupsIssued()).isEqualTo(issued);
+        } finally {
+            eventLoop.shutdownGracefully(1, 5, TimeUnit.SECONDS);
+            eventLoop.awaitTermination(2, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testExecuteAfterEventLoopIteration() throws Exception {
+        NioEventLoop eventLoop = (NioEventLoop) new NioEventLoopGroup(1).next();
+        try {
+            List<String> events = new CopyOnWriteArrayList<>();
+            CountDownLatch latch = new CountDownLatch(3);
+            eventLoop.execute(() -> {
+                for (int i = 0; i < 3; i++) {
+                    int index = i;
+                    eventLoop.execute(() -> {
+                        events.add("task-" + index);
+                        eventLoop.executeAfterEventLoopIteration(() -> {
+                            events.add("tail-" + index);
+                            latch.countDown();
+                        });
+                    });
+                }
+            });
+            assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+
+            // 同一次循环中提交的尾部任务在所有普通任务执行完后才执行
+            assertThat(events).containsSubsequence("task-0", "task-1", "task-2", "tail-0", "tail-1", "tail-2");
+        } finally {
+            eventLoop.shutdownGracefully(1, 5, TimeUnit.SECONDS);
+            eventLoop.awaitTermination(2, TimeUnit.SECONDS);
+        }
+    }
 }
\ No newline at end of file
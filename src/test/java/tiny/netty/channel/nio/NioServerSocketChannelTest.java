@@ -0,0 +1,171 @@
+package tiny.netty.channel.nio;
+
+import org.junit.Test;
+import tiny.netty.channel.Channel;
+import tiny.netty.channel.ChannelFuture;
+import tiny.netty.channel.ChannelHandlerContext;
+import tiny.netty.channel.ChannelInboundHandlerAdapter;
+import tiny.netty.channel.EventLoop;
+import tiny.netty.channel.ServerChannelAcceptor;
+
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 测试
+ *
+ * @author zhaomingming
+ */
+public class NioServerSocketChannelTest {
+
+    private static final int CLIENTS = 32;
+
+    @Test
+    public void testBatchedAccept() throws Exception {
+        NioEventLoopGroup bossGroup = new NioEventLoopGroup(1);
+        NioEventLoopGroup childGroup = new NioEventLoopGroup(2);
+        childGroup.setMetricsEnabled(true);
+        List<SocketChannel> clients = new ArrayList<>();
+        try {
+            Map<Channel, EventLoop> children = new ConcurrentHashMap<>();
+            AtomicInteger reads = new AtomicInteger();
+            AtomicInteger readCompletes = new AtomicInteger();
+            NioServerSocketChannel server = new NioServerSocketChannel();
+            server.pipeline().addLast("counter", new ChannelInboundHandlerAdapter() {
+                @Override
+                public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                    reads.incrementAndGet();
+                    ctx.fireChannelRead(msg);
+                }
+
+                @Override
+                public void channelReadComplete(ChannelHandlerContext ctx) {
+                    readCompletes.incrementAndGet();
+                    ctx.fireChannelReadComplete();
+                }
+            });
+            server.pipeline().addLast("acceptor", new ServerChannelAcceptor(childGroup, new ChannelInboundHandlerAdapter() {
+                @Override
+                public void channelActive(ChannelHandlerContext ctx) {
+                    children.put(ctx.channel(), ctx.channel().eventLoop());
+                    ctx.fireChannelActive();
+                }
+            }));
+            bossGroup.register(server).get();
+            server.bind(new InetSocketAddress("127.0.0.1", 0)).get();
+            SocketAddress address = server.javaChannel().getLocalAddress();
+
+            // 阻塞服务端的事件循环器, 让连接在backlog中堆积, 之后一次读事件接受一批
+            CountDownLatch latch = new CountDownLatch(1);
+            bossGroup.execute(() -> {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.add(SocketChannel.open(address));
+            }
+            latch.countDown();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (children.size() < CLIENTS && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(children).hasSize(CLIENTS);
+            assertThat(children.values()).containsOnly(childGroup.next(), childGroup.next());
+            assertThat(reads.get()).isEqualTo(CLIENTS);
+            // 每次读事件最多接受16个连接
+            assertThat(readCompletes.get()).isGreaterThanOrEqualTo(CLIENTS / server.config().getMaxMessagesPerRead());
+
+            // 每次读事件每个子事件循环器只有一个注册任务
+            while (childGroup.metrics().tasks() < readCompletes.get() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(childGroup.metrics().tasks()).isBetween(1L, 2L * readCompletes.get());
+
+            // 子通道可以正常读写
+            Channel child = children.keySet().iterator().next();
+            child.writeAndFlush(ByteBuffer.wrap(new byte[]{1, 2, 3})).get(1, TimeUnit.SECONDS);
+        } finally {
+            for (SocketChannel client : clients) {
+                client.close();
+            }
+            bossGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            childGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            bossGroup.awaitTermination(2, TimeUnit.SECONDS);
+            childGroup.awaitTermination(2, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testConnectRejected() throws Exception {
+        NioEventLoopGroup group = new NioEventLoopGroup(1);
+        try {
+            NioServerSocketChannel server = new NioServerSocketChannel();
+            group.register(server).get();
+            server.bind(new InetSocketAddress("127.0.0.1", 0)).get();
+
+            // 误用connect()不会关闭正在监听的服务端通道
+            ChannelFuture<?> future = server.connect(new InetSocketAddress("127.0.0.1", 8080));
+            assertThatThrownBy(() -> future.get(1, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(UnsupportedOperationException.class);
+            assertThat(server.isOpen()).isTrue();
+            assertThat(server.isActive()).isTrue();
+        } finally {
+            group.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            group.awaitTermination(2, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testAcceptWhileChildGroupShuttingDown() throws Exception {
+        NioEventLoopGroup bossGroup = new NioEventLoopGroup(1);
+        NioEventLoopGroup childGroup = new NioEventLoopGroup(1);
+        List<Socket> clients = new ArrayList<>();
+        try {
+            // 确保子事件循环器已启动, 关闭时在静默期内等待
+            CountDownLatch started = new CountDownLatch(1);
+            childGroup.execute(started::countDown);
+            assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+            childGroup.shutdownGracefully(2, 3, TimeUnit.SECONDS);
+            assertThat(childGroup.isShuttingDown()).isTrue();
+
+            NioServerSocketChannel server = new NioServerSocketChannel();
+            server.pipeline().addLast("acceptor", new ServerChannelAcceptor(childGroup, new ChannelInboundHandlerAdapter()));
+            bossGroup.register(server).get();
+            server.bind(new InetSocketAddress("127.0.0.1", 0)).get();
+            InetSocketAddress address = (InetSocketAddress) server.javaChannel().getLocalAddress();
+
+            // 子通道无法注册时被关闭, 而不是泄漏
+            for (int i = 0; i < 4; i++) {
+                Socket client = new Socket(address.getAddress(), address.getPort());
+                clients.add(client);
+                client.setSoTimeout(2000);
+                assertThat(client.getInputStream().read()).isEqualTo(-1);
+            }
+        } finally {
+            for (Socket client : clients) {
+                client.close();
+            }
+            bossGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            bossGroup.awaitTermination(2, TimeUnit.SECONDS);
+            childGroup.awaitTermination(4, TimeUnit.SECONDS);
+        }
+    }
+}
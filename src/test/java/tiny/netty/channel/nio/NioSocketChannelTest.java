@@ -0,0 +1,209 @@
+package tiny.netty.channel.nio;
+
+import org.junit.Test;
+import tiny.netty.channel.ChannelFuture;
+import tiny.netty.channel.ChannelHandlerContext;
+import tiny.netty.channel.ChannelInboundHandlerAdapter;
+import tiny.netty.channel.EventLoopGroup;
+import tiny.netty.channel.WriteBufferWaterMark;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 测试
+ *
+ * @author zhaomingming
+ */
+public class NioSocketChannelTest {
+
+    @Test
+    public void testEcho() throws Exception {
+        EventLoopGroup group = new NioEventLoopGroup(1);
+        SocketChannel client = null;
+        try (ServerSocketChannel server = ServerSocketChannel.open().bind(new InetSocketAddress("127.0.0.1", 0))) {
+            client = SocketChannel.open(server.getLocalAddress());
+            NioSocketChannel channel = new NioSocketChannel(server.accept());
+            CompletableFuture<Void> closeFuture = new CompletableFuture<>();
+            channel.pipeline().addLast("echo", new EchoHandler(closeFuture));
+            group.register(channel).get();
+            assertThat(channel.isActive()).isTrue();
+
+            byte[] content = new byte[100_000];
+            for (int i = 0; i < content.length; i++) {
+                content[i] = (byte) i;
+            }
+            writeFully(client, ByteBuffer.wrap(content));
+            ByteBuffer received = ByteBuffer.allocate(content.length);
+            readFully(client, received);
+            assertThat(received.array()).isEqualTo(content);
+
+            // 对端关闭后通道随之关闭
+            client.close();
+            closeFuture.get(1, TimeUnit.SECONDS);
+            assertThat(channel.isOpen()).isFalse();
+        } finally {
+            if (client != null) {
+                client.close();
+            }
+            group.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            group.awaitTermination(2, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testMaxMessagesPerRead() throws Exception {
+        EventLoopGroup group = new NioEventLoopGroup(1);
+        try (ServerSocketChannel server = ServerSocketChannel.open().bind(new InetSocketAddress("127.0.0.1", 0));
+             SocketChannel client = SocketChannel.open(server.getLocalAddress())) {
+            NioSocketChannel channel = new NioSocketChannel(server.accept());
+            channel.config().setMaxMessagesPerRead(1);
+            assertThatIllegalArgumentException().isThrownBy(() -> channel.config().setMaxMessagesPerRead(0));
+
+            AtomicInteger reads = new AtomicInteger();
+            AtomicInteger maxReadsPerComplete = new AtomicInteger();
+            AtomicInteger bytes = new AtomicInteger();
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            int total = 256 * 1024;
+            channel.pipeline().addLast("counter", new ChannelInboundHandlerAdapter() {
+                @Override
+                public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                    reads.incrementAndGet();
+                    if (bytes.addAndGet(((ByteBuffer) msg).remaining()) == total) {
+                        done.complete(null);
+                    }
+                }
+
+                @Override
+                public void channelReadComplete(ChannelHandlerContext ctx) {
+                    maxReadsPerComplete.accumulateAndGet(reads.getAndSet(0), Math::max);
+                }
+            });
+            // 数据先写入, 通道注册后一次读事件有多个缓冲区可读
+            writeFully(client, ByteBuffer.allocate(total));
+            group.register(channel).get();
+            done.get(5, TimeUnit.SECONDS);
+            assertThat(maxReadsPerComplete.get()).isEqualTo(1);
+        } finally {
+            group.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            group.awaitTermination(2, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testConnectWithVoidPromise() throws Exception {
+        EventLoopGroup group = new NioEventLoopGroup(1);
+        try (ServerSocketChannel server = ServerSocketChannel.open().bind(new InetSocketAddress("127.0.0.1", 0))) {
+            NioSocketChannel channel = new NioSocketChannel();
+            channel.pipeline().addLast("noop", new ChannelInboundHandlerAdapter());
+            group.register(channel).get();
+            channel.connect(server.getLocalAddress(), channel.voidPromise());
+            try (SocketChannel accepted = server.accept()) {
+                assertThat(accepted).isNotNull();
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+                while (!channel.isActive() && System.nanoTime() < deadline) {
+                    Thread.sleep(10);
+                }
+                // 等待连接完成的任务执行结束, 通道仍然是活跃的
+                CompletableFuture<Boolean> active = new CompletableFuture<>();
+                channel.eventLoop().execute(() -> active.complete(channel.isActive()));
+                assertThat(active.get(1, TimeUnit.SECONDS)).isTrue();
+            }
+            channel.close().get(1, TimeUnit.SECONDS);
+        } finally {
+            group.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            group.awaitTermination(2, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testWritability() throws Exception {
+        EventLoopGroup group = new NioEventLoopGroup(1);
+        try (ServerSocketChannel server = ServerSocketChannel.open().bind(new InetSocketAddress("127.0.0.1", 0));
+             SocketChannel client = SocketChannel.open(server.getLocalAddress())) {
+            NioSocketChannel channel = new NioSocketChannel(server.accept());
+            channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(32 * 1024, 64 * 1024));
+            List<Boolean> changes = new CopyOnWriteArrayList<>();
+            channel.pipeline().addLast("writability", new ChannelInboundHandlerAdapter() {
+                @Override
+                public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+                    changes.add(ctx.channel().isWritable());
+                }
+            });
+            group.register(channel).get();
+            assertThat(channel.isWritable()).isTrue();
+
+            // 未刷新的消息同样计入, 超过高水位后不可写
+            CompletableFuture<ChannelFuture<?>> written = new CompletableFuture<>();
+            channel.eventLoop().execute(() -> {
+                for (int i = 0; i < 4; i++) {
+                    channel.write(ByteBuffer.allocate(16 * 1024));
+                }
+                written.complete(channel.write(ByteBuffer.allocate(16 * 1024)));
+            });
+            ChannelFuture<?> last = written.get(1, TimeUnit.SECONDS);
+            assertThat(channel.isWritable()).isFalse();
+            assertThat(changes).containsExactly(false);
+
+            // 全部写出后降到低水位以下, 恢复可写
+            channel.flush();
+            readFully(client, ByteBuffer.allocate(5 * 16 * 1024));
+            last.get(1, TimeUnit.SECONDS);
+            assertThat(channel.isWritable()).isTrue();
+            assertThat(changes).containsExactly(false, true);
+
+            channel.close().get(1, TimeUnit.SECONDS);
+            assertThat(channel.isWritable()).isFalse();
+        } finally {
+            group.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            group.awaitTermination(2, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void writeFully(SocketChannel ch, ByteBuffer buf) throws Exception {
+        while (buf.hasRemaining()) {
+            ch.write(buf);
+        }
+    }
+
+    private static void readFully(SocketChannel ch, ByteBuffer buf) throws Exception {
+        while (buf.hasRemaining()) {
+            if (ch.read(buf) < 0) {
+                throw new IllegalStateException("closed");
+            }
+        }
+    }
+
+    private static class EchoHandler extends ChannelInboundHandlerAdapter {
+
+        private final CompletableFuture<Void> closeFuture;
+
+        EchoHandler(CompletableFuture<Void> closeFuture) {
+            this.closeFuture = closeFuture;
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            ctx.write(msg);
+        }
+
+        @Override
+        public void channelReadComplete(ChannelHandlerContext ctx) {
+            ctx.flush();
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) {
+            closeFuture.complete(null);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package tiny.netty.channel.nio;
+
+import org.junit.Test;
+import tiny.netty.channel.ChannelHandlerContext;
+import tiny.netty.channel.ChannelInboundHandlerAdapter;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 测试
+ *
+ * @author zhaomingming
+ */
+public class SelectStrategyTest {
+
+    @Test
+    public void testStrategies() throws Exception {
+        List<SelectStrategy> strategies = Arrays.asList(SelectStrategies.defaultStrategy(), SelectStrategies.busyPoll(),
+                SelectStrategies.spinThenBlock(1000));
+        for (SelectStrategy selectStrategy : strategies) {
+            NioEventLoopGroup group = new NioEventLoopGroup(1);
+            group.setSelectStrategy(selectStrategy);
+            try (ServerSocketChannel server = ServerSocketChannel.open().bind(new InetSocketAddress("127.0.0.1", 0));
+                 SocketChannel client = SocketChannel.open(server.getLocalAddress())) {
+                // 任务和I/O事件都能及时处理
+                CountDownLatch executed = new CountDownLatch(1);
+                group.execute(executed::countDown);
+                assertThat(executed.await(1, TimeUnit.SECONDS)).isTrue();
+
+                NioSocketChannel channel = new NioSocketChannel(server.accept());
+                CompletableFuture<Object> read = new CompletableFuture<>();
+                channel.pipeline().addLast("reader", new ChannelInboundHandlerAdapter() {
+                    @Override
+                    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                        read.complete(msg);
+                    }
+                });
+                group.register(channel).get(1, TimeUnit.SECONDS);
+                client.write(ByteBuffer.wrap(new byte[]{42}));
+                assertThat(((ByteBuffer) read.get(1, TimeUnit.SECONDS)).get()).isEqualTo((byte) 42);
+            } finally {
+                group.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+                group.awaitTermination(2, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidSpins() {
+        assertThatThrownBy(() -> SelectStrategies.spinThenBlock(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,125 @@
+package tiny.netty.util;
+
+import org.junit.Test;
+import tiny.netty.util.concurrent.DefaultEventExecutor;
+import tiny.netty.util.concurrent.DefaultThreadFactory;
+import tiny.netty.util.concurrent.EventExecutor;
+
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 测试
+ *
+ * @author zhaomingming
+ */
+public class HashedWheelTimerTest {
+
+    private static HashedWheelTimer newTimer(long maxPendingTimeouts) {
+        return new HashedWheelTimer(new DefaultThreadFactory("timer"), 10, TimeUnit.MILLISECONDS, 8, maxPendingTimeouts);
+    }
+
+    @Test
+    public void testExpire() throws Exception {
+        HashedWheelTimer timer = newTimer(-1);
+        try {
+            CountDownLatch expired = new CountDownLatch(2);
+            long startTime = System.nanoTime();
+            // 超过一圈(8 * 10ms)的任务需要等待时间轮多转几圈
+            Timeout first = timer.newTimeout(timeout -> expired.countDown(), 50, TimeUnit.MILLISECONDS);
+            Timeout second = timer.newTimeout(timeout -> expired.countDown(), 200, TimeUnit.MILLISECONDS);
+            assertThat(timer.pendingTimeouts()).isEqualTo(2);
+            assertThat(expired.await(2, TimeUnit.SECONDS)).isTrue();
+            assertThat(System.nanoTime() - startTime).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+
+            assertThat(first.isExpired()).isTrue();
+            assertThat(second.isExpired()).isTrue();
+            assertThat(second.cancel()).isFalse();
+            assertThat(timer.pendingTimeouts()).isZero();
+        } finally {
+            timer.stop();
+        }
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        HashedWheelTimer timer = newTimer(-1);
+        try {
+            AtomicBoolean executed = new AtomicBoolean();
+            Timeout timeout = timer.newTimeout(t -> executed.set(true), 50, TimeUnit.MILLISECONDS);
+            assertThat(timeout.cancel()).isTrue();
+            assertThat(timeout.cancel()).isFalse();
+            assertThat(timeout.isCancelled()).isTrue();
+            assertThat(timer.pendingTimeouts()).isZero();
+
+            TimeUnit.MILLISECONDS.sleep(150);
+            assertThat(executed.get()).isFalse();
+            assertThat(timeout.isExpired()).isFalse();
+        } finally {
+            timer.stop();
+        }
+    }
+
+    @Test
+    public void testMaxPendingTimeouts() {
+        HashedWheelTimer timer = newTimer(2);
+        try {
+            Timeout timeout = timer.newTimeout(t -> {
+            }, 1, TimeUnit.MINUTES);
+            timer.newTimeout(t -> {
+            }, 1, TimeUnit.MINUTES);
+            assertThatThrownBy(() -> timer.newTimeout(t -> {
+            }, 1, TimeUnit.MINUTES)).isInstanceOf(RejectedExecutionException.class);
+
+            timeout.cancel();
+            timer.newTimeout(t -> {
+            }, 1, TimeUnit.MINUTES);
+            assertThat(timer.pendingTimeouts()).isEqualTo(2);
+        } finally {
+            timer.stop();
+        }
+    }
+
+    @Test
+    public void testStop() {
+        HashedWheelTimer timer = newTimer(-1);
+        Timeout pending = timer.newTimeout(t -> {
+        }, 1, TimeUnit.MINUTES);
+        timer.newTimeout(t -> {
+        }, 1, TimeUnit.MINUTES).cancel();
+
+        Set<Timeout> unprocessed = timer.stop();
+        assertThat(unprocessed).containsExactly(pending);
+        assertThat(timer.stop()).isEmpty();
+        assertThatThrownBy(() -> timer.newTimeout(t -> {
+        }, 1, TimeUnit.SECONDS)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void testDrivenByEventExecutor() throws Exception {
+        EventExecutor executor = new DefaultEventExecutor();
+        HashedWheelTimer timer = new HashedWheelTimer(executor, 10, TimeUnit.MILLISECONDS, 8, -1);
+        try {
+            CountDownLatch expired = new CountDownLatch(1);
+            AtomicBoolean inEventLoop = new AtomicBoolean();
+            timer.newTimeout(timeout -> {
+                inEventLoop.set(executor.inEventLoop());
+                expired.countDown();
+            }, 50, TimeUnit.MILLISECONDS);
+            Timeout pending = timer.newTimeout(t -> {
+            }, 1, TimeUnit.MINUTES);
+
+            assertThat(expired.await(1, TimeUnit.SECONDS)).isTrue();
+            assertThat(inEventLoop.get()).isTrue();
+            assertThat(timer.stop()).containsExactly(pending);
+        } finally {
+            executor.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            executor.awaitTermination(2, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package tiny.netty.util.concurrent;
+
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 测试
+ *
+ * @author zhaomingming
+ */
+public class AffinityThreadFactoryTest {
+
+    @Test
+    public void test() throws InterruptedException {
+        AffinityThreadFactory threadFactory = new AffinityThreadFactory("affinity", 0);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch stop = new CountDownLatch(1);
+        Thread thread = threadFactory.newThread(() -> {
+            running.countDown();
+            try {
+                stop.await();
+            } catch (InterruptedException e) {
+                // ignore
+            }
+        });
+        thread.start();
+        try {
+            // 本地库不可用时, 线程照常运行, 只是不绑定CPU
+            assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+            Map<String, String> layout = CpuAffinity.layout();
+            if (CpuAffinity.isAvailable()) {
+                assertThat(layout).containsEntry(thread.getName(), "0");
+            } else {
+                assertThat(layout).doesNotContainKey(thread.getName());
+            }
+        } finally {
+            stop.countDown();
+            thread.join(1000);
+        }
+        assertThat(CpuAffinity.layout()).doesNotContainKey(thread.getName());
+    }
+}
@@ -0,0 +1,83 @@
+package tiny.netty.util.concurrent;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 测试
+ *
+ * @author zhaomingming
+ */
+public class BlockingCallDetectorTest {
+
+    @After
+    public void tearDown() {
+        BlockingCallDetector.setEnabled(false);
+        BlockingCallDetector.setListener(BlockingCallDetector.failFast());
+    }
+
+    @Test
+    public void testStrictMode() throws Exception {
+        EventExecutor executor = new DefaultEventExecutor();
+        try {
+            // 未启用时不检测
+            assertThat(call(executor, () -> BlockingCallDetector.check("sleep()"))).isNull();
+
+            BlockingCallDetector.setEnabled(true);
+            Throwable cause = call(executor, () -> BlockingCallDetector.check("sleep()"));
+            assertThat(cause).isInstanceOf(BlockingOperationException.class).hasMessageStartingWith("sleep() called from event loop");
+            // 非事件执行器线程不检测
+            BlockingCallDetector.check("sleep()");
+
+            // 只记录不中断
+            List<StackTraceElement[]> reports = new CopyOnWriteArrayList<>();
+            BlockingCallDetector.setListener((e, call) -> {
+                assertThat(e).isSameAs(executor);
+                reports.add(call.getStackTrace());
+            });
+            assertThat(call(executor, () -> BlockingCallDetector.check("sleep()"))).isNull();
+            assertThat(reports).hasSize(1);
+            assertThat(reports.get(0)).anyMatch(frame -> frame.getMethodName().startsWith("lambda$testStrictMode$"));
+        } finally {
+            executor.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testDeadlock() throws Exception {
+        EventExecutor executor = new DefaultEventExecutor();
+        try {
+            // 不论是否启用, 等待自身的操作都会失败
+            Throwable cause = call(executor, () -> executor.awaitTermination(1, TimeUnit.SECONDS));
+            assertThat(cause).isInstanceOf(BlockingOperationException.class);
+        } finally {
+            executor.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        }
+    }
+
+    private static Throwable call(EventExecutor executor, BlockingAction action) throws Exception {
+        CompletableFuture<Throwable> result = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                action.run();
+                result.complete(null);
+            } catch (Throwable cause) {
+                result.complete(cause);
+            }
+        });
+        return result.get(1, TimeUnit.SECONDS);
+    }
+
+    interface BlockingAction {
+        void run() throws Exception;
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.Test;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * 测试
@@ -23,9 +24,58 @@ public class EventExecutorChooserTest {
         for (int i = 0; i < length; i++) {
             executors[i] = mock(EventExecutor.class);
         }
-        EventExecutorChooser chooser = EventExecutorChooserFactory.INSTANCE.newChooser(executors);
+        EventExecutorChooser chooser = DefaultEventExecutorChooserFactory.INSTANCE.newChooser(executors);
         for (int i = 0; i < (length << 2); i++) {
             assertThat(chooser.next()).isEqualTo(executors[i % length]);
         }
     }
+
+    @Test
+    public void testLeastLoaded() {
+        EventExecutor[] executors = new EventExecutor[4];
+        for (int i = 0; i < executors.length; i++) {
+            executors[i] = mock(EventExecutor.class);
+            when(executors[i].registeredChannels()).thenReturn(i == 0 ? 0 : 10);
+            when(executors[i].pendingTasks()).thenReturn(i);
+        }
+        EventExecutorChooser chooser = LeastLoadedEventExecutorChooserFactory.INSTANCE.newChooser(executors);
+        for (int i = 0; i < 100; i++) {
+            // 负载最高的执行器不会被选中
+            assertThat(chooser.next()).isNotEqualTo(executors[3]);
+        }
+
+        // 通道数相同时, 选择任务数较少的执行器
+        EventExecutorChooser pair = LeastLoadedEventExecutorChooserFactory.INSTANCE.newChooser(
+                new EventExecutor[]{executors[1], executors[2]});
+        for (int i = 0; i < 10; i++) {
+            assertThat(pair.next()).isEqualTo(executors[1]);
+        }
+    }
+
+    @Test
+    public void testAffinity() {
+        EventExecutor[] executors = new EventExecutor[4];
+        for (int i = 0; i < executors.length; i++) {
+            executors[i] = mock(EventExecutor.class);
+        }
+        EventExecutorChooser chooser = AffinityEventExecutorChooserFactory.INSTANCE.newChooser(executors);
+
+        // 调用者不是组内的执行器线程, 轮询选择
+        for (int i = 0; i < 8; i++) {
+            assertThat(chooser.next()).isEqualTo(executors[i % executors.length]);
+        }
+
+        // 调用者是组内的执行器线程, 总是选择该执行器
+        EventLoopThread.setCurrentExecutor(executors[2]);
+        try {
+            for (int i = 0; i < 8; i++) {
+                assertThat(chooser.next()).isEqualTo(executors[2]);
+            }
+            // 其它组的执行器线程, 轮询选择
+            EventLoopThread.setCurrentExecutor(mock(EventExecutor.class));
+            assertThat(chooser.next()).isEqualTo(executors[0]);
+        } finally {
+            EventLoopThread.setCurrentExecutor(null);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+package tiny.netty.util.concurrent;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 测试
+ *
+ * @author zhaomingming
+ */
+public class EventLoopWatchdogTest {
+
+    @Test
+    public void testBlocked() throws Exception {
+        testBlocked(false);
+    }
+
+    @Test
+    public void testBlockedWithMetrics() throws Exception {
+        testBlocked(true);
+    }
+
+    private void testBlocked(boolean metricsEnabled) throws Exception {
+        List<String> reports = new CopyOnWriteArrayList<>();
+        List<StackTraceElement[]> stackTraces = new CopyOnWriteArrayList<>();
+        EventLoopWatchdog watchdog = new EventLoopWatchdog(50, TimeUnit.MILLISECONDS, (executor, blockedNanos, task, stackTrace) -> {
+            assertThat(blockedNanos).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+            reports.add(task);
+            stackTraces.add(stackTrace);
+        });
+        DefaultEventExecutorGroup group = new DefaultEventExecutorGroup(2);
+        try {
+            for (EventExecutor executor : group) {
+                ((SingleThreadEventExecutor) executor).setMetricsEnabled(metricsEnabled);
+            }
+            watchdog.watch(group);
+            EventExecutor blocked = group.next();
+            EventExecutor idle = group.next();
+            idle.execute(() -> {
+            });
+            CountDownLatch done = new CountDownLatch(1);
+            blocked.execute(() -> {
+                blockingCall();
+                done.countDown();
+            });
+            assertThat(done.await(1, TimeUnit.SECONDS)).isTrue();
+            // 恢复后及空闲的事件执行器不再报告
+            TimeUnit.MILLISECONDS.sleep(100);
+
+            assertThat(reports).hasSize(1);
+            // 启用统计时跳过包装任务的TimedTask
+            assertThat(reports.get(0)).startsWith("EventLoopWatchdogTest.lambda$testBlocked$");
+            assertThat(stackTraces.get(0)).anyMatch(frame -> frame.getMethodName().equals("blockingCall"));
+        } finally {
+            watchdog.stop();
+            group.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            group.awaitTermination(2, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void blockingCall() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(300);
+        } catch (InterruptedException e) {
+            // ignore
+        }
+    }
+
+    @Test
+    public void testRunningTask() {
+        StackTraceElement[] stackTrace = {
+                new StackTraceElement("java.lang.Thread", "sleep", null, -2),
+                new StackTraceElement("com.example.EchoHandler", "channelRead", null, 10),
+                new StackTraceElement("tiny.netty.channel.AbstractChannelHandlerContext", "invokeChannelRead", null, 20),
+                new StackTraceElement("tiny.netty.channel.AbstractChannelHandlerContext", "lambda$fireChannelRead$0", null, 21),
+                new StackTraceElement("tiny.netty.util.concurrent.SingleThreadEventExecutor", "safeExecution", null, 30),
+                new StackTraceElement("tiny.netty.util.concurrent.SingleThreadEventExecutor", "runAllTasks", null, 31),
+        };
+        assertThat(EventLoopWatchdog.runningTask(stackTrace))
+                .isEqualTo("EchoHandler.channelRead (task: AbstractChannelHandlerContext.lambda$fireChannelRead$0)");
+        assertThat(EventLoopWatchdog.runningTask(new StackTraceElement[]{stackTrace[0]})).isEqualTo("unknown");
+
+        // JFR记录期间由safeExecutionWithEvent执行任务
+        StackTraceElement[] withEvent = {
+                new StackTraceElement("java.lang.Thread", "sleep", null, -2),
+                new StackTraceElement("com.example.Task", "run", null, 10),
+                new StackTraceElement("tiny.netty.util.concurrent.SingleThreadEventExecutor$TimedTask", "run", null, 40),
+                new StackTraceElement("tiny.netty.util.concurrent.SingleThreadEventExecutor", "safeExecutionWithEvent", null, 41),
+                new StackTraceElement("tiny.netty.util.concurrent.SingleThreadEventExecutor", "safeExecution", null, 30),
+                new StackTraceElement("tiny.netty.util.concurrent.SingleThreadEventExecutor", "runAllTasks", null, 31),
+        };
+        assertThat(EventLoopWatchdog.runningTask(withEvent)).isEqualTo("Task.run");
+    }
+}
@@ -0,0 +1,84 @@
+package tiny.netty.util.concurrent;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 测试
+ *
+ * @author zhaomingming
+ */
+public class FastThreadLocalTest {
+
+    private static final int VARIABLES = 64;
+
+    @Test
+    public void testEventLoopThread() throws Exception {
+        ThreadFactory threadFactory = new DefaultThreadFactory("test");
+        assertThat(threadFactory.newThread(() -> {
+        })).isInstanceOf(EventLoopThread.class);
+        assertThat(runOn(threadFactory)).isEqualTo("initial,value,initial");
+    }
+
+    @Test
+    public void testFallback() throws Exception {
+        assertThat(runOn(Thread::new)).isEqualTo("initial,value,initial");
+    }
+
+    private static String runOn(ThreadFactory threadFactory) throws Exception {
+        FastThreadLocal<String> threadLocal = new FastThreadLocal<String>() {
+            @Override
+            protected String initialValue() {
+                return "initial";
+            }
+        };
+        // 大量变量使槽位数组扩容
+        for (int i = 0; i < VARIABLES; i++) {
+            new FastThreadLocal<>().set(i);
+        }
+        CompletableFuture<String> result = new CompletableFuture<>();
+        threadFactory.newThread(() -> {
+            StringBuilder sb = new StringBuilder(threadLocal.get());
+            threadLocal.set("value");
+            sb.append(',').append(threadLocal.get());
+            threadLocal.remove();
+            sb.append(',').append(threadLocal.get());
+            result.complete(sb.toString());
+        }).start();
+        return result.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testCurrentEventExecutor() throws Exception {
+        assertThat(EventExecutor.current()).isNull();
+        EventExecutor executor = new DefaultEventExecutor();
+        EventExecutor other = new SingleThreadEventExecutorTest.SimpleEventExecutor(null, r -> new Thread(r).start());
+        try {
+            CompletableFuture<EventExecutor> current = new CompletableFuture<>();
+            executor.execute(() -> current.complete(EventExecutor.current()));
+            assertThat(current.get(1, TimeUnit.SECONDS)).isSameAs(executor);
+            assertThat(((EventLoopThread) currentThread(executor)).executor()).isSameAs(executor);
+
+            // 其它线程工厂创建的线程
+            CompletableFuture<EventExecutor> fallback = new CompletableFuture<>();
+            other.execute(() -> fallback.complete(EventExecutor.current()));
+            assertThat(fallback.get(1, TimeUnit.SECONDS)).isSameAs(other);
+        } finally {
+            executor.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            other.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            executor.awaitTermination(2, TimeUnit.SECONDS);
+            other.awaitTermination(2, TimeUnit.SECONDS);
+        }
+    }
+
+    private static Thread currentThread(EventExecutor executor) throws Exception {
+        CompletableFuture<Thread> thread = new CompletableFuture<>();
+        executor.execute(() -> thread.complete(Thread.currentThread()));
+        return thread.get(1, TimeUnit.SECONDS);
+    }
+}
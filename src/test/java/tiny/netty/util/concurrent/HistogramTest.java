@@ -0,0 +1,64 @@
+package tiny.netty.util.concurrent;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 测试
+ *
+ * @author zhaomingming
+ */
+public class HistogramTest {
+
+    @Test
+    public void testBucket() {
+        for (long value : new long[]{0, 1, 7, 8, 9, 15, 16, 1000, 123_456_789, Long.MAX_VALUE}) {
+            int index = Histogram.bucketIndex(value);
+            // 桶的上界不小于记录值, 相对误差不超过1/8
+            assertThat(Histogram.bucketValue(index)).isGreaterThanOrEqualTo(value);
+            assertThat(Histogram.bucketValue(index) - value).isLessThanOrEqualTo(value / 8);
+            if (index > 0) {
+                assertThat(Histogram.bucketValue(index - 1)).isLessThan(value);
+            }
+        }
+    }
+
+    @Test
+    public void testPercentile() {
+        Histogram histogram = new Histogram();
+        assertThat(histogram.snapshot().valueAtPercentile(99)).isZero();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        histogram.record(-1);
+        Histogram.Snapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.count()).isEqualTo(1001);
+        assertThat(snapshot.max()).isEqualTo(1000);
+        assertThat(snapshot.mean()).isCloseTo(500, within(1.0));
+        assertThat(snapshot.valueAtPercentile(0)).isZero();
+        assertThat(snapshot.valueAtPercentile(50)).isBetween(500L, 500L + 500 / 8);
+        assertThat(snapshot.valueAtPercentile(99)).isBetween(990L, 1000L);
+        assertThat(snapshot.valueAtPercentile(100)).isEqualTo(1000);
+        assertThatThrownBy(() -> snapshot.valueAtPercentile(101)).isInstanceOf(IllegalArgumentException.class);
+
+        // 快照不随后续记录变化
+        histogram.record(5000);
+        assertThat(snapshot.max()).isEqualTo(1000);
+    }
+
+    @Test
+    public void testMerge() {
+        Histogram h1 = new Histogram();
+        Histogram h2 = new Histogram();
+        for (int i = 0; i < 100; i++) {
+            h1.record(10);
+            h2.record(1000);
+        }
+        Histogram.Snapshot merged = h1.snapshot().merge(h2.snapshot());
+        assertThat(merged.count()).isEqualTo(200);
+        assertThat(merged.max()).isEqualTo(1000);
+        assertThat(merged.valueAtPercentile(50)).isBetween(10L, 11L);
+        assertThat(merged.valueAtPercentile(51)).isBetween(1000L, 1000L);
+    }
+}
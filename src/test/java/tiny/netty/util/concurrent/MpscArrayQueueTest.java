@@ -0,0 +1,115 @@
+package tiny.netty.util.concurrent;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 测试
+ *
+ * @author zhaomingming
+ */
+public class MpscArrayQueueTest {
+
+    @Test
+    public void testOfferAndPoll() {
+        MpscArrayQueue<Integer> queue = new MpscArrayQueue<>(5);
+        assertThat(queue.capacity()).isEqualTo(8);
+        assertThat(queue.poll()).isNull();
+        assertThat(queue.isEmpty()).isTrue();
+
+        for (int i = 0; i < 8; i++) {
+            assertThat(queue.offer(i)).isTrue();
+        }
+        assertThat(queue.offer(8)).isFalse();
+        assertThat(queue.size()).isEqualTo(8);
+        assertThat(queue.peek()).isEqualTo(0);
+
+        for (int i = 0; i < 8; i++) {
+            assertThat(queue.poll()).isEqualTo(i);
+        }
+        assertThat(queue.poll()).isNull();
+        assertThat(queue.isEmpty()).isTrue();
+        assertThat(queue.offer(8)).isTrue();
+    }
+
+    @Test
+    public void testProducerOrder() throws InterruptedException {
+        // 同一生产者提交的元素, 出队顺序与入队顺序一致
+        MpscArrayQueue<long[]> queue = new MpscArrayQueue<>(1024);
+        int producers = 4;
+        int elements = 100_000;
+        startProducers(queue, producers, elements, (p, i) -> new long[]{p, i});
+
+        long[] last = new long[producers];
+        Arrays.fill(last, -1);
+        for (int n = 0; n < producers * elements; ) {
+            long[] e = queue.poll();
+            if (e == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            assertThat(e[1]).isEqualTo(last[(int) e[0]] + 1);
+            last[(int) e[0]] = e[1];
+            n++;
+        }
+        assertThat(queue.poll()).isNull();
+    }
+
+    @Test
+    public void testIterator() {
+        MpscArrayQueue<Integer> queue = new MpscArrayQueue<>(4);
+        assertThat(queue.iterator().hasNext()).isFalse();
+        assertThatThrownBy(() -> queue.iterator().next()).isInstanceOf(NoSuchElementException.class);
+
+        // 环形数组绕回后仍按入队顺序遍历
+        for (int i = 0; i < 3; i++) {
+            queue.offer(i);
+        }
+        queue.poll();
+        queue.offer(3);
+        queue.offer(4);
+        assertThat(queue).containsExactly(1, 2, 3, 4);
+        assertThat(queue.contains(3)).isTrue();
+        assertThat(queue.contains(0)).isFalse();
+        assertThat(queue.containsAll(Arrays.asList(1, 4))).isTrue();
+        assertThat(queue.toString()).isEqualTo("[1, 2, 3, 4]");
+
+        // 遍历期间出队的元素被跳过(已预读的下一个元素除外)
+        Iterator<Integer> it = queue.iterator();
+        queue.poll();
+        queue.poll();
+        assertThat(it.next()).isEqualTo(1);
+        assertThat(it.next()).isEqualTo(3);
+        assertThat(it.next()).isEqualTo(4);
+        assertThat(it.hasNext()).isFalse();
+    }
+
+    private <E> CountDownLatch startProducers(Queue<E> queue, int producers, int elements, ElementFactory<E> factory) {
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < elements; i++) {
+                    E e = factory.newElement(producer, i);
+                    while (!queue.offer(e)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            });
+            thread.start();
+        }
+        return done;
+    }
+
+    interface ElementFactory<E> {
+        E newElement(int producer, int index);
+    }
+}
@@ -3,6 +3,7 @@ package tiny.netty.util.concurrent;
 import org.junit.Test;
 import tiny.netty.util.concurrent.SingleThreadEventExecutorTest.SimpleEventExecutor;
 
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
@@ -36,6 +37,67 @@ public class MultiThreadEventExecutorGroupTest {
         assertThat(group.terminationFuture()).isCompleted();
     }
 
+    @Test
+    public void testNextWithKey() throws InterruptedException {
+        EventExecutorGroup group = new SimpleEventExecutorGroup(3);
+        try {
+            for (int i = 0; i < 16; i++) {
+                String key = "10.0.0." + i;
+                assertThat(group.next(key)).isSameAs(group.next(key));
+            }
+        } finally {
+            group.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            group.awaitTermination(1050, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Test
+    public void testMetrics() throws Exception {
+        SimpleEventExecutorGroup group = new SimpleEventExecutorGroup(2);
+        try {
+            assertThat(group.metrics().executors()).isEqualTo(2);
+            assertThat(group.metrics().tasks()).isZero();
+            group.setMetricsEnabled(true);
+
+            // 第一个任务阻塞20毫秒, 其后的任务在队列中等待
+            CountDownLatch done = new CountDownLatch(20);
+            for (EventExecutor child : group) {
+                child.execute(() -> {
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(20);
+                    } catch (InterruptedException e) {
+                        // ignore
+                    }
+                });
+                for (int i = 0; i < 10; i++) {
+                    child.execute(done::countDown);
+                }
+            }
+            assertThat(group.metrics().pendingTasks()).isGreaterThan(0);
+            assertThat(done.await(1, TimeUnit.SECONDS)).isTrue();
+
+            // 每次循环结束时才记录执行的任务数
+            EventExecutorMetrics.Snapshot metrics = group.metrics();
+            for (long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+                 metrics.tasks() < 22 && System.nanoTime() < deadline; metrics = group.metrics()) {
+                Thread.yield();
+            }
+            assertThat(metrics.executors()).isEqualTo(2);
+            assertThat(metrics.tasks()).isEqualTo(22);
+            assertThat(metrics.iterations()).isGreaterThan(0);
+            assertThat(metrics.taskTimeNanos()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(20));
+            assertThat(metrics.taskLatency().count()).isEqualTo(22);
+            assertThat(metrics.taskLatency().max()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(15));
+            assertThat(metrics.tasksPerIteration().max()).isGreaterThanOrEqualTo(10);
+
+            group.setMetricsEnabled(false);
+            assertThat(group.metrics().tasks()).isZero();
+        } finally {
+            group.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            group.awaitTermination(1050, TimeUnit.MILLISECONDS);
+        }
+    }
+
     static class SimpleEventExecutorGroup extends MultiThreadEventExecutorGroup {
 
         SimpleEventExecutorGroup(int nThreads) {
@@ -0,0 +1,156 @@
+package tiny.netty.util.concurrent;
+
+import org.junit.Test;
+import tiny.netty.util.concurrent.RejectedExecutionHandlers.DiscardPolicy;
+import tiny.netty.util.concurrent.SingleThreadEventExecutorTest.SimpleEventExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 测试
+ *
+ * @author zhaomingming
+ */
+public class RejectedExecutionHandlersTest {
+
+    private static final int MAX_PENDING_TASKS = 2;
+
+    @Test
+    public void testReject() throws InterruptedException {
+        SimpleEventExecutor executor = new SimpleEventExecutor(MAX_PENDING_TASKS, RejectedExecutionHandlers.reject());
+        CountDownLatch blocker = fillTaskQueue(executor);
+        try {
+            assertThatThrownBy(() -> executor.execute(() -> {
+            })).isInstanceOf(RejectedExecutionException.class);
+            assertThat(executor.rejectedTasks()).isEqualTo(1);
+        } finally {
+            blocker.countDown();
+            shutdown(executor);
+        }
+        assertThatThrownBy(() -> executor.execute(() -> {
+        })).isInstanceOf(RejectedExecutionException.class);
+        assertThat(executor.rejectedTasks()).isEqualTo(2);
+    }
+
+    @Test
+    public void testCallerRuns() throws InterruptedException {
+        SimpleEventExecutor executor = new SimpleEventExecutor(MAX_PENDING_TASKS, RejectedExecutionHandlers.callerRuns());
+        CountDownLatch blocker = fillTaskQueue(executor);
+        try {
+            Thread[] runner = new Thread[1];
+            executor.execute(() -> runner[0] = Thread.currentThread());
+            assertThat(runner[0]).isEqualTo(Thread.currentThread());
+            // 任务已执行, 不算拒绝
+            assertThat(executor.rejectedTasks()).isZero();
+        } finally {
+            blocker.countDown();
+            shutdown(executor);
+        }
+    }
+
+    @Test
+    public void testBlock() throws Exception {
+        SimpleEventExecutor executor = new SimpleEventExecutor(MAX_PENDING_TASKS,
+                RejectedExecutionHandlers.block(1, TimeUnit.SECONDS));
+        CountDownLatch blocker = fillTaskQueue(executor);
+        try {
+            assertThatThrownBy(() -> executor.execute(() -> {
+            })).isInstanceOf(RejectedExecutionException.class);
+
+            // 100毫秒后放开事件执行器线程, 被阻塞的提交者应在超时前成功提交
+            new Thread(() -> {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(100);
+                } catch (InterruptedException e) {
+                    // ignore
+                }
+                blocker.countDown();
+            }).start();
+            CompletableFuture<?> future = new CompletableFuture<>();
+            executor.execute(() -> future.complete(null));
+            future.get(1, TimeUnit.SECONDS);
+            // 只有超时的那次提交算作拒绝
+            assertThat(executor.rejectedTasks()).isEqualTo(1);
+        } finally {
+            blocker.countDown();
+            shutdown(executor);
+        }
+    }
+
+    @Test
+    public void testDiscard() throws InterruptedException {
+        DiscardPolicy discardPolicy = RejectedExecutionHandlers.discard();
+        SimpleEventExecutor executor = new SimpleEventExecutor(MAX_PENDING_TASKS, discardPolicy);
+        CountDownLatch blocker = fillTaskQueue(executor);
+        try {
+            for (int i = 0; i < 10; i++) {
+                executor.execute(() -> {
+                });
+            }
+            assertThat(discardPolicy.discardedTasks()).isEqualTo(10);
+            assertThat(executor.rejectedTasks()).isEqualTo(10);
+        } finally {
+            blocker.countDown();
+            shutdown(executor);
+        }
+    }
+
+    @Test
+    public void testCustom() throws InterruptedException {
+        // 自定义的处理器丢弃部分任务, 只有被丢弃的计数
+        SimpleEventExecutor executor = new SimpleEventExecutor(MAX_PENDING_TASKS, new RejectedExecutionHandler() {
+            private int rejected;
+
+            @Override
+            public boolean rejected(Runnable task, SingleThreadEventExecutor executor) {
+                if (rejected++ % 2 == 0) {
+                    task.run();
+                    return false;
+                }
+                return true;
+            }
+        });
+        CountDownLatch blocker = fillTaskQueue(executor);
+        try {
+            for (int i = 0; i < 10; i++) {
+                executor.execute(() -> {
+                });
+            }
+            assertThat(executor.rejectedTasks()).isEqualTo(5);
+            assertThat(executor.metrics().rejectedTasks()).isEqualTo(5);
+        } finally {
+            blocker.countDown();
+            shutdown(executor);
+        }
+    }
+
+    // 阻塞事件执行器线程, 并填满任务队列
+    private CountDownLatch fillTaskQueue(SimpleEventExecutor executor) throws InterruptedException {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch blocker = new CountDownLatch(1);
+        executor.execute(() -> {
+            running.countDown();
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                // ignore
+            }
+        });
+        assertThat(running.await(1, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < MAX_PENDING_TASKS; i++) {
+            executor.execute(() -> {
+            });
+        }
+        return blocker;
+    }
+
+    private void shutdown(SimpleEventExecutor executor) throws InterruptedException {
+        executor.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+        executor.awaitTermination(1, TimeUnit.SECONDS);
+    }
+}
@@ -2,9 +2,14 @@ package tiny.netty.util.concurrent;
 
 import org.junit.Test;
 
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -43,6 +48,135 @@ public class SingleThreadEventExecutorTest {
         assertThat(executor.isCleanup()).isTrue();
     }
 
+    @Test
+    public void testSchedule() throws Exception {
+        SimpleEventExecutor executor = new SimpleEventExecutor();
+        try {
+            long startTime = System.nanoTime();
+            ScheduledFuture<Long> future = executor.schedule(System::nanoTime, 100, TimeUnit.MILLISECONDS);
+            assertThat(future.get(1, TimeUnit.SECONDS) - startTime).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        } finally {
+            executor.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testScheduleAtFixedRate() throws Exception {
+        SimpleEventExecutor executor = new SimpleEventExecutor();
+        try {
+            CountDownLatch latch = new CountDownLatch(3);
+            ScheduledFuture<?> future = executor.scheduleAtFixedRate(latch::countDown, 0, 10, TimeUnit.MILLISECONDS);
+            assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+            assertThat(future.cancel(false)).isTrue();
+            assertThat(future.isCancelled()).isTrue();
+        } finally {
+            executor.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testCancelScheduledTask() throws Exception {
+        SimpleEventExecutor executor = new SimpleEventExecutor();
+        try {
+            AtomicInteger counter = new AtomicInteger();
+            ScheduledFuture<?> future = executor.schedule(counter::incrementAndGet, 100, TimeUnit.MILLISECONDS);
+            assertThat(future.cancel(false)).isTrue();
+
+            TimeUnit.MILLISECONDS.sleep(200);
+            assertThat(counter.get()).isZero();
+        } finally {
+            executor.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testRunAllTasksWithTimeout() throws Exception {
+        BatchRecordingEventExecutor executor = new BatchRecordingEventExecutor();
+        try {
+            CountDownLatch blocker = new CountDownLatch(1);
+            executor.execute(() -> {
+                try {
+                    blocker.await();
+                } catch (InterruptedException e) {
+                    // ignore
+                }
+            });
+            for (int i = 0; i < 200; i++) {
+                executor.execute(executor.counter::incrementAndGet);
+            }
+            blocker.countDown();
+            executor.schedule(() -> null, 0, TimeUnit.MILLISECONDS).get(1, TimeUnit.SECONDS);
+
+            // 超时时间为0时, 每次最多执行64个任务
+            assertThat(executor.batches).allMatch(batch -> batch <= 64);
+            assertThat(executor.counter.get()).isEqualTo(200);
+        } finally {
+            executor.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testCachedNanoTime() throws Exception {
+        SimpleEventExecutor executor = new SimpleEventExecutor();
+        try {
+            CompletableFuture<long[]> times = new CompletableFuture<>();
+            executor.execute(() -> {
+                long t0 = executor.cachedNanoTime();
+                sleep(20);
+                long t1 = executor.cachedNanoTime();
+                // 每执行64个任务更新一次缓存时间
+                for (int i = 0; i < 64; i++) {
+                    executor.execute(() -> {
+                    });
+                }
+                executor.execute(() -> times.complete(new long[]{t0, t1, executor.cachedNanoTime()}));
+            });
+            long[] t = times.get(1, TimeUnit.SECONDS);
+            assertThat(t[1]).isEqualTo(t[0]);
+            assertThat(t[2] - t[0]).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(20));
+
+            // 其它线程读取的是精确时间
+            long now = System.nanoTime();
+            assertThat(executor.cachedNanoTime()).isGreaterThanOrEqualTo(now);
+        } finally {
+            executor.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            // ignore
+        }
+    }
+
+    static class BatchRecordingEventExecutor extends SimpleEventExecutor {
+
+        final AtomicInteger counter = new AtomicInteger();
+        final Queue<Integer> batches = new ConcurrentLinkedQueue<>();
+
+        @Override
+        protected void run() {
+            for (; ; ) {
+                int before = counter.get();
+                if (runAllTasks(0)) {
+                    batches.add(counter.get() - before);
+                }
+                if (isShuttingDown()) {
+                    if (confirmShutdown()) {
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
     static class SimpleEventExecutor extends SingleThreadEventExecutor {
 
         volatile boolean cleanup = false;
@@ -55,6 +189,11 @@ public class SingleThreadEventExecutorTest {
             super(parent, executor);
         }
 
+        SimpleEventExecutor(int maxPendingTasks, RejectedExecutionHandler rejectedExecutionHandler) {
+            super(null, new ThreadPerTaskExecutor(new DefaultThreadFactory("test")), maxPendingTasks,
+                    TaskQueueFactory.MPSC, rejectedExecutionHandler);
+        }
+
         @Override
         protected void run() {
             for (; ; ) {